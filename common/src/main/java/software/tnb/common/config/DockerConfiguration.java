@@ -1,6 +1,8 @@
 package software.tnb.common.config;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 
 public class DockerConfiguration extends Configuration {
@@ -8,12 +10,29 @@ public class DockerConfiguration extends Configuration {
     public static final String DOCKER_REGISTRY_USERNAME = "docker.registry.username";
     public static final String DOCKER_REGISTRY_PASSWORD = "docker.registry.password";
     public static final String DOCKER_PUSH_RETRIES = "docker.push.retries";
+    public static final String CONTAINER_REUSE = "docker.container.reuse";
+    public static final String CONTAINER_SNAPSHOT_DIR = "docker.container.snapshot.dir";
 
     public static String configPath() {
         return getProperty(DOCKER_CONFIG_PATH, () -> Optional.ofNullable(System.getenv("DOCKER_CONFIG"))
             .orElseGet(() -> System.getProperty("user.home") + File.separator + ".docker"));
     }
 
+    /**
+     * When enabled, the local containers are kept running after the tests and reused (or restored from the snapshot) in the next run.
+     * A reused running container keeps the data created by the previous runs.
+     *
+     * @return true if the containers should be reused
+     */
+    public static boolean containerReuse() {
+        return getBoolean(CONTAINER_REUSE, false);
+    }
+
+    public static Path containerSnapshotDir() {
+        return Paths.get(getProperty(CONTAINER_SNAPSHOT_DIR, () -> System.getProperty("user.home") + File.separator + ".tnb" + File.separator
+            + "snapshots"));
+    }
+
     //used in jkube configuration
     public static int pushImageRetries() {
         return Integer.parseInt(getProperty(DOCKER_PUSH_RETRIES, "3"));
@@ -12,6 +12,8 @@ public class OpenshiftConfiguration extends Configuration {
     public static final String OPENSHIFT_PASSWORD = "openshift.password";
     public static final String OPENSHIFT_NAMESPACE = "openshift.namespace";
     public static final String OPENSHIFT_NAMESPACE_DELETE = "openshift.namespace.delete";
+    public static final String OPENSHIFT_NAMESPACE_POOL_SIZE = "openshift.namespace.pool.size";
+    public static final String OPENSHIFT_NAMESPACE_POOL_SCC = "openshift.namespace.pool.scc";
     public static final String OPENSHIFT_KUBECONFIG = "openshift.kubeconfig";
     public static final String KUBECONFIG = "kubeconfig";
     public static final String OPENSHIFT_HTTPS_PROXY = "openshift.https.proxy";
@@ -49,11 +51,20 @@ public class OpenshiftConfiguration extends Configuration {
      * Returns the openshift namespace.
      *
      * @return namespace
-     * @deprecated should be used only in initializing the openshift client. If you want to get the current namespace, use OpenshiftClient.get()
-     * .getNamespace()
+     * @deprecated use {@link #newNamespaceName()} to generate the name of a new namespace. If you want to get the current namespace, use
+     * OpenshiftClient.get().getNamespace()
      */
     @Deprecated
     public static String openshiftNamespace() {
+        return newNamespaceName();
+    }
+
+    /**
+     * Generates the name of a new namespace - the configured namespace (with a random suffix in parallel runs) or a random name.
+     *
+     * @return namespace name
+     */
+    public static String newNamespaceName() {
         String namespace = getProperty(OPENSHIFT_NAMESPACE);
         if (namespace == null) {
             namespace = NAMESPACE_PREFIX + StringUtils.getRandomAlphanumStringOfLength(8);
@@ -67,6 +78,14 @@ public class OpenshiftConfiguration extends Configuration {
         return getBoolean(OPENSHIFT_NAMESPACE_DELETE, false) || TestConfiguration.parallel() || getProperty(OPENSHIFT_NAMESPACE) == null;
     }
 
+    public static int openshiftNamespacePoolSize() {
+        return getInteger(OPENSHIFT_NAMESPACE_POOL_SIZE, 0);
+    }
+
+    public static String[] openshiftNamespacePoolScc() {
+        return getArray(OPENSHIFT_NAMESPACE_POOL_SCC);
+    }
+
     public static Path openshiftKubeconfig() {
         String kubeconfig = getProperty(OPENSHIFT_KUBECONFIG, getProperty(KUBECONFIG));
         return kubeconfig == null ? null : Paths.get(kubeconfig);
@@ -50,6 +50,16 @@ public class TestConfiguration extends Configuration {
 
     public static final String APP_DEBUG_PORT = "tnb.app.debug.port";
 
+    public static final String APP_BUILD_CONCURRENCY = "tnb.app.build.concurrency";
+
+    public static final String APP_BUILD_MEMORY = "tnb.app.build.memory";
+
+    public static final String APP_STARTUP_CDS = "tnb.app.startup.cds";
+
+    public static final String APP_STARTUP_CRAC = "tnb.app.startup.crac";
+
+    public static final String APP_STARTUP_CACHE_DIR = "tnb.app.startup.cache.dir";
+
     public static ProductType product() {
         return Arrays.stream(ProductType.values()).filter(p -> p.getValue().equals(getProperty(PRODUCT))).findFirst()
             .orElseThrow(
@@ -182,4 +192,24 @@ public class TestConfiguration extends Configuration {
     public static Integer appDebugPort() {
         return getInteger(APP_DEBUG_PORT, 5005);
     }
+
+    public static int appBuildConcurrency() {
+        return getInteger(APP_BUILD_CONCURRENCY, 0);
+    }
+
+    public static int appBuildMemory() {
+        return getInteger(APP_BUILD_MEMORY, 1024);
+    }
+
+    public static boolean appStartupCds() {
+        return getBoolean(APP_STARTUP_CDS, false);
+    }
+
+    public static boolean appStartupCrac() {
+        return getBoolean(APP_STARTUP_CRAC, false);
+    }
+
+    public static Path appStartupCacheDir() {
+        return Paths.get(getProperty(APP_STARTUP_CACHE_DIR, Paths.get(System.getProperty("java.io.tmpdir"), "tnb-startup").toString()));
+    }
 }
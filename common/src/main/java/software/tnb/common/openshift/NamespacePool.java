@@ -0,0 +1,304 @@
+package software.tnb.common.openshift;
+
+import software.tnb.common.config.OpenshiftConfiguration;
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.common.utils.StringUtils;
+import software.tnb.common.utils.WaitUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fabric8.kubernetes.api.model.APIGroup;
+import io.fabric8.kubernetes.api.model.APIGroupList;
+import io.fabric8.kubernetes.api.model.APIResource;
+import io.fabric8.kubernetes.api.model.APIResourceList;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.base.ResourceDefinitionContext;
+import io.fabric8.openshift.api.model.SecurityContextConstraintsBuilder;
+
+/**
+ * Pool of pre-created namespaces used in parallel runs instead of creating and deleting a namespace for each test class.
+ * <p>
+ * When {@link OpenshiftConfiguration#OPENSHIFT_NAMESPACE_POOL_SIZE} is set, the namespaces are created in the background when the pool is
+ * first used. Each namespace is labeled with {@link #POOL_LABEL} and its service accounts are added to the security context constraints
+ * specified by {@link OpenshiftConfiguration#OPENSHIFT_NAMESPACE_POOL_SCC}.
+ * <p>
+ * A namespace is leased to the test thread when its openshift client is created and it is returned to the pool when the test class
+ * deletes its namespace. The namespace is then recycled in the background - all resources created by the tests (that don't have the pool
+ * label) of all namespaced resource types found by the API discovery (including custom resources) are deleted and the namespace is available
+ * for the next lease once there are no pods left. If the recycling fails, the namespace is deleted and replaced with a new one.
+ * <p>
+ * When all namespaces are leased, a new namespace is created and the pool grows.
+ */
+public final class NamespacePool {
+    public static final String POOL_LABEL = "tnb/pool";
+
+    private static final Logger LOG = LoggerFactory.getLogger(NamespacePool.class);
+    private static final Set<String> SYSTEM_CONFIG_MAPS = Set.of("kube-root-ca.crt", "openshift-service-ca.crt");
+    private static final Set<String> SYSTEM_SERVICE_ACCOUNTS = Set.of("default", "builder", "deployer", "pipeline");
+    private static final Set<String> SYSTEM_SECRET_TYPES = Set.of("kubernetes.io/service-account-token", "kubernetes.io/dockercfg");
+    private static NamespacePool instance;
+
+    private final String id = StringUtils.getRandomAlphanumStringOfLength(8).toLowerCase();
+    private final OpenshiftClient client;
+    private final BlockingQueue<String> available = new LinkedBlockingQueue<>();
+    private final Set<String> namespaces = ConcurrentHashMap.newKeySet();
+    private final Set<String> leased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger preparing = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+
+    private NamespacePool(int size) {
+        client = OpenshiftClient.createInstance(null);
+        executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(size, r -> {
+            final Thread thread = new Thread(r, "tnb-namespace-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        LOG.info("Pre-creating {} namespaces", size);
+        for (int i = 0; i < size; i++) {
+            replenish();
+        }
+    }
+
+    public static boolean enabled() {
+        return TestConfiguration.parallel() && OpenshiftConfiguration.openshiftNamespacePoolSize() > 0;
+    }
+
+    /**
+     * Gets the pool instance, the pool is created (and starts creating the namespaces) on the first call.
+     *
+     * @return pool instance
+     */
+    public static synchronized NamespacePool get() {
+        if (instance == null) {
+            instance = new NamespacePool(OpenshiftConfiguration.openshiftNamespacePoolSize());
+            Runtime.getRuntime().addShutdownHook(new Thread(NamespacePool::shutdown));
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the namespace to the pool if it was leased from the pool. The namespace is recycled in the background.
+     *
+     * @param namespace namespace name
+     * @return true if the namespace was leased from the pool, false otherwise
+     */
+    public static boolean release(String namespace) {
+        final NamespacePool pool;
+        synchronized (NamespacePool.class) {
+            pool = instance;
+        }
+        if (pool == null || !pool.leased.remove(namespace)) {
+            return false;
+        }
+        LOG.info("Returning namespace {} to the pool", namespace);
+        pool.executor.submit(() -> pool.recycle(namespace));
+        return true;
+    }
+
+    /**
+     * Stops the pool and deletes all its namespaces without waiting for the deletion.
+     */
+    public static synchronized void shutdown() {
+        if (instance == null) {
+            return;
+        }
+        // Drop the waiting tasks, but don't interrupt the running ones - an interrupted request to create a namespace can still be processed
+        // by the cluster after the namespaces are deleted. Let the namespaces that are being created to be created, so that they are deleted
+        // as well
+        instance.executor.getQueue().clear();
+        instance.executor.shutdown();
+        try {
+            if (!instance.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                instance.executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (OpenshiftConfiguration.openshiftNamespaceDelete()) {
+            LOG.info("Deleting pooled namespaces");
+            instance.namespaces.forEach(instance::delete);
+        }
+        instance.client.close();
+        instance = null;
+    }
+
+    /**
+     * Leases a namespace from the pool. Waits for the namespaces that are being prepared, if there are none, a new namespace is created.
+     *
+     * @return namespace name
+     */
+    public String lease() {
+        final Instant start = Instant.now();
+        String namespace = available.poll();
+        try {
+            while (namespace == null && preparing.get() > 0) {
+                namespace = available.poll(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a namespace from the pool", e);
+        }
+
+        if (namespace == null) {
+            LOG.info("No namespace available in the pool, creating a new one");
+            namespace = prepare();
+        }
+        leased.add(namespace);
+        LOG.info("Leased namespace {} from the pool in {} ms", namespace, Duration.between(start, Instant.now()).toMillis());
+        return namespace;
+    }
+
+    private void replenish() {
+        preparing.incrementAndGet();
+        executor.submit(() -> {
+            try {
+                available.add(prepare());
+            } catch (Exception e) {
+                LOG.warn("Unable to pre-create namespace", e);
+            } finally {
+                preparing.decrementAndGet();
+            }
+        });
+    }
+
+    private String prepare() {
+        final String namespace = OpenshiftConfiguration.newNamespaceName();
+        LOG.debug("Creating pooled namespace {}", namespace);
+        final Map<String, String> labels = new HashMap<>(Map.of(POOL_LABEL, id));
+        if (TestConfiguration.user() != null) {
+            labels.put("tnb/createdBy", TestConfiguration.user());
+        }
+        namespaces.add(namespace);
+        client.namespaces().resource(new NamespaceBuilder().withNewMetadata().withName(namespace).withLabels(labels).endMetadata().build())
+            .create();
+
+        for (String scc : OpenshiftConfiguration.openshiftNamespacePoolScc()) {
+            client.securityContextConstraints().withName(scc)
+                .edit(s -> new SecurityContextConstraintsBuilder(s).addToGroups(serviceAccountsGroup(namespace)).build());
+        }
+        return namespace;
+    }
+
+    private void recycle(String namespace) {
+        try {
+            LOG.debug("Recycling namespace {}", namespace);
+            for (ResourceDefinitionContext type : namespacedTypes()) {
+                for (GenericKubernetesResource resource : client.genericKubernetesResources(type).inNamespace(namespace).withoutLabel(POOL_LABEL)
+                    .list().getItems()) {
+                    if (!isSystemResource(resource)) {
+                        client.genericKubernetesResources(type).inNamespace(namespace).withName(resource.getMetadata().getName()).delete();
+                    }
+                }
+            }
+
+            WaitUtils.waitFor(() -> client.pods().inNamespace(namespace).list().getItems().isEmpty(), 60, 1000L,
+                "Waiting until the pods in namespace " + namespace + " are removed");
+            available.add(namespace);
+            LOG.debug("Namespace {} recycled", namespace);
+        } catch (Exception e) {
+            LOG.warn("Unable to recycle namespace {}, replacing it with a new namespace", namespace, e);
+            delete(namespace);
+            namespaces.remove(namespace);
+            replenish();
+        }
+    }
+
+    /**
+     * Discovers all namespaced resource types that can be listed and deleted - the core resources and the preferred versions of all API
+     * groups (including the custom resources).
+     *
+     * @return resource types
+     */
+    private List<ResourceDefinitionContext> namespacedTypes() {
+        final APIGroupList groups = client.getApiGroups();
+        if (groups == null) {
+            throw new IllegalStateException("Unable to discover API groups");
+        }
+        final List<String> groupVersions = new ArrayList<>(List.of("v1"));
+        for (APIGroup group : groups.getGroups()) {
+            groupVersions.add(group.getPreferredVersion().getGroupVersion());
+        }
+
+        final List<ResourceDefinitionContext> types = new ArrayList<>();
+        for (String groupVersion : groupVersions) {
+            final APIResourceList resourceList = client.getApiResources(groupVersion);
+            if (resourceList == null) {
+                throw new IllegalStateException("Unable to discover API resources of " + groupVersion);
+            }
+            // Core resources have only the version
+            final int slash = groupVersion.indexOf('/');
+            for (APIResource resource : resourceList.getResources()) {
+                // Skip subresources (for example pods/log) and resources that can't be deleted
+                if (Boolean.TRUE.equals(resource.getNamespaced()) && !resource.getName().contains("/")
+                    && resource.getVerbs().containsAll(List.of("list", "delete"))) {
+                    types.add(new ResourceDefinitionContext.Builder()
+                        .withGroup(slash < 0 ? "" : groupVersion.substring(0, slash))
+                        .withVersion(groupVersion.substring(slash + 1))
+                        .withPlural(resource.getName())
+                        .withKind(resource.getKind())
+                        .withNamespaced(true)
+                        .build());
+                }
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Checks if the resource is created by the cluster in each namespace, or if it is owned by another resource (and it is garbage collected
+     * with its owner).
+     *
+     * @param resource resource
+     * @return true if the resource should be kept
+     */
+    private static boolean isSystemResource(GenericKubernetesResource resource) {
+        if (resource.getMetadata().getOwnerReferences() != null && !resource.getMetadata().getOwnerReferences().isEmpty()) {
+            return true;
+        }
+        final String name = resource.getMetadata().getName();
+        return switch (resource.getKind()) {
+            case "ConfigMap" -> SYSTEM_CONFIG_MAPS.contains(name);
+            case "Secret" -> SYSTEM_SECRET_TYPES.contains(String.valueOf(resource.getAdditionalProperties().get("type")))
+                || (resource.getMetadata().getAnnotations() != null
+                && resource.getMetadata().getAnnotations().containsKey("kubernetes.io/service-account.name"));
+            case "ServiceAccount" -> SYSTEM_SERVICE_ACCOUNTS.contains(name);
+            case "RoleBinding" -> name.startsWith("system:");
+            default -> false;
+        };
+    }
+
+    private void delete(String namespace) {
+        try {
+            for (String scc : OpenshiftConfiguration.openshiftNamespacePoolScc()) {
+                client.securityContextConstraints().withName(scc)
+                    .edit(s -> new SecurityContextConstraintsBuilder(s).removeFromGroups(serviceAccountsGroup(namespace)).build());
+            }
+            client.namespaces().withName(namespace).delete();
+        } catch (KubernetesClientException e) {
+            LOG.warn("Unable to delete namespace {}: {}", namespace, e.getMessage());
+        }
+    }
+
+    private static String serviceAccountsGroup(String namespace) {
+        return "system:serviceaccounts:" + namespace;
+    }
+}
@@ -10,9 +10,6 @@ import software.tnb.common.utils.WaitUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -23,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -37,6 +35,7 @@ import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.SecretBuilder;
+import io.fabric8.kubernetes.client.Client;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.openshift.api.model.SecurityContextConstraints;
 import io.fabric8.openshift.api.model.SecurityContextConstraintsBuilder;
@@ -45,6 +44,7 @@ import io.fabric8.openshift.api.model.operatorhub.v1alpha1.InstallPlan;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.Subscription;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.SubscriptionBuilder;
 import io.fabric8.openshift.api.model.operatorhub.v1alpha1.SubscriptionConfig;
+import io.fabric8.openshift.client.NamespacedOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftConfig;
 import io.fabric8.openshift.client.OpenShiftConfigBuilder;
 import okhttp3.Headers;
@@ -54,13 +54,16 @@ import okhttp3.Response;
 
 public class OpenshiftClient extends OpenShift {
     private static final Logger LOG = LoggerFactory.getLogger(OpenshiftClient.class);
-    protected static OpenshiftClientWrapper clientWrapper;
+    private static final ThreadLocal<OpenshiftClient> NAMESPACE_OVERRIDE = new ThreadLocal<>();
+    protected static volatile OpenshiftClientWrapper clientWrapper;
+
+    private final Map<String, OpenshiftClient> namespacedClients = new ConcurrentHashMap<>();
 
     protected OpenshiftClient(OpenShiftConfig openShiftConfig) {
         super(openShiftConfig);
     }
 
-    private static OpenshiftClient createInstance() {
+    static OpenshiftClient createInstance(String namespace) {
         OpenShiftConfigBuilder configBuilder;
 
         if (OpenshiftConfiguration.openshiftUrl() != null) {
@@ -76,8 +79,6 @@ public class OpenshiftClient extends OpenShift {
             configBuilder = new OpenShiftConfigBuilder(new OpenShiftConfig(OpenShiftConfig.autoConfigure(null)));
         }
 
-        String namespace = OpenshiftConfiguration.openshiftNamespace();
-
         configBuilder
             .withNamespace(namespace)
             .withHttpsProxy(OpenshiftConfiguration.openshiftHttpsProxy())
@@ -92,7 +93,10 @@ public class OpenshiftClient extends OpenShift {
     }
 
     private static OpenshiftClient init() {
-        final OpenshiftClient c = OpenshiftClient.createInstance();
+        if (NamespacePool.enabled()) {
+            return OpenshiftClient.createInstance(NamespacePool.get().lease());
+        }
+        final OpenshiftClient c = OpenshiftClient.createInstance(OpenshiftConfiguration.newNamespaceName());
         c.createNamespace(c.getNamespace());
         return c;
     }
@@ -100,19 +104,55 @@ public class OpenshiftClient extends OpenShift {
     /**
      * Gets the openshift client.
      * <p>
-     * Synchronized to ensure that in parallel runs the wrapper is initialized only once.
+     * The client is retrieved without locking, only the creation of the wrapper is synchronized to ensure that in parallel runs the wrapper
+     * is initialized only once.
      *
      * @return openshift client instance
      */
-    public static synchronized OpenshiftClient get() {
-        if (clientWrapper == null) {
-            // First test running will create the wrapper and others are reused
-            clientWrapper = new OpenshiftClientWrapper(OpenshiftClient::init);
-        } else if (clientWrapper.getClient() == null) {
+    public static OpenshiftClient get() {
+        final OpenshiftClient override = NAMESPACE_OVERRIDE.get();
+        if (override != null) {
+            return override;
+        }
+
+        OpenshiftClientWrapper wrapper = clientWrapper;
+        if (wrapper == null) {
+            synchronized (OpenshiftClient.class) {
+                if (clientWrapper == null) {
+                    // First test running will create the wrapper and others are reused
+                    clientWrapper = new OpenshiftClientWrapper(OpenshiftClient::init);
+                }
+                wrapper = clientWrapper;
+            }
+        }
+
+        OpenshiftClient client = wrapper.getClient();
+        if (client == null) {
             // This happens when a thread is reused - there was a test running in this thread and it closed and deleted the client, so re-init it
-            clientWrapper.init();
+            client = wrapper.init();
         }
-        return clientWrapper.getClient();
+        return client;
+    }
+
+    /**
+     * Wraps the task so that it uses the openshift client of the current thread when it is executed in a different thread.
+     * <p>
+     * In parallel runs each test thread has its own client (and namespace), so without this the task would create a new namespace.
+     *
+     * @param task task to wrap
+     * @return wrapped task
+     */
+    public static Runnable withCurrentClient(Runnable task) {
+        final OpenshiftClient client = get();
+        final OpenshiftClientWrapper wrapper = clientWrapper;
+        return () -> {
+            wrapper.attach(client);
+            try {
+                task.run();
+            } finally {
+                wrapper.detach();
+            }
+        };
     }
 
     public String getOauthToken() {
@@ -159,28 +199,47 @@ public class OpenshiftClient extends OpenShift {
      * @param function a function to execute
      * @return result of the function
      */
-    public synchronized <T> T inNamespace(String ns, Function<OpenshiftClient, T> function) {
-        OpenshiftClientWrapper wr = clientWrapper;
-        if (!OpenshiftClient.get().getNamespace().equals(ns)) {
-            // create new client for this namespaced operation
-            try {
-                // create deep copy of the client
-                ObjectMapper objectMapper = new ObjectMapper();
-                OpenShiftConfig cf = objectMapper
-                    .readValue(objectMapper.writeValueAsString(get().config().getConfiguration()), OpenShiftConfig.class);
-                cf.setNamespace(ns);
-                clientWrapper = new OpenshiftClientWrapper(() -> new OpenshiftClient(cf));
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(String.format("Can't create OpenShift client in namespace %s", ns), e);
-            }
+    public <T> T inNamespace(String ns, Function<OpenshiftClient, T> function) {
+        if (getNamespace().equals(ns)) {
+            return function.apply(this);
         }
-        T result;
+
+        // OpenshiftClient.get() called in the function (in this thread) returns the namespaced client as well
+        final OpenshiftClient previous = NAMESPACE_OVERRIDE.get();
+        final OpenshiftClient namespaced = namespacedClients.computeIfAbsent(ns, this::createNamespacedClient);
+        NAMESPACE_OVERRIDE.set(namespaced);
         try {
-            result = function.apply(get());
+            return function.apply(namespaced);
         } finally {
-            clientWrapper = wr;
+            if (previous == null) {
+                NAMESPACE_OVERRIDE.remove();
+            } else {
+                NAMESPACE_OVERRIDE.set(previous);
+            }
         }
-        return result;
+    }
+
+    /**
+     * Creates a client for given namespace that shares the http client (and its connection pool) with this client.
+     *
+     * @param ns namespace
+     * @return namespaced client
+     */
+    private OpenshiftClient createNamespacedClient(String ns) {
+        LOG.debug("Creating OpenShift client for namespace {}", ns);
+        final OpenshiftClient namespaced = new OpenshiftClient(new OpenShiftConfig(getConfiguration()));
+        final Client ownClient = namespaced.getClient();
+        namespaced.init(getClient().adapt(NamespacedOpenShiftClient.class).inNamespace(ns));
+        // The http client created by the constructor is not used
+        ownClient.close();
+        return namespaced;
+    }
+
+    @Override
+    public void close() {
+        // Namespaced clients share the http client with this client, so they are just dropped
+        namespacedClients.clear();
+        super.close();
     }
 
     /**
@@ -423,10 +482,15 @@ public class OpenshiftClient extends OpenShift {
      * Method is static to avoid using OpenshiftClient.get() that would force creating a new instance if the client is null.
      * <p>
      * There is a valid case where the client would be null - when multiple extensions are used in one test class
+     * <p>
+     * If the namespace was leased from the {@link NamespacePool}, it is returned to the pool instead and recycled in the background.
      */
     public static void deleteNamespace() {
         if (clientWrapper != null && clientWrapper.getClient() != null) {
-            deleteNamespace(get().getNamespace());
+            final String namespace = get().getNamespace();
+            if (!NamespacePool.release(namespace)) {
+                deleteNamespace(namespace);
+            }
             // If the current namespace is deleted also close the client
             clientWrapper.closeClient();
         }
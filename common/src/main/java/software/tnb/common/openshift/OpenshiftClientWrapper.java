@@ -13,7 +13,7 @@ import java.util.function.Supplier;
 public class OpenshiftClientWrapper {
     private static final Logger LOG = LoggerFactory.getLogger(OpenshiftClientWrapper.class);
     private final ThreadLocal<OpenshiftClient> threadLocalClient = new ThreadLocal<>();
-    private OpenshiftClient openshiftClient;
+    private volatile OpenshiftClient openshiftClient;
     private final Supplier<OpenshiftClient> supplier;
 
     public OpenshiftClientWrapper(Supplier<OpenshiftClient> clientInit) {
@@ -21,12 +21,23 @@ public class OpenshiftClientWrapper {
         init();
     }
 
-    public void init() {
+    /**
+     * Initializes the client (for the current thread in parallel runs).
+     *
+     * @return initialized client
+     */
+    public OpenshiftClient init() {
         if (TestConfiguration.parallel()) {
             threadLocalClient.set(supplier.get());
             Thread.currentThread().setName(Thread.currentThread().getName() + "|" + threadLocalClient.get().getNamespace());
+            return threadLocalClient.get();
         } else {
-            openshiftClient = supplier.get();
+            synchronized (this) {
+                if (openshiftClient == null) {
+                    openshiftClient = supplier.get();
+                }
+                return openshiftClient;
+            }
         }
     }
 
@@ -34,6 +45,26 @@ public class OpenshiftClientWrapper {
         return TestConfiguration.parallel() ? threadLocalClient.get() : openshiftClient;
     }
 
+    /**
+     * Uses the given client in the current thread. Used when the work is offloaded from the test thread to a different thread.
+     *
+     * @param client client to use
+     */
+    public void attach(OpenshiftClient client) {
+        if (TestConfiguration.parallel()) {
+            threadLocalClient.set(client);
+        }
+    }
+
+    /**
+     * Removes the client attached by {@link #attach(OpenshiftClient)} from the current thread without closing it.
+     */
+    public void detach() {
+        if (TestConfiguration.parallel()) {
+            threadLocalClient.remove();
+        }
+    }
+
     public void closeClient() {
         if (TestConfiguration.parallel()) {
             LOG.trace("Closing OpenShift client in thread " + Thread.currentThread().getName());
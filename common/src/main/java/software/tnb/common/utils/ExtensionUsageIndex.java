@@ -0,0 +1,134 @@
+package software.tnb.common.utils;
+
+import static org.junit.platform.commons.support.HierarchyTraversalMode.TOP_DOWN;
+
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.auto.service.AutoService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index of the test classes that use the extensions, built once when the test plan execution starts.
+ * <p>
+ * For each type of a static {@link RegisterExtension} field, the index holds the top-level test classes (including their nested classes)
+ * that were not finished yet. The classes are removed from the index when they finish, so checking if an extension is still needed
+ * doesn't require walking the test plan.
+ */
+@AutoService(TestExecutionListener.class)
+public class ExtensionUsageIndex implements TestExecutionListener {
+    private static final Logger LOG = LoggerFactory.getLogger(ExtensionUsageIndex.class);
+    // There can be multiple test plans executed at once (for example when a test launches another test plan)
+    private static final List<ExtensionUsageIndex> ACTIVE = new CopyOnWriteArrayList<>();
+    private static final Map<Class<?>, List<Class<?>>> SUPERTYPES = new ConcurrentHashMap<>();
+
+    // extension field type -> unique ids of the top-level test classes that use it and are not finished yet
+    private final Map<Class<?>, Set<String>> remaining = new ConcurrentHashMap<>();
+    // unique id of the test class -> unique id of its top-level class
+    private final Map<String, String> topLevelClasses = new ConcurrentHashMap<>();
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        testPlan.getRoots().forEach(root -> index(testPlan, root, null));
+        LOG.trace("JUnit: Indexed {} extension types in {} test classes", remaining.size(), topLevelClasses.size());
+        ACTIVE.add(this);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        ACTIVE.remove(this);
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        finished(testIdentifier);
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        finished(testIdentifier);
+    }
+
+    /**
+     * Checks if there is a test class other than the current one that uses an extension of the given class and wasn't finished yet.
+     *
+     * @param uniqueId unique id of the current test class
+     * @param extensionClass extension implementation class
+     * @return true/false if the test class is part of an indexed test plan, empty otherwise
+     */
+    static Optional<Boolean> isUsedByRemainingClasses(String uniqueId, Class<?> extensionClass) {
+        for (ExtensionUsageIndex index : ACTIVE) {
+            final String current = index.topLevelClasses.get(uniqueId);
+            if (current != null) {
+                return Optional.of(index.isUsedByOtherThan(current, extensionClass));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isUsedByOtherThan(String current, Class<?> extensionClass) {
+        for (Class<?> type : SUPERTYPES.computeIfAbsent(extensionClass, ExtensionUsageIndex::supertypes)) {
+            final Set<String> classes = remaining.get(type);
+            if (classes != null && (classes.size() > 1 || classes.size() == 1 && !classes.contains(current))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index(TestPlan testPlan, TestIdentifier identifier, String topLevelId) {
+        if (identifier.getSource().filter(ClassSource.class::isInstance).isPresent()) {
+            final String topLevel = topLevelId == null ? identifier.getUniqueId() : topLevelId;
+            topLevelClasses.put(identifier.getUniqueId(), topLevel);
+            // Load the class without initializing it, so that the extensions are not created before the class is executed
+            ReflectionUtils.tryToLoadClass(((ClassSource) identifier.getSource().get()).getClassName()).toOptional().ifPresent(clazz ->
+                AnnotationSupport.findAnnotatedFields(clazz, RegisterExtension.class, ReflectionUtils::isStatic, TOP_DOWN)
+                    .forEach(field -> remaining.computeIfAbsent(field.getType(), type -> ConcurrentHashMap.newKeySet()).add(topLevel)));
+            topLevelId = topLevel;
+        }
+
+        for (TestIdentifier child : testPlan.getChildren(identifier)) {
+            if (child.isContainer()) {
+                index(testPlan, child, topLevelId);
+            }
+        }
+    }
+
+    private void finished(TestIdentifier testIdentifier) {
+        if (testIdentifier.getUniqueId().equals(topLevelClasses.get(testIdentifier.getUniqueId()))) {
+            remaining.values().forEach(classes -> classes.remove(testIdentifier.getUniqueId()));
+        }
+    }
+
+    // The field type can be any of the superclasses or interfaces of the extension, for example Kafka for LocalKafka extension
+    private static List<Class<?>> supertypes(Class<?> clazz) {
+        final List<Class<?>> types = new ArrayList<>();
+        final List<Class<?>> toProcess = new ArrayList<>(List.of(clazz));
+        while (!toProcess.isEmpty()) {
+            final Class<?> type = toProcess.remove(0);
+            if (type == null || type == Object.class || types.contains(type)) {
+                continue;
+            }
+            types.add(type);
+            toProcess.add(type.getSuperclass());
+            toProcess.addAll(List.of(type.getInterfaces()));
+        }
+        return types;
+    }
+}
@@ -17,6 +17,7 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
 
@@ -38,6 +39,12 @@ public final class JUnitUtils {
             // In parallel, we can't guarantee that the extension will run in the same thread (== same namespace)
             return false;
         }
+        final Optional<Boolean> indexed = ExtensionUsageIndex.isUsedByRemainingClasses(extensionContext.getUniqueId(), extensionClass);
+        if (indexed.isPresent()) {
+            LOG.debug("JUnit: {} {}", extensionClass.getSimpleName(), indexed.get() ? "will be used in next tests" : "is not used anymore");
+            return indexed.get();
+        }
+        // Fallback when the test plan wasn't indexed (the extension context is not coming from the junit launcher)
         try {
             Field f = Class.forName("org.junit.jupiter.engine.descriptor.AbstractExtensionContext").getDeclaredField("testDescriptor");
             // Get the root descriptor that has all the scheduled test classes
@@ -103,6 +103,40 @@ public final class WaitUtils {
         LOG.debug("Done waiting");
     }
 
+    /**
+     * Waits until the check or fail condition return true, the wait time between the retries is doubled after each retry.
+     * <p>
+     * If a wait duration specified by {@link TestConfiguration#testWaitKillTimeout()} is reached, the wait is killed to prevent infinite waiting
+     *
+     * @param check booleansupplier instance
+     * @param fail booleansupplier instance
+     * @param initialDelay wait time after the first retry
+     * @param maxDelay maximum wait time between the retries
+     * @param logMessage log message that will be printed out before waiting
+     * @throws FailureConditionMetException when the fail condition is true
+     */
+    public static void waitFor(BooleanSupplier check, BooleanSupplier fail, Duration initialDelay, Duration maxDelay, String logMessage)
+        throws FailureConditionMetException {
+        LOG.info(logMessage);
+        Instant start = Instant.now();
+        long delay = initialDelay.toMillis();
+        while (true) {
+            if (check.getAsBoolean()) {
+                break;
+            } else if (fail.getAsBoolean()) {
+                throw new FailureConditionMetException("Specified fail condition met");
+            } else if (Duration.between(start, Instant.now()).compareTo(TestConfiguration.testWaitKillTimeout()) > 0) {
+                LOG.error("Wait killed after {} minutes", TestConfiguration.testWaitKillTimeout().toMinutes());
+                break;
+            } else {
+                LOG.trace("Condition not met yet, sleeping for {}", delay);
+                sleep(delay);
+                delay = Math.min(delay * 2, maxDelay.toMillis());
+            }
+        }
+        LOG.debug("Done waiting");
+    }
+
     /**
      * Runs the given callable and aborts its execution if it takes too long.
      *
@@ -21,5 +21,10 @@ public abstract class OpenshiftProduct extends Product {
         }
     }
 
+    @Override
+    protected Runnable inCurrentContext(Runnable task) {
+        return OpenshiftClient.withCurrentClient(task);
+    }
+
     public abstract boolean isReady();
 }
@@ -1,6 +1,7 @@
 package software.tnb.product;
 
 import software.tnb.product.application.App;
+import software.tnb.product.integration.IntegrationPipeline;
 import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
 
 import org.junit.jupiter.api.extension.AfterAllCallback;
@@ -43,8 +44,37 @@ public abstract class Product implements BeforeAllCallback, AfterAllCallback {
         return integrationBuilders.stream().collect(Collectors.toMap(AbstractIntegrationBuilder::getIntegrationName, this::createIntegration));
     }
 
+    /**
+     * Creates multiple independent integrations in parallel.
+     * <p>
+     * Unlike {@link #createIntegration(AbstractIntegrationBuilder, AbstractIntegrationBuilder[])} the applications are generated, built
+     * and started concurrently, see {@link IntegrationPipeline}.
+     *
+     * @param integrationBuilders integration builders
+     * @return map of integration name - app with integrations created in this invocation
+     */
+    public Map<String, App> createIntegrations(AbstractIntegrationBuilder<?>... integrationBuilders) {
+        try {
+            return new IntegrationPipeline(this::createIntegrationApp, integrations, this::inCurrentContext).run(Arrays.asList(integrationBuilders));
+        } catch (Exception e) {
+            // Print the stackstace as it is swallowed by junit somehow
+            e.printStackTrace();
+            throw e;
+        }
+    }
+
     protected abstract App createIntegrationApp(AbstractIntegrationBuilder<?> integrationBuilder);
 
+    /**
+     * Wraps the task executed in a different thread, so that it has the same context as the calling thread.
+     *
+     * @param task task to wrap
+     * @return wrapped task
+     */
+    protected Runnable inCurrentContext(Runnable task) {
+        return task;
+    }
+
     public void removeIntegrations() {
         List<App> integrationsList = new ArrayList<>(integrations.values());
         Collections.reverse(integrationsList);
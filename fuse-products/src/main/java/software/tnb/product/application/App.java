@@ -16,14 +16,24 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 public abstract class App {
     private static final Pattern LOG_STARTED_REGEX = Pattern.compile("(?m)^.*Apache Camel.*started in.*$");
     private static final Logger LOG = LoggerFactory.getLogger(App.class);
+    private static final Duration READINESS_INITIAL_DELAY = Duration.ofMillis(25);
+    private static final Duration READINESS_MAX_DELAY = Duration.ofSeconds(1);
+    private static final HttpClient HEALTH_CLIENT = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
 
     protected AbstractIntegrationBuilder<?> integrationBuilder;
     // Integrations for camel-k can be created without integration builder object, therefore keeping track also of "name" only
@@ -33,6 +43,10 @@ public abstract class App {
     protected LogStream logStream;
     protected Endpoint endpoint;
     protected boolean started = false;
+    // Set by the implementations when the app is started, used for computing the time to ready
+    protected Instant startTime;
+    private Duration timeToReady;
+    private String readinessSource;
 
     public App(AbstractIntegrationBuilder<?> integrationBuilder) {
         this(integrationBuilder.getIntegrationName());
@@ -89,14 +103,99 @@ public abstract class App {
         return getLogPath(Phase.RUN);
     }
 
+    /**
+     * Waits until the app is ready.
+     * <p>
+     * Apart from {@link #isReady()}, the app is ready when the health endpoint (if available, see {@link #getHealthUrl()}) reports it is
+     * ready, or when the platform readiness probe is based on the health checks (see {@link #isHealthCheckedByPlatform()}). Otherwise
+     * the log is checked for the camel startup message.
+     */
     public void waitUntilReady() {
         if (shouldRun()) {
-            WaitUtils.waitFor(() -> isReady() && isCamelStarted(), this::isFailed, 1000L, "Waiting until the integration " + name + " is running");
+            final Instant begin = startTime != null ? startTime : Instant.now();
+            WaitUtils.waitFor(this::isApplicationReady, this::isFailed, READINESS_INITIAL_DELAY, READINESS_MAX_DELAY,
+                "Waiting until the integration " + name + " is running");
             started = true;
+            recordTimeToReady(begin);
         }
     }
 
-    private boolean isCamelStarted() {
+    private void recordTimeToReady(Instant begin) {
+        timeToReady = Duration.between(begin, Instant.now());
+        ReadinessMetrics.record(name, readinessSource, timeToReady);
+    }
+
+    public Optional<Duration> getTimeToReady() {
+        return Optional.ofNullable(timeToReady);
+    }
+
+    private boolean isApplicationReady() {
+        if (!isReady()) {
+            return false;
+        }
+        if (isHealthCheckedByPlatform()) {
+            readinessSource = "platform";
+            return true;
+        }
+        final Optional<String> healthUrl = getHealthUrl();
+        if (healthUrl.isPresent()) {
+            final int code = getHealthStatus(healthUrl.get());
+            if (code == 200) {
+                readinessSource = "health";
+                return true;
+            } else if (code == 503) {
+                // Health endpoint is available, but some check is down
+                return false;
+            }
+        }
+        readinessSource = "log";
+        return isCamelStarted();
+    }
+
+    private static int getHealthStatus(String url) {
+        try {
+            return HEALTH_CLIENT.send(HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(1)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the URL of the health endpoint reporting the readiness of the app.
+     * <p>
+     * If the endpoint is not reachable or doesn't exist, the readiness falls back to checking the log.
+     *
+     * @return health endpoint url or empty optional if the app doesn't expose it
+     */
+    protected Optional<String> getHealthUrl() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns true if the {@link #isReady()} is based on the health checks of the app (for example pod readiness probe).
+     *
+     * @return true if the log doesn't need to be checked
+     */
+    protected boolean isHealthCheckedByPlatform() {
+        return false;
+    }
+
+    /**
+     * Checks if the integration has a dependency with one of the given artifact ids.
+     *
+     * @param artifactIds artifact ids
+     * @return true if the dependency is present
+     */
+    protected boolean hasDependency(String... artifactIds) {
+        return integrationBuilder != null && integrationBuilder.getDependencies().stream()
+            .anyMatch(d -> List.of(artifactIds).contains(d.getArtifactId()));
+    }
+
+    protected boolean isCamelStarted() {
         return getLog().containsRegex(LOG_STARTED_REGEX);
     }
 
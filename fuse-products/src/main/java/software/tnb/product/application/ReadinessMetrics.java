@@ -0,0 +1,57 @@
+package software.tnb.product.application;
+
+import software.tnb.common.config.TestConfiguration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Records the time it took for the apps to become ready.
+ * <p>
+ * The values are appended to the {@value #FILE_NAME} file in the {@link TestConfiguration#appLocation()} directory, so that they can be
+ * compared across the runs.
+ */
+public final class ReadinessMetrics {
+    public static final String FILE_NAME = "app-readiness.csv";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadinessMetrics.class);
+    private static final String HEADER = "timestamp,product,app,source,timeToReadyMs\n";
+
+    private ReadinessMetrics() {
+    }
+
+    /**
+     * Records the time to ready of the app.
+     *
+     * @param app app name
+     * @param source what determined the readiness (health endpoint, platform readiness probe or log)
+     * @param timeToReady time from the start of the app until it was ready
+     */
+    public static synchronized void record(String app, String source, Duration timeToReady) {
+        LOG.info("Integration {} ready in {} ms (readiness source: {})", app, timeToReady.toMillis(), source);
+
+        final Path file = getFile();
+        try {
+            if (!Files.exists(file)) {
+                file.toAbsolutePath().getParent().toFile().mkdirs();
+                Files.writeString(file, HEADER, StandardCharsets.UTF_8);
+            }
+            Files.writeString(file, String.join(",", Instant.now().toString(), TestConfiguration.product().getValue(), app, source,
+                String.valueOf(timeToReady.toMillis())) + "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOG.warn("Unable to record readiness metrics to {}", file, e);
+        }
+    }
+
+    public static Path getFile() {
+        return TestConfiguration.appLocation().resolve(FILE_NAME);
+    }
+}
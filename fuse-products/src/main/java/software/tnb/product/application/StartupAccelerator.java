@@ -0,0 +1,262 @@
+package software.tnb.product.application;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.common.utils.IOUtils;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Speeds up the repeated starts of a local java application.
+ * <p>
+ * When {@link TestConfiguration#APP_STARTUP_CDS} is enabled, the first start of the application is a training run that dumps the loaded
+ * classes into a dynamic AppCDS archive when the application exits. Subsequent starts use the archive.
+ * <p>
+ * When {@link TestConfiguration#APP_STARTUP_CRAC} is enabled and the JDK supports CRaC, the first start creates a checkpoint once the
+ * application is ready (and the application is immediately restored from it). Subsequent starts restore the application from the checkpoint.
+ * The application (and the libraries it uses) must support CRaC, if the checkpoint fails, the application continues to run normally.
+ * <p>
+ * The archives are stored in {@link TestConfiguration#APP_STARTUP_CACHE_DIR} (outside of the maven target directory, so that they survive
+ * the rebuilds of the application) in a directory keyed by the hash of the application artifact, so they are recreated when the artifact
+ * changes. The startup time is measured for each start.
+ */
+public class StartupAccelerator {
+    private static final Logger LOG = LoggerFactory.getLogger(StartupAccelerator.class);
+    // Printed by the restored JVM after all CRaC resources are restored
+    private static final String CRAC_TRACE_STARTUP_TIME = "-XX:+CRTraceStartupTime";
+    private static final Pattern RESTORE_FINISHED_REGEX = Pattern.compile("(?m)^STARTUPTIME \\d+ restore-finish\\s*$");
+    private static final String CHECKPOINT_MARKER = "checkpoint.done";
+    private static Boolean cracSupported;
+
+    private final String name;
+    private final Path artifact;
+    private Path directory;
+    private Mode mode = Mode.COLD;
+    private Instant launched;
+    private Duration startupTime;
+    // Size of the log when the application was restored from the checkpoint, -1 if the application was not restored
+    private long restoreLogOffset = -1;
+
+    public enum Mode {
+        COLD, CDS_TRAINING, CDS, CRAC_TRAINING, CRAC_RESTORE
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name application name
+     * @param artifact application artifact (jar or directory with the application), the archives are recreated when its content changes
+     */
+    public StartupAccelerator(String name, Path artifact) {
+        this.name = name;
+        this.artifact = artifact;
+    }
+
+    /**
+     * Returns the command that should be used to launch the application and starts measuring the startup time.
+     *
+     * @param command java command with "-jar" argument
+     * @return possibly modified command
+     */
+    public List<String> command(List<String> command) {
+        launched = Instant.now();
+        startupTime = null;
+        mode = Mode.COLD;
+        restoreLogOffset = -1;
+
+        final List<String> result = new ArrayList<>(command);
+        if (TestConfiguration.appDebug() || !result.contains("-jar")) {
+            return result;
+        }
+
+        final boolean crac = TestConfiguration.appStartupCrac() && isCracSupported();
+        if (!crac && !TestConfiguration.appStartupCds()) {
+            return result;
+        }
+
+        directory = TestConfiguration.appStartupCacheDir().resolve(name + "-" + hash(artifact));
+        final Path checkpoint = directory.resolve("crac");
+        final Path archive = directory.resolve(name + ".jsa");
+        if (crac) {
+            if (Files.exists(checkpoint.resolve(CHECKPOINT_MARKER))) {
+                mode = Mode.CRAC_RESTORE;
+                restoreLogOffset = 0;
+                return List.of(result.get(0), CRAC_TRACE_STARTUP_TIME, "-XX:CRaCRestoreFrom=" + checkpoint.toAbsolutePath());
+            }
+            FileUtils.deleteQuietly(checkpoint.toFile());
+            mode = Mode.CRAC_TRAINING;
+            result.add(result.indexOf("-jar"), CRAC_TRACE_STARTUP_TIME);
+            result.add(result.indexOf("-jar"), "-XX:CRaCCheckpointTo=" + checkpoint.toAbsolutePath());
+        } else {
+            directory.toFile().mkdirs();
+            if (Files.isRegularFile(archive) && archive.toFile().length() > 0) {
+                mode = Mode.CDS;
+                result.add(result.indexOf("-jar"), "-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+            } else {
+                FileUtils.deleteQuietly(archive.toFile());
+                mode = Mode.CDS_TRAINING;
+                result.add(result.indexOf("-jar"), "-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Records the startup time. When the application was started in CRaC training mode, creates the checkpoint and restores the application.
+     * <p>
+     * If a different process is returned, the caller needs to wait until the restored application is ready again
+     * (see {@link #isRestoreFinished(Path)}).
+     *
+     * @param process application process
+     * @param logFile log file of the application
+     * @return process of the running application
+     */
+    public Process ready(Process process, Path logFile) {
+        startupTime = Duration.between(launched, Instant.now());
+        LOG.info("Integration {} started in {} ms ({})", name, startupTime.toMillis(), mode.name().toLowerCase());
+
+        if (mode == Mode.CRAC_TRAINING) {
+            return checkpoint(process, logFile);
+        }
+        return process;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Optional<Duration> getStartupTime() {
+        return Optional.ofNullable(startupTime);
+    }
+
+    /**
+     * Returns true if the running application process was restored from the CRaC checkpoint.
+     *
+     * @return true if restored
+     */
+    public boolean isRestoredFromCheckpoint() {
+        return restoreLogOffset >= 0;
+    }
+
+    /**
+     * Checks if the restored application finished the restore, the restored application doesn't log the camel startup again.
+     *
+     * @param logFile log file of the application
+     * @return true if the restored JVM reported that all CRaC resources were restored
+     */
+    public boolean isRestoreFinished(Path logFile) {
+        if (!isRestoredFromCheckpoint() || !Files.exists(logFile)) {
+            return false;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "r")) {
+            if (file.length() <= restoreLogOffset) {
+                return false;
+            }
+            file.seek(restoreLogOffset);
+            final byte[] bytes = new byte[(int) (file.length() - restoreLogOffset)];
+            file.readFully(bytes);
+            return RESTORE_FINISHED_REGEX.matcher(new String(bytes, StandardCharsets.UTF_8)).find();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Process checkpoint(Process process, Path logFile) {
+        final Path checkpoint = directory.resolve("crac");
+        LOG.info("Creating CRaC checkpoint of integration {}", name);
+        try {
+            final Process jcmd = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "jcmd").toString(),
+                String.valueOf(process.pid()), "JDK.checkpoint").redirectErrorStream(true).start();
+            jcmd.waitFor(1, TimeUnit.MINUTES);
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                // The checkpoint failed and the application keeps running
+                LOG.warn("Unable to create CRaC checkpoint of integration {}, see the application log for details", name);
+                FileUtils.deleteQuietly(checkpoint.toFile());
+                return process;
+            }
+            IOUtils.writeFile(checkpoint.resolve(CHECKPOINT_MARKER), artifact.toString());
+
+            LOG.info("Restoring integration {} from CRaC checkpoint", name);
+            restoreLogOffset = logFile.toFile().length();
+            return new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(), CRAC_TRACE_STARTUP_TIME,
+                "-XX:CRaCRestoreFrom=" + checkpoint.toAbsolutePath()).redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile())).start();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create CRaC checkpoint of integration " + name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while creating CRaC checkpoint of integration " + name, e);
+        }
+    }
+
+    /**
+     * Computes the hash of the artifact content, directories are hashed including the relative paths of their files.
+     *
+     * @param artifact artifact file or directory
+     * @return hash prefix
+     */
+    public static String hash(Path artifact) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final List<Path> files;
+            if (Files.isDirectory(artifact)) {
+                try (Stream<Path> walk = Files.walk(artifact)) {
+                    files = walk.filter(Files::isRegularFile).sorted().toList();
+                }
+            } else {
+                files = List.of(artifact);
+            }
+            final byte[] buffer = new byte[64 * 1024];
+            for (Path file : files) {
+                digest.update(artifact.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                try (InputStream is = new DigestInputStream(Files.newInputStream(file), digest)) {
+                    while (is.read(buffer) != -1) {
+                        // the content is digested while reading
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unable to compute hash of " + artifact, e);
+        }
+    }
+
+    private static synchronized boolean isCracSupported() {
+        if (cracSupported == null) {
+            try {
+                final Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    CRAC_TRACE_STARTUP_TIME, "-XX:CRaCCheckpointTo=" + Files.createTempDirectory("crac").toAbsolutePath(), "-version")
+                    .redirectErrorStream(true).start();
+                cracSupported = process.waitFor(30, TimeUnit.SECONDS) && process.exitValue() == 0;
+            } catch (IOException e) {
+                cracSupported = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cracSupported = false;
+            }
+            if (!cracSupported) {
+                LOG.warn("The JDK doesn't support CRaC, {} is ignored", TestConfiguration.APP_STARTUP_CRAC);
+            }
+        }
+        return cracSupported;
+    }
+}
@@ -244,6 +244,17 @@ public class CamelK extends OpenshiftProduct implements KameletOps, BeforeEachCa
         return createIntegration(integrationSources.toArray());
     }
 
+    /**
+     * The integrations are built by the operator in the cluster, so all integrations are created at once and then awaited.
+     *
+     * @param integrationBuilders integration builders
+     * @return map of integration name - app with integrations created in this invocation
+     */
+    @Override
+    public Map<String, App> createIntegrations(AbstractIntegrationBuilder<?>... integrationBuilders) {
+        return createIntegration((Object[]) integrationBuilders);
+    }
+
     public Map<String, App> createKameletBindings(KameletBinding... kameletBindings) {
         return createIntegration((Object[]) kameletBindings);
     }
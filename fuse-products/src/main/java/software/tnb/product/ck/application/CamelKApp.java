@@ -41,6 +41,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -101,6 +102,7 @@ public class CamelKApp extends App {
 
     @Override
     public void start() {
+        startTime = Instant.now();
         if (integrationSource instanceof KameletBinding) {
             LOG.info("Creating KameletBinding {}", name);
             OpenshiftClient.get().resources(KameletBinding.class).resource((KameletBinding) integrationSource).create();
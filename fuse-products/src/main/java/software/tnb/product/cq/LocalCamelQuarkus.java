@@ -5,6 +5,8 @@ import software.tnb.product.Product;
 import software.tnb.product.application.App;
 import software.tnb.product.cq.application.LocalQuarkusApp;
 import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+import software.tnb.product.runtime.SharedRuntime;
+import software.tnb.product.runtime.SharedRuntimeApp;
 
 import com.google.auto.service.AutoService;
 
@@ -12,6 +14,9 @@ import com.google.auto.service.AutoService;
 public class LocalCamelQuarkus extends LocalProduct {
     @Override
     protected App createIntegrationApp(AbstractIntegrationBuilder<?> integrationBuilder) {
+        if (SharedRuntime.isApplicable(integrationBuilder)) {
+            return new SharedRuntimeApp(integrationBuilder, LocalQuarkusApp::new);
+        }
         return new LocalQuarkusApp(integrationBuilder);
     }
 }
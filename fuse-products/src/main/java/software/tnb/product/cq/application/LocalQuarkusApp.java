@@ -4,6 +4,7 @@ import software.tnb.common.config.TestConfiguration;
 import software.tnb.common.exception.TimeoutException;
 import software.tnb.common.utils.HTTPUtils;
 import software.tnb.common.utils.WaitUtils;
+import software.tnb.product.application.StartupAccelerator;
 import software.tnb.product.cq.configuration.QuarkusConfiguration;
 import software.tnb.product.customizer.Customizer;
 import software.tnb.product.customizer.component.rest.RestCustomizer;
@@ -19,18 +20,21 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class LocalQuarkusApp extends QuarkusApp {
     private static final Logger LOG = LoggerFactory.getLogger(LocalQuarkusApp.class);
+    private final StartupAccelerator startupAccelerator;
     private Process appProcess;
 
     public LocalQuarkusApp(AbstractIntegrationBuilder<?> integrationBuilder) {
         super(integrationBuilder);
 
         endpoint = new Endpoint(() -> "http://localhost:" + integrationBuilder.getPort());
+        startupAccelerator = new StartupAccelerator(name, TestConfiguration.appLocation().resolve(name).resolve("target/quarkus-app"));
 
         Optional<Customizer> restCustomizer = integrationBuilder.getCustomizers().stream().filter(c -> c instanceof RestCustomizer).findFirst();
         // For local quarkus app, the HTTP request will fail when the endpoint is not ready, so check if an exception was raised or not
@@ -48,6 +52,7 @@ public class LocalQuarkusApp extends QuarkusApp {
 
     @Override
     public void start() {
+        startTime = Instant.now();
         Path logFile = getLogPath();
         ProcessBuilder processBuilder = new ProcessBuilder(getCommand()).redirectOutput(logFile.toFile());
 
@@ -98,6 +103,32 @@ public class LocalQuarkusApp extends QuarkusApp {
         return appProcess.isAlive();
     }
 
+    @Override
+    protected Optional<String> getHealthUrl() {
+        return hasDependency(HEALTH_DEPENDENCIES) ? Optional.of(getEndpoint() + "/q/health/ready") : Optional.empty();
+    }
+
+    @Override
+    public void waitUntilReady() {
+        super.waitUntilReady();
+        final Process process = startupAccelerator.ready(appProcess, getLogPath());
+        if (process != appProcess) {
+            appProcess = process;
+            // Wait until the application restored from the checkpoint is ready again
+            super.waitUntilReady();
+        }
+    }
+
+    @Override
+    protected boolean isCamelStarted() {
+        // Restored application doesn't log the startup again
+        return startupAccelerator.isRestoredFromCheckpoint() ? startupAccelerator.isRestoreFinished(getLogPath()) : super.isCamelStarted();
+    }
+
+    public StartupAccelerator getStartupAccelerator() {
+        return startupAccelerator;
+    }
+
     @Override
     public boolean isFailed() {
         return !appProcess.isAlive();
@@ -134,6 +165,7 @@ public class LocalQuarkusApp extends QuarkusApp {
             throw new IllegalArgumentException("Expected file " + fileName + " does not exist, check if the maven build was successful");
         }
 
+        cmd = startupAccelerator.command(cmd);
         LOG.debug("ProcessBuilder command: {}", String.join(" ", cmd));
         return cmd;
     }
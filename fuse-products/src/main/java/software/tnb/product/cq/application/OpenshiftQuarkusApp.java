@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +56,7 @@ public class OpenshiftQuarkusApp extends QuarkusApp {
 
     @Override
     public void start() {
+        startTime = Instant.now();
         final BuildRequest.Builder builder = new BuildRequest.Builder()
             .withBaseDirectory(TestConfiguration.appLocation().resolve(name))
             .withGoals("package")
@@ -162,6 +164,12 @@ public class OpenshiftQuarkusApp extends QuarkusApp {
         }
     }
 
+    @Override
+    protected boolean isHealthCheckedByPlatform() {
+        // quarkus-openshift generates the readiness probe using the health endpoint
+        return hasDependency(QuarkusApp.HEALTH_DEPENDENCIES);
+    }
+
     @Override
     public boolean isReady() {
         return ResourceFunctions.areExactlyNPodsReady(1).apply(OpenshiftClient.get().getLabeledPods("app.kubernetes.io/name", name));
@@ -27,6 +27,7 @@ import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 public abstract class QuarkusApp extends App {
+    protected static final String[] HEALTH_DEPENDENCIES = {"camel-quarkus-microprofile-health", "quarkus-smallrye-health"};
     private static final Logger LOG = LoggerFactory.getLogger(QuarkusApp.class);
 
     protected BooleanSupplier readinessCheck;
@@ -5,6 +5,8 @@ import software.tnb.product.Product;
 import software.tnb.product.application.App;
 import software.tnb.product.csb.application.LocalSpringBootApp;
 import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+import software.tnb.product.runtime.SharedRuntime;
+import software.tnb.product.runtime.SharedRuntimeApp;
 
 import com.google.auto.service.AutoService;
 
@@ -13,6 +15,9 @@ public class LocalCamelSpringBoot extends LocalProduct {
 
     @Override
     public App createIntegrationApp(AbstractIntegrationBuilder<?> integrationBuilder) {
+        if (SharedRuntime.isApplicable(integrationBuilder)) {
+            return new SharedRuntimeApp(integrationBuilder, LocalSpringBootApp::new);
+        }
         return new LocalSpringBootApp(integrationBuilder);
     }
 }
@@ -3,6 +3,7 @@ package software.tnb.product.csb.application;
 import software.tnb.common.config.TestConfiguration;
 import software.tnb.common.exception.TimeoutException;
 import software.tnb.common.utils.WaitUtils;
+import software.tnb.product.application.StartupAccelerator;
 import software.tnb.product.endpoint.Endpoint;
 import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
 import software.tnb.product.integration.builder.AbstractMavenGitIntegrationBuilder;
@@ -17,14 +18,17 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class LocalSpringBootApp extends SpringBootApp {
     private static final Logger LOG = LoggerFactory.getLogger(LocalSpringBootApp.class);
     private final List<String> command;
     private final String fileName;
+    private final StartupAccelerator startupAccelerator;
     private Process appProcess;
 
     public LocalSpringBootApp(AbstractIntegrationBuilder<?> integrationBuilder) {
@@ -72,6 +76,7 @@ public class LocalSpringBootApp extends SpringBootApp {
         fileName = integrationTarget.resolve(jarName).toAbsolutePath().toString();
 
         command.add(fileName);
+        startupAccelerator = new StartupAccelerator(name, Path.of(fileName));
 
         endpoint = new Endpoint(() -> "http://localhost:" + integrationBuilder.getPort());
     }
@@ -79,6 +84,7 @@ public class LocalSpringBootApp extends SpringBootApp {
     @Override
     public void start() {
         if (shouldRun()) {
+            startTime = Instant.now();
             Path logFile = getLogPath();
             ProcessBuilder processBuilder = new ProcessBuilder(getCommand()).redirectOutput(logFile.toFile());
 
@@ -135,12 +141,41 @@ public class LocalSpringBootApp extends SpringBootApp {
         return appProcess != null && !appProcess.isAlive();
     }
 
+    @Override
+    protected Optional<String> getHealthUrl() {
+        return hasDependency("spring-boot-starter-actuator") ? Optional.of(getEndpoint() + "/actuator/health") : Optional.empty();
+    }
+
+    @Override
+    public void waitUntilReady() {
+        super.waitUntilReady();
+        if (appProcess != null) {
+            final Process process = startupAccelerator.ready(appProcess, getLogPath());
+            if (process != appProcess) {
+                appProcess = process;
+                // Wait until the application restored from the checkpoint is ready again
+                super.waitUntilReady();
+            }
+        }
+    }
+
+    @Override
+    protected boolean isCamelStarted() {
+        // Restored application doesn't log the startup again
+        return startupAccelerator.isRestoredFromCheckpoint() ? startupAccelerator.isRestoreFinished(getLogPath()) : super.isCamelStarted();
+    }
+
+    public StartupAccelerator getStartupAccelerator() {
+        return startupAccelerator;
+    }
+
     private List<String> getCommand() {
         if (!new File(fileName).exists()) {
             throw new IllegalArgumentException("Expected file " + fileName + " does not exist, check if the maven build was successful");
         }
 
-        LOG.debug("ProcessBuilder command: {}", String.join(" ", command));
-        return command;
+        final List<String> cmd = startupAccelerator.command(command);
+        LOG.debug("ProcessBuilder command: {}", String.join(" ", cmd));
+        return cmd;
     }
 }
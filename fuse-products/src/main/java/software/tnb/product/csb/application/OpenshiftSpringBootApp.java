@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 
 import io.fabric8.kubernetes.api.model.Pod;
@@ -43,6 +44,7 @@ public class OpenshiftSpringBootApp extends SpringBootApp {
 
     @Override
     public void start() {
+        startTime = Instant.now();
         LOG.info("Deploy app using {}", deploymentStrategy.getClass().getSimpleName());
         deploymentStrategy.deploy();
         endpoint = deploymentStrategy.getEndpoint();
@@ -0,0 +1,34 @@
+package software.tnb.product.git;
+
+import software.tnb.common.config.Configuration;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class GitConfiguration extends Configuration {
+    public static final String CACHE_ENABLED = "tnb.git.cache.enabled";
+    public static final String CACHE_DIR = "tnb.git.cache.dir";
+    public static final String CHECKOUT_PER_BRANCH = "tnb.git.checkout.per.branch";
+
+    /**
+     * If the repositories are checked out from a local mirror cache, otherwise they are cloned shallow.
+     */
+    public static boolean cacheEnabled() {
+        return getBoolean(CACHE_ENABLED, true);
+    }
+
+    /**
+     * Directory with the bare mirrors, it is kept between the runs, so only the new objects are fetched.
+     */
+    public static Path cacheDir() {
+        return Paths.get(getProperty(CACHE_DIR, Paths.get(System.getProperty("java.io.tmpdir"), "tnb-git-cache").toString()));
+    }
+
+    /**
+     * If each branch of the repository is checked out into a separate folder, so that the branches can be built in parallel.
+     * Otherwise the checkouts and builds of different branches of the repository wait for each other.
+     */
+    public static boolean checkoutPerBranch() {
+        return getBoolean(CHECKOUT_PER_BRANCH, false);
+    }
+}
@@ -6,8 +6,15 @@ import software.tnb.product.git.support.GitHttpConnectionFactory;
 import software.tnb.product.integration.builder.AbstractGitIntegrationBuilder;
 
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.errors.ConfigInvalidException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.storage.file.FileBasedConfig;
 import org.eclipse.jgit.transport.TransportHttp;
 import org.eclipse.jgit.util.FS;
@@ -17,21 +24,75 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Checks out the branch of the git repository into the {@link TestConfiguration#appLocation()}.
+ * <p>
+ * The working tree is locked while it is checked out, so that the checkouts of different branches into the same folder don't run in
+ * parallel. The subclasses that continue working with the checked out files (for example to build the project) can keep the lock until they
+ * call {@link #unlockWorkingTree()}.
+ */
 public class GitRepository {
     private static final Logger LOG = LoggerFactory.getLogger(GitRepository.class);
+    // mirror directory -> lock, the file lock alone does not guard the threads of the same JVM
+    private static final Map<Path, ReentrantLock> MIRROR_LOCKS = new ConcurrentHashMap<>();
+    // working tree directory -> lock
+    private static final Map<Path, ReentrantLock> WORKING_TREE_LOCKS = new ConcurrentHashMap<>();
+    private static final TransportConfigCallback TRANSPORT_CONFIG = transport -> {
+        if (transport instanceof TransportHttp) {
+            ((TransportHttp) transport).setHttpConnectionFactory(new GitHttpConnectionFactory());
+        }
+    };
+
     private final String repositoryUrl;
     private final String branch;
+    private ReentrantLock workingTreeLock;
+    private FileChannel workingTreeLockChannel;
 
     public GitRepository(String repositoryUrl, String branch) {
-        this.repositoryUrl = repositoryUrl;
-        this.branch = branch;
-        checkout();
+        this(repositoryUrl, branch, false);
     }
 
     public GitRepository(AbstractGitIntegrationBuilder<?> gitIntegrationBuilder) {
-        this(gitIntegrationBuilder.getRepositoryUrl(), gitIntegrationBuilder.getBranch());
+        this(gitIntegrationBuilder, false);
+    }
+
+    protected GitRepository(AbstractGitIntegrationBuilder<?> gitIntegrationBuilder, boolean keepLocked) {
+        this(gitIntegrationBuilder.getRepositoryUrl(), gitIntegrationBuilder.getBranch(), keepLocked);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param repositoryUrl repository url
+     * @param branch branch, tag or commit id
+     * @param keepLocked if the working tree should stay locked after the checkout, the lock must be released by {@link #unlockWorkingTree()}
+     */
+    protected GitRepository(String repositoryUrl, String branch, boolean keepLocked) {
+        this.repositoryUrl = repositoryUrl;
+        this.branch = branch;
+        lockWorkingTree();
+        try {
+            checkout();
+        } catch (RuntimeException e) {
+            unlockWorkingTree();
+            throw e;
+        }
+        if (!keepLocked) {
+            unlockWorkingTree();
+        }
     }
 
     private String getFolder() {
@@ -43,34 +104,74 @@ public class GitRepository {
     }
 
     public Path getPath() {
+        if (GitConfiguration.checkoutPerBranch()) {
+            return TestConfiguration.appLocation().resolve(getFolder() + "-" + branch.replaceAll("[^A-Za-z0-9._-]", "-"));
+        }
         return TestConfiguration.appLocation().resolve(getFolder());
     }
 
+    /**
+     * Locks the working tree for the threads of this JVM and for the other JVMs.
+     */
+    private void lockWorkingTree() {
+        final Path path = getPath().toAbsolutePath();
+        workingTreeLock = WORKING_TREE_LOCKS.computeIfAbsent(path, p -> new ReentrantLock());
+        workingTreeLock.lock();
+        try {
+            Files.createDirectories(path.getParent());
+            workingTreeLockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+            workingTreeLockChannel.lock();
+        } catch (IOException e) {
+            unlockWorkingTree();
+            throw new IllegalStateException("Can't lock the working tree " + path, e);
+        }
+    }
+
+    /**
+     * Releases the lock of the working tree, does nothing if the lock is already released.
+     */
+    protected void unlockWorkingTree() {
+        if (workingTreeLock == null) {
+            return;
+        }
+        try {
+            if (workingTreeLockChannel != null) {
+                // Releases the file lock as well
+                workingTreeLockChannel.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to release the lock of the working tree {}", getPath(), e);
+        } finally {
+            workingTreeLockChannel = null;
+            workingTreeLock.unlock();
+            workingTreeLock = null;
+        }
+    }
+
     private void checkout() {
+        if (GitConfiguration.cacheEnabled()) {
+            checkoutFromMirror();
+        } else {
+            cloneShallow();
+        }
+    }
+
+    /**
+     * Clones only the last commit of the branch, the existing checkout is reused as it is.
+     */
+    private void cloneShallow() {
         File projectDirectory = getPath().toFile();
         if (!projectDirectory.exists()) {
             LOG.info("Check out {} on branch {}", repositoryUrl, branch);
-
-            if (!FIPSUtils.isFipsEnabled()) {
-                try {
-                    FileBasedConfig fileBasedConfig = SystemReader.getInstance().openJGitConfig(null, FS.DETECTED);
-                    fileBasedConfig.load();
-                    fileBasedConfig.setBoolean("http", null, "sslVerify", false);
-                    fileBasedConfig.save();
-                } catch (IOException | ConfigInvalidException e) {
-                    throw new IllegalStateException("Can't update git config", e);
-                }
-            }
+            configureSslVerify();
 
             try (Git ignored = Git.cloneRepository()
-                .setTransportConfigCallback(transport -> {
-                    if (transport instanceof TransportHttp) {
-                        ((TransportHttp) transport).setHttpConnectionFactory(new GitHttpConnectionFactory());
-                    }
-                })
+                .setTransportConfigCallback(TRANSPORT_CONFIG)
                 .setURI(repositoryUrl)
                 .setDirectory(projectDirectory)
                 .setBranch(branch)
+                .setDepth(1)
                 .call()) {
             } catch (GitAPIException e) {
                 throw new IllegalStateException("Can't clone QS git repository: " + repositoryUrl, e);
@@ -79,4 +180,130 @@ public class GitRepository {
             LOG.info("{} checked out in {}", getFolder(), TestConfiguration.appLocation());
         }
     }
+
+    /**
+     * Updates the bare mirror of the repository and checks out the branch from it.
+     * <p>
+     * The checkout borrows the objects from the mirror using the git alternates (the same as git clone --shared), so the checkout
+     * of another branch of the same repository does not download or copy any objects. The existing checkout is reset to the current
+     * commit of the branch when the branch moved, the untracked files (like the build output) are kept.
+     */
+    private void checkoutFromMirror() {
+        final Path mirror = GitConfiguration.cacheDir().resolve(getFolder() + "-" + hash(repositoryUrl) + ".git");
+        final ReentrantLock lock = MIRROR_LOCKS.computeIfAbsent(mirror, m -> new ReentrantLock());
+        lock.lock();
+        try {
+            Files.createDirectories(mirror.getParent());
+            try (FileChannel channel = FileChannel.open(mirror.resolveSibling(mirror.getFileName() + ".lock"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE); FileLock ignored = channel.lock()) {
+                final ObjectId commit;
+                final boolean isBranch;
+                try (Git git = updateMirror(mirror)) {
+                    commit = resolve(git.getRepository());
+                    isBranch = git.getRepository().exactRef(Constants.R_HEADS + branch) != null;
+                }
+                checkoutCommit(mirror, commit, isBranch);
+            }
+        } catch (IOException | GitAPIException e) {
+            throw new IllegalStateException("Can't check out QS git repository: " + repositoryUrl, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Git updateMirror(Path mirror) throws IOException, GitAPIException {
+        configureSslVerify();
+        if (Files.exists(mirror.resolve(Constants.HEAD))) {
+            LOG.debug("Fetching {} into {}", repositoryUrl, mirror);
+            final Git git = Git.open(mirror.toFile());
+            try {
+                git.fetch().setRemote(Constants.DEFAULT_REMOTE_NAME).setRemoveDeletedRefs(true).setTransportConfigCallback(TRANSPORT_CONFIG).call();
+            } catch (GitAPIException e) {
+                git.close();
+                throw e;
+            }
+            return git;
+        }
+
+        LOG.info("Mirroring {} into {}", repositoryUrl, mirror);
+        return Git.cloneRepository()
+            .setTransportConfigCallback(TRANSPORT_CONFIG)
+            .setURI(repositoryUrl)
+            .setDirectory(mirror.toFile())
+            .setBare(true)
+            .setMirror(true)
+            .call();
+    }
+
+    private void checkoutCommit(Path mirror, ObjectId commit, boolean isBranch) throws IOException, GitAPIException {
+        final Path projectDirectory = getPath();
+        if (!Files.exists(projectDirectory.resolve(Constants.DOT_GIT))) {
+            LOG.info("Check out {} on branch {}", repositoryUrl, branch);
+            Git.init().setDirectory(projectDirectory.toFile()).call().close();
+        }
+
+        final Path alternates = projectDirectory.resolve(Constants.DOT_GIT).resolve("objects/info/alternates");
+        final String mirrorObjects = mirror.resolve("objects").toAbsolutePath().toString();
+        if (!Files.exists(alternates) || !Files.readString(alternates).contains(mirrorObjects)) {
+            Files.createDirectories(alternates.getParent());
+            Files.writeString(alternates, mirrorObjects + "\n", StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        // Open the repository only after the alternates are set, so that the objects from the mirror are visible
+        try (Git git = Git.open(projectDirectory.toFile())) {
+            final Repository repository = git.getRepository();
+            if (commit.equals(repository.resolve(Constants.HEAD))) {
+                LOG.debug("{} is up to date on branch {}", projectDirectory, branch);
+                return;
+            }
+
+            final StoredConfig config = repository.getConfig();
+            config.setString("remote", Constants.DEFAULT_REMOTE_NAME, "url", repositoryUrl);
+            config.save();
+
+            final RefUpdate head = repository.getRefDatabase().newUpdate(Constants.HEAD, !isBranch);
+            if (isBranch) {
+                head.link(Constants.R_HEADS + branch);
+            } else {
+                head.setNewObjectId(commit);
+                head.forceUpdate();
+            }
+            git.reset().setMode(ResetCommand.ResetType.HARD).setRef(commit.name()).call();
+        }
+        LOG.info("{} checked out in {} at {}", getFolder(), projectDirectory, commit.name());
+    }
+
+    /**
+     * Resolves the branch, tag or commit id to the commit.
+     */
+    private ObjectId resolve(Repository repository) throws IOException {
+        for (String revision : new String[] {Constants.R_HEADS + branch, Constants.R_TAGS + branch, branch}) {
+            final ObjectId commit = repository.resolve(revision + "^{commit}");
+            if (commit != null) {
+                return commit;
+            }
+        }
+        throw new IllegalStateException("Unable to find " + branch + " in " + repositoryUrl);
+    }
+
+    private static void configureSslVerify() {
+        if (!FIPSUtils.isFipsEnabled()) {
+            try {
+                FileBasedConfig fileBasedConfig = SystemReader.getInstance().openJGitConfig(null, FS.DETECTED);
+                fileBasedConfig.load();
+                fileBasedConfig.setBoolean("http", null, "sslVerify", false);
+                fileBasedConfig.save();
+            } catch (IOException | ConfigInvalidException e) {
+                throw new IllegalStateException("Can't update git config", e);
+            }
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8))).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -23,31 +23,35 @@ public class MavenGitRepository extends GitRepository {
     protected Optional<String> finalName;
 
     public MavenGitRepository(AbstractMavenGitIntegrationBuilder<?> gitIntegrationBuilder, String name, Path logFile, boolean buildProject) {
-        super(gitIntegrationBuilder);
+        // The working tree stays locked until the project is customized and built, so that another branch isn't checked out meanwhile
+        super(gitIntegrationBuilder, true);
+        try {
+            projectLocation = gitIntegrationBuilder.getSubDirectory().map(project -> getPath().resolve(project)).orElse(getPath());
 
-        projectLocation = gitIntegrationBuilder.getSubDirectory().map(project -> getPath().resolve(project)).orElse(getPath());
+            finalName = gitIntegrationBuilder.getFinalName();
 
-        finalName = gitIntegrationBuilder.getFinalName();
+            if (gitIntegrationBuilder.getProjectVersion() != null) {
+                gitIntegrationBuilder.getPreMavenBuildCustomizers().add(
+                    new UpdateProjectVersionCustomizer(gitIntegrationBuilder.getProjectVersion(), name));
+            }
 
-        if (gitIntegrationBuilder.getProjectVersion() != null) {
-            gitIntegrationBuilder.getPreMavenBuildCustomizers().add(
-                new UpdateProjectVersionCustomizer(gitIntegrationBuilder.getProjectVersion(), name));
-        }
+            gitIntegrationBuilder.getPreMavenBuildCustomizers().forEach(customizer -> customizer.accept(projectLocation));
 
-        gitIntegrationBuilder.getPreMavenBuildCustomizers().forEach(customizer -> customizer.accept(projectLocation));
+            Map<String, String> mavenBuildProperties = new HashMap<>(gitIntegrationBuilder.getMavenProperties());
+            finalName.ifPresent(fName -> {
+                final File pom = projectLocation.resolve("pom.xml").toFile();
+                final Model model = Maven.loadPom(pom);
+                if (model.getBuild() != null) {
+                    model.getBuild().setFinalName(finalName.get());
+                    Maven.writePom(pom, model);
+                }
+            });
 
-        Map<String, String> mavenBuildProperties = new HashMap<>(gitIntegrationBuilder.getMavenProperties());
-        finalName.ifPresent(fName -> {
-            final File pom = projectLocation.resolve("pom.xml").toFile();
-            final Model model = Maven.loadPom(pom);
-            if (model.getBuild() != null) {
-                model.getBuild().setFinalName(finalName.get());
-                Maven.writePom(pom, model);
+            if (buildProject) {
+                buildProject(gitIntegrationBuilder, name, logFile, mavenBuildProperties);
             }
-        });
-
-        if (buildProject) {
-            buildProject(gitIntegrationBuilder, name, logFile, mavenBuildProperties);
+        } finally {
+            unlockWorkingTree();
         }
     }
 
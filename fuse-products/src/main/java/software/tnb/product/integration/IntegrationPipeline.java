@@ -0,0 +1,199 @@
+package software.tnb.product.integration;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.product.application.App;
+import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates multiple independent integrations in parallel.
+ * <p>
+ * The integrations go through three phases:
+ * <ul>
+ *     <li>create - the application is generated and built (happens in the app constructor), at most {@link #concurrency(int)} builds run at once
+ *     </li>
+ *     <li>start - the application is started / deployed, bounded in the same way as the create phase</li>
+ *     <li>wait - all applications are awaited at the same time</li>
+ * </ul>
+ * Each phase waits for all integrations, so that all failures are collected and reported with the name of the integration that caused them.
+ */
+public class IntegrationPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(IntegrationPipeline.class);
+    private static final long MB = 1024 * 1024;
+
+    private final Function<AbstractIntegrationBuilder<?>, App> appFactory;
+    private final Map<String, App> integrations;
+    private final UnaryOperator<Runnable> contextPropagator;
+
+    /**
+     * Constructor.
+     *
+     * @param appFactory function that creates (generates and builds) the app from the integration builder
+     * @param integrations map where the created apps are registered, so that they are stopped with the other integrations
+     * @param contextPropagator wraps the tasks running in the pipeline threads with the context of the calling thread
+     */
+    public IntegrationPipeline(Function<AbstractIntegrationBuilder<?>, App> appFactory, Map<String, App> integrations,
+        UnaryOperator<Runnable> contextPropagator) {
+        this.appFactory = appFactory;
+        this.integrations = integrations;
+        this.contextPropagator = contextPropagator;
+    }
+
+    /**
+     * Creates, starts and waits for all given integrations.
+     *
+     * @param integrationBuilders integration builders
+     * @return map of integration name - app with integrations created in this invocation, in the same order as the builders
+     */
+    public Map<String, App> run(List<AbstractIntegrationBuilder<?>> integrationBuilders) {
+        validateNames(integrationBuilders);
+        if (integrationBuilders.isEmpty()) {
+            return Map.of();
+        }
+
+        final int concurrency = concurrency(integrationBuilders.size());
+        LOG.info("Creating {} integrations with build concurrency {}", integrationBuilders.size(), concurrency);
+
+        final Map<String, App> created = new ConcurrentHashMap<>();
+        final ExecutorService buildExecutor = Executors.newFixedThreadPool(concurrency, threadFactory("build"));
+        final ExecutorService waitExecutor = Executors.newFixedThreadPool(integrationBuilders.size(), threadFactory("wait"));
+        try {
+            runPhase("create", buildExecutor, integrationBuilders, AbstractIntegrationBuilder::getIntegrationName, ib -> {
+                final App app = appFactory.apply(ib);
+                created.put(ib.getIntegrationName(), app);
+                // Register the app right away, so that it is cleaned up even when some other integration fails
+                integrations.put(ib.getIntegrationName(), app);
+            });
+
+            // Keep the order of the builders
+            final Map<String, App> apps = new LinkedHashMap<>();
+            integrationBuilders.forEach(ib -> apps.put(ib.getIntegrationName(), created.get(ib.getIntegrationName())));
+
+            runPhase("start", buildExecutor, apps.values(), App::getName, App::start);
+            runPhase("wait", waitExecutor, apps.values(), App::getName, App::waitUntilReady);
+            return apps;
+        } finally {
+            buildExecutor.shutdownNow();
+            waitExecutor.shutdownNow();
+        }
+    }
+
+    private void validateNames(List<AbstractIntegrationBuilder<?>> integrationBuilders) {
+        final Set<String> names = new HashSet<>();
+        for (AbstractIntegrationBuilder<?> integrationBuilder : integrationBuilders) {
+            final String name = integrationBuilder.getIntegrationName();
+            if (integrations.containsKey(name)) {
+                throw new IllegalArgumentException("Integration with name " + name + " is already running!");
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Integration name " + name + " is used by multiple integration builders!");
+            }
+        }
+    }
+
+    /**
+     * Runs the action for all items in the executor and waits for all of them to finish.
+     *
+     * @param phase phase name used in the log messages
+     * @param executor executor to use
+     * @param items items to process
+     * @param nameFunction function returning the integration name for the item
+     * @param action action to run
+     * @param <T> item type
+     */
+    private <T> void runPhase(String phase, ExecutorService executor, Collection<T> items, Function<T, String> nameFunction,
+        Consumer<T> action) {
+        final Map<String, Future<?>> futures = new LinkedHashMap<>();
+        for (T item : items) {
+            final String name = nameFunction.apply(item);
+            futures.put(name, executor.submit(contextPropagator.apply(() -> {
+                final Thread thread = Thread.currentThread();
+                final String threadName = thread.getName();
+                thread.setName(threadName + "|" + name);
+                try {
+                    action.accept(item);
+                } finally {
+                    thread.setName(threadName);
+                }
+            })));
+        }
+
+        final Map<String, Throwable> failures = new LinkedHashMap<>();
+        futures.forEach((name, future) -> {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOG.error("Integration {} failed in {} phase", name, phase, e.getCause());
+                failures.put(name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(name, e);
+            }
+        });
+
+        if (!failures.isEmpty()) {
+            final RuntimeException ex;
+            if (failures.size() == 1) {
+                final Map.Entry<String, Throwable> failure = failures.entrySet().iterator().next();
+                ex = new RuntimeException("Integration " + failure.getKey() + " failed in " + phase + " phase", failure.getValue());
+            } else {
+                ex = new RuntimeException("Integrations " + failures.keySet() + " failed in " + phase + " phase");
+                failures.forEach((name, cause) -> ex.addSuppressed(new RuntimeException("Integration " + name + " failed in " + phase + " phase",
+                    cause)));
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Computes how many integrations can be built at the same time.
+     * <p>
+     * If not specified explicitly by {@link TestConfiguration#APP_BUILD_CONCURRENCY} property, it is the minimum of the available CPUs and
+     * the number of builds that fit in the free physical memory (each using {@link TestConfiguration#APP_BUILD_MEMORY} MB).
+     *
+     * @param tasks number of integrations to build
+     * @return build concurrency
+     */
+    public static int concurrency(int tasks) {
+        int concurrency = TestConfiguration.appBuildConcurrency();
+        if (concurrency <= 0) {
+            concurrency = Runtime.getRuntime().availableProcessors();
+            final OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+            if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+                final long freeMemory = ((com.sun.management.OperatingSystemMXBean) osBean).getFreeMemorySize() / MB;
+                concurrency = (int) Math.min(concurrency, freeMemory / TestConfiguration.appBuildMemory());
+            }
+        }
+        return Math.max(1, Math.min(concurrency, tasks));
+    }
+
+    private static ThreadFactory threadFactory(String phase) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, "integration-" + phase + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
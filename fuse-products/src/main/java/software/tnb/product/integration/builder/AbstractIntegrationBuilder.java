@@ -5,6 +5,7 @@ import software.tnb.common.utils.MapUtils;
 import software.tnb.product.customizer.Customizer;
 import software.tnb.product.deploystrategy.impl.custom.OpenshiftCustomDeployer;
 import software.tnb.product.integration.Resource;
+import software.tnb.product.util.jparser.SourceCache;
 import software.tnb.product.util.maven.Maven;
 
 import org.apache.camel.builder.RouteBuilder;
@@ -15,17 +16,13 @@ import org.apache.maven.model.Plugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.github.javaparser.JavaParser;
-import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParserConfiguration;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.visitor.ModifierVisitor;
-import com.github.javaparser.utils.CodeGenerationUtils;
-import com.github.javaparser.utils.ParserCollectionStrategy;
-import com.github.javaparser.utils.ProjectRoot;
 import com.github.javaparser.utils.SourceRoot;
 import com.github.javaparser.utils.StringEscapeUtils;
 
@@ -40,11 +37,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -256,23 +251,14 @@ public abstract class AbstractIntegrationBuilder<SELF extends AbstractIntegratio
         return self();
     }
 
-    private Stream<SourceRoot> getSourceRoots(Class<?> clazz) {
-        ProjectRoot projectRoot = new ParserCollectionStrategy().collect(CodeGenerationUtils.mavenModuleRoot(clazz));
-        return projectRoot.getSourceRoots().stream().filter(sr -> !sr.getRoot().toString().contains("target"));
-    }
-
     public CompilationUnit getCompilationUnit(Class<?> clazz) {
-        return getSourceRoots(clazz).map(sr -> {
-                try {
-                    return sr.parse(clazz.getPackageName(), getClassName(clazz) + ".java");
-                } catch (ParseProblemException ex) {
-                    return null;
-                }
-            }).filter(Objects::nonNull).findFirst()
+        final List<SourceRoot> sourceRoots = SourceCache.getSourceRoots(clazz);
+        return sourceRoots.stream()
+            .map(sr -> SourceCache.parse(sr, clazz.getPackageName(), getClassName(clazz) + ".java"))
+            .flatMap(Optional::stream)
+            .findFirst()
             .orElseThrow(() -> new RuntimeException(String
-                .format("Couldn't parse class %s in source roots [%s]. Make sure the sources are available.", clazz.getName(),
-                    getSourceRoots(clazz).collect(
-                        Collectors.toList()))));
+                .format("Couldn't parse class %s in source roots [%s]. Make sure the sources are available.", clazz.getName(), sourceRoots)));
     }
 
     private void processRouteBuilder(RouteBuilder routeBuilder, String className, CompilationUnit cu, Set<String> ignoredPackages) {
@@ -428,11 +414,8 @@ public abstract class AbstractIntegrationBuilder<SELF extends AbstractIntegratio
     }
 
     private void addFile(Path file) {
-        try {
-            classesToAdd.add(new JavaParser().parse(file).getResult().get());
-        } catch (IOException e) {
-            throw new RuntimeException("Unable to parse file " + file, e);
-        }
+        classesToAdd.add(SourceCache.parse(file, new ParserConfiguration())
+            .orElseThrow(() -> new RuntimeException("Unable to parse file " + file)));
     }
 
     public SELF fileName(String fileName) {
@@ -0,0 +1,58 @@
+package software.tnb.product.log;
+
+import software.tnb.common.utils.IOUtils;
+import software.tnb.common.utils.StringUtils;
+import software.tnb.product.rp.Attachments;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Log backed by a part of a file that is shared with other apps, starting at the given offset.
+ */
+public class FileSliceLog extends Log {
+    private final Path logFile;
+    private final long offset;
+    private final Path target;
+
+    /**
+     * Constructor.
+     *
+     * @param logFile shared log file
+     * @param offset offset in bytes where this log starts
+     * @param target file where the log is saved
+     */
+    public FileSliceLog(Path logFile, long offset, Path target) {
+        this.logFile = logFile;
+        this.offset = offset;
+        this.target = target;
+    }
+
+    @Override
+    public String toString() {
+        try (SeekableByteChannel channel = Files.newByteChannel(logFile)) {
+            final long size = channel.size();
+            if (size <= offset) {
+                return "";
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) (size - offset));
+            channel.position(offset);
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // read until the end of the file
+            }
+            return StringUtils.removeColorCodes(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read log file " + logFile, e);
+        }
+    }
+
+    @Override
+    public void save() {
+        IOUtils.writeFile(target, toString());
+        Attachments.addAttachment(target);
+    }
+}
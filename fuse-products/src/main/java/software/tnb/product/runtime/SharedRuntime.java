@@ -0,0 +1,415 @@
+package software.tnb.product.runtime;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.common.product.ProductType;
+import software.tnb.common.utils.HTTPUtils;
+import software.tnb.common.utils.NetworkUtils;
+import software.tnb.product.application.App;
+import software.tnb.product.cq.configuration.QuarkusConfiguration;
+import software.tnb.product.csb.integration.builder.SpringBootIntegrationBuilder;
+import software.tnb.product.customizer.Customizers;
+import software.tnb.product.integration.builder.AbstractGitIntegrationBuilder;
+import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+import software.tnb.product.integration.builder.IntegrationBuilder;
+import software.tnb.product.util.jparser.AnnotationUtils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.model.Dependency;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+/**
+ * Long-running base application shared by all integrations with the same dependencies and startup configuration.
+ * <p>
+ * The base application is generated, built and started only once. It contains a route manager that loads the compiled route builders
+ * of the integrations into the running camel context and removes them after the integration is stopped.
+ * <p>
+ * Properties that are read only when the application starts (see {@link #isStartupProperty(String)}) are part of the base application,
+ * all other properties are resolved from the loaded integrations.
+ */
+public final class SharedRuntime {
+    public static final String PORT_PROPERTY = "tnb.shared.runtime.port";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedRuntime.class);
+    private static final Map<String, CompletableFuture<SharedRuntime>> RUNTIMES = new ConcurrentHashMap<>();
+    private static final List<String> STARTUP_PROPERTY_PREFIXES = List.of("quarkus.", "spring.", "server.", "management.", "logging.", "camel.");
+    private static final String ROUTE_MANAGER = "TnbRouteManager";
+    private static final MediaType ZIP = MediaType.parse("application/zip");
+
+    private final String key;
+    private final int port;
+    private final int managementPort;
+    private final App app;
+    private final Path location;
+    // Integrations using the runtime, from the creation of their app until it is stopped
+    private final Set<String> integrations = ConcurrentHashMap.newKeySet();
+    private String classpath;
+
+    private SharedRuntime(String key, AbstractIntegrationBuilder<?> integrationBuilder, Function<AbstractIntegrationBuilder<?>, App> appFactory) {
+        this.key = key;
+        this.port = integrationBuilder.getPort();
+        this.managementPort = NetworkUtils.getFreePort();
+
+        final IntegrationBuilder baseBuilder = new IntegrationBuilder("tnb-shared-runtime-" + key)
+            .dependencies(integrationBuilder.getDependencies().toArray(new Dependency[0]))
+            .port(port)
+            .addToApplicationProperties(startupProperties(integrationBuilder))
+            .addToApplicationProperties(PORT_PROPERTY, String.valueOf(managementPort));
+        final CompilationUnit routeManager = routeManager();
+        baseBuilder.addClass(routeManager);
+        baseBuilder.addCustomizer(Customizers.SPRINGBOOT.customize(ib ->
+            AnnotationUtils.addAnnotationsToClass(routeManager, List.of("org.springframework.stereotype.Component"), List.of("Component"))));
+
+        LOG.info("Creating shared runtime {} for integration {}", baseBuilder.getIntegrationName(), integrationBuilder.getIntegrationName());
+        app = appFactory.apply(baseBuilder);
+        location = TestConfiguration.appLocation().resolve(app.getName());
+        app.start();
+        app.waitUntilReady();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+    }
+
+    /**
+     * Checks if the integration can be loaded into the shared runtime.
+     *
+     * @param integrationBuilder integration builder
+     * @return true if the shared runtime is enabled and the integration doesn't need its own application
+     */
+    public static boolean isApplicable(AbstractIntegrationBuilder<?> integrationBuilder) {
+        if (!SharedRuntimeConfiguration.enabled()) {
+            return false;
+        }
+        final String reason = incompatibility(integrationBuilder);
+        if (reason != null) {
+            LOG.info("Integration {} can't be loaded into the shared runtime ({}), building it as a standalone application",
+                integrationBuilder.getIntegrationName(), reason);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the reason why the integration needs its own application.
+     *
+     * @param integrationBuilder integration builder
+     * @return reason or null if the integration can be loaded into the shared runtime
+     */
+    static String incompatibility(AbstractIntegrationBuilder<?> integrationBuilder) {
+        if (TestConfiguration.product() != ProductType.CAMEL_QUARKUS && TestConfiguration.product() != ProductType.CAMEL_SPRINGBOOT) {
+            return "unsupported product " + TestConfiguration.product().getValue();
+        }
+        if (TestConfiguration.product() == ProductType.CAMEL_QUARKUS && QuarkusConfiguration.isQuarkusNative()) {
+            return "native build";
+        }
+        if (TestConfiguration.appDebug()) {
+            return "debug mode";
+        }
+        if (integrationBuilder.getRouteBuilder().isEmpty()) {
+            return "no route builder";
+        }
+        if (integrationBuilder instanceof AbstractGitIntegrationBuilder<?>
+            && ((AbstractGitIntegrationBuilder<?>) integrationBuilder).getRepositoryUrl() != null) {
+            return "git repository";
+        }
+        if (integrationBuilder instanceof SpringBootIntegrationBuilder
+            && (((SpringBootIntegrationBuilder) integrationBuilder).getExistingJar() != null
+            || !((SpringBootIntegrationBuilder) integrationBuilder).getXmlCamelContext().isEmpty())) {
+            return "existing jar or xml camel context";
+        }
+        if (!integrationBuilder.getPlugins().isEmpty()) {
+            return "maven plugins";
+        }
+        if (!integrationBuilder.getResources().isEmpty()) {
+            return "resources";
+        }
+        if (!integrationBuilder.getSystemProperties().isEmpty() || !integrationBuilder.getVmArguments().isEmpty()
+            || StringUtils.isNotEmpty(integrationBuilder.getJvmAgentPath())) {
+            return "jvm configuration";
+        }
+        return null;
+    }
+
+    /**
+     * Returns the shared runtime for given integration, creating (and starting) it if it doesn't exist yet.
+     * <p>
+     * The runtime is reserved for the integration until it is released by {@link #release(String)}, so that it isn't stopped while
+     * the integration is not loaded yet. Idle runtimes with different configuration are stopped before a new one is created, as they may use
+     * the same ports.
+     *
+     * @param integrationBuilder integration builder with processed customizers
+     * @param appFactory function creating the base application
+     * @return shared runtime instance
+     */
+    public static SharedRuntime get(AbstractIntegrationBuilder<?> integrationBuilder, Function<AbstractIntegrationBuilder<?>, App> appFactory) {
+        final String key = key(integrationBuilder);
+        while (true) {
+            final CompletableFuture<SharedRuntime> future = new CompletableFuture<>();
+            final CompletableFuture<SharedRuntime> existing = RUNTIMES.putIfAbsent(key, future);
+            if (existing == null) {
+                try {
+                    stopIdle(integrationBuilder.getPort());
+                    final SharedRuntime runtime = new SharedRuntime(key, integrationBuilder, appFactory);
+                    runtime.integrations.add(integrationBuilder.getIntegrationName());
+                    future.complete(runtime);
+                } catch (RuntimeException e) {
+                    RUNTIMES.remove(key);
+                    future.completeExceptionally(e);
+                    throw e;
+                }
+                return future.join();
+            }
+
+            final SharedRuntime runtime = existing.join();
+            synchronized (SharedRuntime.class) {
+                // The runtime may have been stopped as idle in the meantime
+                if (RUNTIMES.get(key) == existing) {
+                    runtime.integrations.add(integrationBuilder.getIntegrationName());
+                    return runtime;
+                }
+            }
+        }
+    }
+
+    private static synchronized void stopIdle(int port) {
+        RUNTIMES.values().stream().filter(f -> f.isDone() && !f.isCompletedExceptionally()).map(CompletableFuture::join).forEach(runtime -> {
+            if (runtime.integrations.isEmpty()) {
+                runtime.stop();
+            } else if (runtime.port == port) {
+                throw new IllegalStateException("Shared runtime " + runtime.app.getName() + " with integrations " + runtime.integrations
+                    + " already uses port " + port);
+            }
+        });
+    }
+
+    /**
+     * Computes the key of the base application - integrations with the same key share the same application.
+     *
+     * @param integrationBuilder integration builder
+     * @return key
+     */
+    static String key(AbstractIntegrationBuilder<?> integrationBuilder) {
+        final String dependencies = integrationBuilder.getDependencies().stream()
+            .map(d -> d.getManagementKey() + ":" + d.getVersion() + ":" + d.getScope())
+            .sorted()
+            .collect(Collectors.joining(","));
+        final String content = dependencies + "|" + startupProperties(integrationBuilder) + "|" + integrationBuilder.getPort();
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unable to compute shared runtime key", e);
+        }
+    }
+
+    static boolean isStartupProperty(String key) {
+        return STARTUP_PROPERTY_PREFIXES.stream().anyMatch(key::startsWith);
+    }
+
+    private static Map<String, String> startupProperties(AbstractIntegrationBuilder<?> integrationBuilder) {
+        return integrationBuilder.getApplicationProperties().stringPropertyNames().stream().filter(SharedRuntime::isStartupProperty)
+            .collect(Collectors.toMap(k -> k, k -> integrationBuilder.getApplicationProperties().getProperty(k), (a, b) -> a, TreeMap::new));
+    }
+
+    /**
+     * Returns the application properties of the integration that are resolved by the route manager.
+     *
+     * @param integrationBuilder integration builder
+     * @return properties
+     */
+    static Properties integrationProperties(AbstractIntegrationBuilder<?> integrationBuilder) {
+        final Properties properties = new Properties();
+        integrationBuilder.getApplicationProperties().stringPropertyNames().stream().filter(k -> !isStartupProperty(k))
+            .forEach(k -> properties.setProperty(k, integrationBuilder.getApplicationProperties().getProperty(k)));
+        return properties;
+    }
+
+    private static CompilationUnit routeManager() {
+        try (InputStream is = SharedRuntime.class.getResourceAsStream("/shared-runtime/" + ROUTE_MANAGER + ".java")) {
+            final CompilationUnit cu = StaticJavaParser.parse(is);
+            cu.setPackageDeclaration(TestConfiguration.appGroupId());
+            return cu;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load route manager source", e);
+        }
+    }
+
+    /**
+     * Compiles the source file against the classpath of the base application.
+     *
+     * @param source source file
+     * @param output output directory
+     */
+    public void compile(Path source, Path output) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Java compiler is not available, the shared runtime needs to run on JDK");
+        }
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            output.toFile().mkdirs();
+            final List<String> options = List.of("-classpath", getClasspath(), "-d", output.toString(), "-proc:none");
+            final boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjects(source.toFile())).call();
+            if (!success) {
+                throw new RuntimeException("Unable to compile " + source + ": " + diagnostics.getDiagnostics().stream()
+                    .map(d -> d.getLineNumber() + ": " + d.getMessage(null)).collect(Collectors.joining("\n", "\n", "")));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to compile " + source, e);
+        }
+    }
+
+    /**
+     * Returns the classpath of the base application, the libraries are extracted from the spring boot fat jar if needed.
+     *
+     * @return classpath string
+     */
+    private synchronized String getClasspath() {
+        if (classpath == null) {
+            final Path target = location.resolve("target");
+            final List<Path> entries = new ArrayList<>();
+            try {
+                final Path quarkusApp = target.resolve("quarkus-app");
+                if (Files.isDirectory(quarkusApp)) {
+                    try (Stream<Path> files = Files.walk(quarkusApp)) {
+                        files.filter(f -> f.toString().endsWith(".jar")).forEach(entries::add);
+                    }
+                } else {
+                    final Path extracted = target.resolve("shared-runtime-classpath");
+                    try (Stream<Path> files = Files.list(target)) {
+                        final Path jar = files.filter(f -> f.toString().endsWith(".jar")).findFirst()
+                            .orElseThrow(() -> new IllegalStateException("No jar file found in " + target));
+                        extract(jar, extracted);
+                    }
+                    entries.add(extracted.resolve("BOOT-INF/classes"));
+                    try (Stream<Path> files = Files.list(extracted.resolve("BOOT-INF/lib"))) {
+                        files.forEach(entries::add);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to resolve classpath of shared runtime " + app.getName(), e);
+            }
+            classpath = entries.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+        }
+        return classpath;
+    }
+
+    private static void extract(Path jar, Path destination) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            for (JarEntry entry : jarFile.stream().filter(e -> !e.isDirectory() && e.getName().startsWith("BOOT-INF/")).toList()) {
+                final Path file = destination.resolve(entry.getName()).normalize();
+                if (!file.startsWith(destination)) {
+                    throw new IOException("Invalid jar entry " + entry.getName());
+                }
+                file.getParent().toFile().mkdirs();
+                try (InputStream is = jarFile.getInputStream(entry)) {
+                    Files.copy(is, file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the integration into the running application.
+     *
+     * @param name integration name
+     * @param content zip with the integration classes, properties and the route builder class name
+     */
+    public void load(String name, byte[] content) {
+        final HTTPUtils.Response response = HTTPUtils.getInstance().put(url(name), RequestBody.create(content, ZIP));
+        if (!response.isSuccessful()) {
+            throw new RuntimeException("Unable to load integration " + name + " into shared runtime " + app.getName() + ": "
+                + response.getBody());
+        }
+        LOG.info("Integration {} loaded into shared runtime {} with routes {}", name, app.getName(), response.getBody());
+    }
+
+    /**
+     * Removes the integration from the running application.
+     *
+     * @param name integration name
+     */
+    public void unload(String name) {
+        if (isRunning()) {
+            HTTPUtils.getInstance().delete(url(name));
+        }
+    }
+
+    /**
+     * Releases the reservation of the runtime made by {@link #get(AbstractIntegrationBuilder, Function)}, the runtime may be stopped
+     * afterwards if no other integration uses it.
+     *
+     * @param name integration name
+     */
+    public void release(String name) {
+        integrations.remove(name);
+    }
+
+    /**
+     * Checks if all routes of the integration are started.
+     *
+     * @param name integration name
+     * @return true if the routes are started
+     */
+    public boolean isStarted(String name) {
+        return integrations.contains(name) && HTTPUtils.getInstance().get(url(name), false).getResponseCode() == 200;
+    }
+
+    public boolean isRunning() {
+        return app.isReady();
+    }
+
+    public Path getLogPath() {
+        return app.getLogPath();
+    }
+
+    private String url(String name) {
+        return "http://localhost:" + managementPort + "/integrations/" + name;
+    }
+
+    /**
+     * Stops the base application.
+     */
+    public synchronized void stop() {
+        if (RUNTIMES.remove(key) != null) {
+            LOG.info("Stopping shared runtime {}", app.getName());
+            app.stop();
+            NetworkUtils.releasePort(managementPort);
+        }
+    }
+}
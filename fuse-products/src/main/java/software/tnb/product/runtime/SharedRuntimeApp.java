@@ -0,0 +1,133 @@
+package software.tnb.product.runtime;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.common.utils.IOUtils;
+import software.tnb.common.utils.PropertiesUtils;
+import software.tnb.product.application.App;
+import software.tnb.product.endpoint.Endpoint;
+import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+import software.tnb.product.integration.generator.IntegrationGenerator;
+import software.tnb.product.log.FileSliceLog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Integration that is loaded into a {@link SharedRuntime} instead of being built and started as a standalone application.
+ * <p>
+ * The route builder (with inlined additional classes) is compiled against the classpath of the shared runtime when the app is created and
+ * it is loaded into the running camel context on start. The log of the app contains only the part of the shared runtime log written since
+ * the integration was loaded.
+ */
+public class SharedRuntimeApp extends App {
+    private static final Logger LOG = LoggerFactory.getLogger(SharedRuntimeApp.class);
+
+    private final SharedRuntime runtime;
+    private final byte[] content;
+    private boolean loaded = false;
+
+    public SharedRuntimeApp(AbstractIntegrationBuilder<?> integrationBuilder, Function<AbstractIntegrationBuilder<?>, App> baseAppFactory) {
+        super(integrationBuilder);
+
+        final String source = IntegrationGenerator.toString(integrationBuilder);
+        // Customizers may add stuff that needs changes in the application project
+        final String reason = SharedRuntime.incompatibility(integrationBuilder);
+        if (reason != null) {
+            throw new IllegalStateException("Integration " + name + " can't be loaded into the shared runtime (" + reason
+                + "), set " + SharedRuntimeConfiguration.SHARED_RUNTIME + "=false to build it as a standalone application");
+        }
+
+        runtime = SharedRuntime.get(integrationBuilder, baseAppFactory);
+
+        try {
+            final CompilationUnit routeBuilder = integrationBuilder.getRouteBuilder().get();
+            final String packageName = routeBuilder.getPackageDeclaration().get().getNameAsString();
+            final Path location = TestConfiguration.appLocation().resolve(name);
+            final Path sourceFile = location.resolve("src").resolve(packageName.replace(".", "/")).resolve(integrationBuilder.getFileName());
+            IOUtils.writeFile(sourceFile, source);
+
+            LOG.info("Compiling integration {} for shared runtime", name);
+            final Path classes = location.resolve("classes");
+            runtime.compile(sourceFile, classes);
+            content = pack(classes, packageName + "." + AbstractIntegrationBuilder.ROUTE_BUILDER_NAME,
+                PropertiesUtils.toString(SharedRuntime.integrationProperties(integrationBuilder)));
+        } catch (RuntimeException e) {
+            runtime.release(name);
+            throw e;
+        }
+
+        endpoint = new Endpoint(() -> "http://localhost:" + integrationBuilder.getPort());
+    }
+
+    private static byte[] pack(Path classes, String routeBuilderClass, String properties) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes); Stream<Path> files = Files.walk(classes)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                zip.putNextEntry(new ZipEntry(classes.relativize(file).toString().replace("\\", "/")));
+                zip.write(Files.readAllBytes(file));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("route-builder"));
+            zip.write(routeBuilderClass.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("application.properties"));
+            zip.write(properties.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to package integration classes", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public void start() {
+        LOG.info("Loading integration {} into shared runtime", name);
+        startTime = Instant.now();
+        log = new FileSliceLog(runtime.getLogPath(), runtime.getLogPath().toFile().length(), getLogPath());
+        runtime.load(name, content);
+        loaded = true;
+    }
+
+    @Override
+    public void stop() {
+        if (loaded) {
+            LOG.info("Unloading integration {} from shared runtime", name);
+            runtime.unload(name);
+            loaded = false;
+        }
+        runtime.release(name);
+
+        if (log != null) {
+            log.save();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return loaded && runtime.isRunning() && runtime.isStarted(name);
+    }
+
+    @Override
+    public boolean isFailed() {
+        return !runtime.isRunning();
+    }
+
+    @Override
+    protected boolean isHealthCheckedByPlatform() {
+        // The route manager reports the integration as ready once all its routes are started
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package software.tnb.product.runtime;
+
+import software.tnb.common.config.Configuration;
+
+public class SharedRuntimeConfiguration extends Configuration {
+    public static final String SHARED_RUNTIME = "tnb.app.shared.runtime";
+
+    public static boolean enabled() {
+        return getBoolean(SHARED_RUNTIME, false);
+    }
+}
@@ -0,0 +1,107 @@
+package software.tnb.product.util.jparser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.utils.CodeGenerationUtils;
+import com.github.javaparser.utils.ParserCollectionStrategy;
+import com.github.javaparser.utils.SourceRoot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of the java sources used when creating the integrations.
+ * <p>
+ * Collecting the source roots walks the whole maven module, so it is done only once per module root. Parsed compilation units are cached
+ * by the file path and its last modification time. The callers modify the compilation units, so only copies of the cached instances
+ * are returned.
+ */
+public final class SourceCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SourceCache.class);
+    private static final Map<Path, List<SourceRoot>> SOURCE_ROOTS = new ConcurrentHashMap<>();
+    private static final Map<Path, ParsedFile> COMPILATION_UNITS = new ConcurrentHashMap<>();
+
+    private SourceCache() {
+    }
+
+    /**
+     * Returns the source roots (without the generated ones in target directory) of the maven module containing given class.
+     *
+     * @param clazz class
+     * @return list of source roots
+     */
+    public static List<SourceRoot> getSourceRoots(Class<?> clazz) {
+        return SOURCE_ROOTS.computeIfAbsent(CodeGenerationUtils.mavenModuleRoot(clazz).normalize(), root -> {
+            LOG.debug("Collecting source roots in {}", root);
+            return new ParserCollectionStrategy().collect(root).getSourceRoots().stream()
+                .filter(sr -> !sr.getRoot().toString().contains("target"))
+                .toList();
+        });
+    }
+
+    /**
+     * Parses the given file in the source root.
+     *
+     * @param sourceRoot source root
+     * @param packageName package of the class
+     * @param fileName file name
+     * @return copy of the compilation unit or empty optional if the file doesn't exist in the source root or can't be parsed
+     */
+    public static Optional<CompilationUnit> parse(SourceRoot sourceRoot, String packageName, String fileName) {
+        return parse(CodeGenerationUtils.fileInPackageAbsolutePath(sourceRoot.getRoot(), packageName, fileName),
+            sourceRoot.getParserConfiguration());
+    }
+
+    /**
+     * Parses the given file.
+     *
+     * @param path path to the file
+     * @param configuration parser configuration used when the file is not cached
+     * @return copy of the compilation unit or empty optional if the file doesn't exist or can't be parsed
+     */
+    public static Optional<CompilationUnit> parse(Path path, ParserConfiguration configuration) {
+        final Path file = path.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        final long lastModified = file.toFile().lastModified();
+        ParsedFile parsed = COMPILATION_UNITS.get(file);
+        if (parsed == null || parsed.lastModified() != lastModified) {
+            final ParseResult<CompilationUnit> result;
+            try {
+                result = new JavaParser(configuration).parse(file);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to parse file " + file, e);
+            }
+            if (!result.isSuccessful() || result.getResult().isEmpty()) {
+                LOG.debug("Unable to parse {}: {}", file, result.getProblems());
+                return Optional.empty();
+            }
+            parsed = new ParsedFile(lastModified, result.getResult().get());
+            COMPILATION_UNITS.put(file, parsed);
+        }
+        return Optional.of(parsed.compilationUnit().clone());
+    }
+
+    /**
+     * Clears all cached data.
+     */
+    public static void clear() {
+        SOURCE_ROOTS.clear();
+        COMPILATION_UNITS.clear();
+    }
+
+    private record ParsedFile(long lastModified, CompilationUnit compilationUnit) {
+    }
+}
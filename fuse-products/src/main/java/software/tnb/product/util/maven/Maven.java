@@ -58,7 +58,7 @@ public class Maven {
     protected Maven() {
     }
 
-    private static InvocationRequest newRequest() {
+    private static synchronized InvocationRequest newRequest() {
         if (invoker == null) {
             invoker = new DefaultInvoker();
         }
@@ -0,0 +1,291 @@
+package software.tnb.runtime;
+
+import org.apache.camel.Ordered;
+import org.apache.camel.Route;
+import org.apache.camel.RoutesBuilder;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spi.PropertiesSource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Route manager running inside the shared runtime application.
+ * <p>
+ * Exposes a small HTTP endpoint that loads compiled route builders into the running camel context and removes them afterwards:
+ * <ul>
+ *     <li>PUT /integrations/{name} - zip with the classes, application.properties and the route builder class name</li>
+ *     <li>GET /integrations/{name} - 200 if all routes of the integration are started, 404 if the integration is not loaded</li>
+ *     <li>DELETE /integrations/{name} - stops and removes all routes of the integration</li>
+ * </ul>
+ */
+public class TnbRouteManager extends RouteBuilder {
+    private static final String PATH = "/integrations/";
+    private static final Map<String, Properties> PROPERTIES = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> ROUTES = new ConcurrentHashMap<>();
+    // Integration whose routes are being created, its properties take precedence over the properties of other integrations
+    private static volatile String loading;
+    private static HttpServer server;
+
+    @Override
+    public void configure() throws Exception {
+        synchronized (TnbRouteManager.class) {
+            if (server != null) {
+                return;
+            }
+            getContext().getPropertiesComponent().addPropertiesSource(new IntegrationPropertiesSource());
+            final int port = Integer.parseInt(getContext().resolvePropertyPlaceholders("{{tnb.shared.runtime.port}}"));
+            server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+            server.createContext(PATH, this::handle);
+            server.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                final Thread thread = new Thread(r, "tnb-route-manager");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final String name = exchange.getRequestURI().getPath().substring(PATH.length());
+        try {
+            switch (exchange.getRequestMethod()) {
+                case "PUT":
+                    respond(exchange, 200, load(name, exchange.getRequestBody()).toString());
+                    break;
+                case "DELETE":
+                    unload(name);
+                    respond(exchange, 200, "");
+                    break;
+                case "GET":
+                    if (!ROUTES.containsKey(name)) {
+                        respond(exchange, 404, "");
+                    } else {
+                        respond(exchange, isStarted(name) ? 200 : 503, "");
+                    }
+                    break;
+                default:
+                    respond(exchange, 405, "");
+            }
+        } catch (Exception e) {
+            final StringWriter sw = new StringWriter();
+            e.printStackTrace(new PrintWriter(sw));
+            respond(exchange, 500, sw.toString());
+        }
+    }
+
+    private synchronized List<String> load(String name, InputStream body) throws Exception {
+        if (ROUTES.containsKey(name)) {
+            throw new IllegalStateException("Integration " + name + " is already loaded");
+        }
+
+        final Map<String, byte[]> classes = new HashMap<>();
+        final Properties properties = new Properties();
+        String routeBuilder = null;
+        try (ZipInputStream zip = new ZipInputStream(body)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                final byte[] content = zip.readAllBytes();
+                if ("route-builder".equals(entry.getName())) {
+                    routeBuilder = new String(content, StandardCharsets.UTF_8).trim();
+                } else if ("application.properties".equals(entry.getName())) {
+                    properties.load(new StringReader(new String(content, StandardCharsets.UTF_8)));
+                } else if (entry.getName().endsWith(".class")) {
+                    classes.put(entry.getName().substring(0, entry.getName().length() - ".class".length()).replace('/', '.'), content);
+                }
+            }
+        }
+
+        final ClassLoader classLoader = new IntegrationClassLoader(classes, TnbRouteManager.class.getClassLoader());
+        final Set<String> existing = routeIds();
+        PROPERTIES.put(name, properties);
+        loading = name;
+        try {
+            final RoutesBuilder builder = (RoutesBuilder) classLoader.loadClass(routeBuilder).getDeclaredConstructor().newInstance();
+            checkRouteIds(name, builder, existing);
+            getContext().addRoutes(builder);
+        } catch (Exception e) {
+            for (String id : routeIds()) {
+                if (!existing.contains(id)) {
+                    removeRoute(id);
+                }
+            }
+            PROPERTIES.remove(name);
+            throw e;
+        } finally {
+            loading = null;
+        }
+
+        final List<String> added = new ArrayList<>();
+        for (String id : routeIds()) {
+            if (!existing.contains(id)) {
+                added.add(id);
+            }
+        }
+        ROUTES.put(name, added);
+        log.info("Loaded integration {} with routes {}", name, added);
+        return added;
+    }
+
+    /**
+     * Adding a route with an existing id replaces the existing route, so the integration is rejected if it uses an id of a loaded route.
+     */
+    private void checkRouteIds(String name, RoutesBuilder builder, Set<String> existing) throws Exception {
+        if (!(builder instanceof RouteBuilder)) {
+            return;
+        }
+        for (RouteDefinition route : ((RouteBuilder) builder).configureRoutes(getContext()).getRoutes()) {
+            final String id = route.getRouteId();
+            if (id != null && existing.contains(id)) {
+                final String owner = ROUTES.entrySet().stream().filter(e -> e.getValue().contains(id)).map(Map.Entry::getKey).findFirst()
+                    .orElse("shared runtime");
+                throw new IllegalStateException("Route id " + id + " of integration " + name + " is already used by " + owner);
+            }
+        }
+    }
+
+    private synchronized void unload(String name) throws Exception {
+        final List<String> routes = ROUTES.remove(name);
+        if (routes != null) {
+            for (String id : routes) {
+                removeRoute(id);
+            }
+            log.info("Unloaded integration {}", name);
+        }
+        PROPERTIES.remove(name);
+    }
+
+    private boolean isStarted(String name) {
+        for (String id : ROUTES.get(name)) {
+            final ServiceStatus status = getContext().getRouteController().getRouteStatus(id);
+            if (status == null || !status.isStarted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeRoute(String id) throws Exception {
+        getContext().getRouteController().stopRoute(id);
+        getContext().removeRoute(id);
+    }
+
+    private Set<String> routeIds() {
+        final Set<String> ids = new HashSet<>();
+        for (Route route : getContext().getRoutes()) {
+            ids.add(route.getRouteId());
+        }
+        return ids;
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    /**
+     * Defines the classes of a single integration, everything else is loaded by the application classloader.
+     */
+    private static class IntegrationClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        IntegrationClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null && classes.containsKey(name)) {
+                    final byte[] bytes = classes.get(name);
+                    clazz = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (clazz == null) {
+                    return super.loadClass(name, resolve);
+                }
+                if (resolve) {
+                    resolveClass(clazz);
+                }
+                return clazz;
+            }
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            final String className = name.endsWith(".class") ? name.substring(0, name.length() - ".class".length()).replace('/', '.') : null;
+            if (className != null && classes.containsKey(className)) {
+                return new ByteArrayInputStream(classes.get(className));
+            }
+            return super.getResourceAsStream(name);
+        }
+    }
+
+    /**
+     * Resolves the properties of the loaded integrations.
+     * <p>
+     * While the routes of an integration are created, only its own properties are used. Afterwards a property is resolved only if all
+     * integrations defining it agree on its value, as it isn't known which integration the lookup belongs to.
+     */
+    private static class IntegrationPropertiesSource implements PropertiesSource, Ordered {
+        @Override
+        public String getName() {
+            return "tnb-shared-runtime";
+        }
+
+        @Override
+        public String getProperty(String name) {
+            final String current = loading;
+            if (current != null) {
+                final Properties properties = PROPERTIES.get(current);
+                return properties == null ? null : properties.getProperty(name);
+            }
+
+            final Map<String, String> values = new HashMap<>();
+            PROPERTIES.forEach((integration, properties) -> {
+                if (properties.getProperty(name) != null) {
+                    values.put(integration, properties.getProperty(name));
+                }
+            });
+            if (new HashSet<>(values.values()).size() > 1) {
+                throw new IllegalStateException("Property " + name + " has different values in integrations " + values);
+            }
+            return values.isEmpty() ? null : values.values().iterator().next();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST;
+        }
+    }
+}
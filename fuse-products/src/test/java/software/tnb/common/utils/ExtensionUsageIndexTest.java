@@ -0,0 +1,76 @@
+package software.tnb.common.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Tag("unit")
+public class ExtensionUsageIndexTest {
+    private static final Map<String, Optional<Boolean>> INDEXED = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> STILL_NEEDED = new ConcurrentHashMap<>();
+
+    @Test
+    public void shouldDetectRemainingUsagesTest() {
+        INDEXED.clear();
+        STILL_NEEDED.clear();
+        LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request()
+            .selectors(selectClass(FirstUsage.class), selectClass(NoUsage.class), selectClass(SecondUsage.class))
+            .build());
+
+        // The classes are found in the index (without the reflective fallback), whichever class runs first, the extension is still needed
+        // by the other one
+        assertThat(INDEXED).hasSize(2).containsValues(Optional.of(true), Optional.of(false));
+        assertThat(STILL_NEEDED).isEqualTo(Map.of("FirstUsage", INDEXED.get("FirstUsage").get(), "SecondUsage",
+            INDEXED.get("SecondUsage").get()));
+    }
+
+    @Test
+    public void shouldNotFindClassOutsideOfIndexedTestPlanTest() {
+        assertThat(ExtensionUsageIndex.isUsedByRemainingClasses("[engine:junit-jupiter]/[class:unknown.Test]", TrackingExtension.class))
+            .isEmpty();
+    }
+
+    public static class TrackingExtension implements AfterAllCallback {
+        @Override
+        public void afterAll(ExtensionContext context) {
+            final String name = context.getRequiredTestClass().getSimpleName();
+            INDEXED.put(name, ExtensionUsageIndex.isUsedByRemainingClasses(context.getUniqueId(), getClass()));
+            STILL_NEEDED.put(name, JUnitUtils.isExtensionStillNeeded(context, getClass()));
+        }
+    }
+
+    public static class FirstUsage {
+        @RegisterExtension
+        static TrackingExtension extension = new TrackingExtension();
+
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class NoUsage {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class SecondUsage {
+        @RegisterExtension
+        static TrackingExtension extension = new TrackingExtension();
+
+        @Test
+        public void test() {
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package software.tnb.product.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.common.product.ProductType;
+import software.tnb.product.application.App;
+import software.tnb.product.application.ReadinessMetrics;
+import software.tnb.product.log.Log;
+import software.tnb.product.parent.TestParent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("unit")
+public class ReadinessTest extends TestParent {
+    private HttpServer server;
+
+    @BeforeEach
+    public void setup() {
+        setProduct(ProductType.CAMEL_QUARKUS);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void shouldUseHealthEndpointTest() throws IOException {
+        final AtomicInteger requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/q/health/ready", exchange -> {
+            exchange.sendResponseHeaders(requests.incrementAndGet() < 3 ? 503 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        final ReadinessApp app = new ReadinessApp("http://localhost:" + server.getAddress().getPort() + "/q/health/ready");
+        app.waitUntilReady();
+
+        assertThat(requests.get()).isEqualTo(3);
+        assertThat(app.logChecked).isFalse();
+        assertThat(app.getTimeToReady()).isPresent();
+        assertThat(Files.readAllLines(ReadinessMetrics.getFile())).last().asString().contains(",readiness-test,health,");
+    }
+
+    @Test
+    public void shouldFallbackToLogTest() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.start();
+
+        // Health endpoint doesn't exist
+        final ReadinessApp app = new ReadinessApp("http://localhost:" + server.getAddress().getPort() + "/q/health/ready");
+        app.waitUntilReady();
+
+        assertThat(app.logChecked).isTrue();
+        assertThat(Files.readAllLines(ReadinessMetrics.getFile())).last().asString().contains(",readiness-test,log,");
+    }
+
+    private static class ReadinessApp extends App {
+        private final String healthUrl;
+        private boolean logChecked;
+
+        ReadinessApp(String healthUrl) {
+            super("readiness-test");
+            this.healthUrl = healthUrl;
+            this.startTime = Instant.now();
+            this.log = new Log() {
+                @Override
+                public String toString() {
+                    logChecked = true;
+                    return "Apache Camel 3.18.3 (camel-1) started in 1s";
+                }
+
+                @Override
+                public void save() {
+                }
+            };
+        }
+
+        @Override
+        protected Optional<String> getHealthUrl() {
+            return Optional.of(healthUrl);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+    }
+}
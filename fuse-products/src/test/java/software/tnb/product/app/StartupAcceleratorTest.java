@@ -0,0 +1,127 @@
+package software.tnb.product.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.product.application.StartupAccelerator;
+import software.tnb.product.parent.TestParent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@Tag("unit")
+public class StartupAcceleratorTest extends TestParent {
+    @TempDir
+    private Path target;
+
+    @TempDir
+    private Path cache;
+
+    @BeforeEach
+    public void setCacheDir() {
+        System.setProperty(TestConfiguration.APP_STARTUP_CACHE_DIR, cache.toString());
+    }
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(TestConfiguration.APP_STARTUP_CDS);
+        System.clearProperty(TestConfiguration.APP_STARTUP_CACHE_DIR);
+    }
+
+    @Test
+    public void shouldNotChangeCommandByDefaultTest() throws IOException {
+        final StartupAccelerator accelerator = new StartupAccelerator(name(), jar());
+        assertThat(accelerator.command(command())).isEqualTo(command());
+        assertThat(accelerator.getMode()).isEqualTo(StartupAccelerator.Mode.COLD);
+    }
+
+    @Test
+    public void shouldTrainAndUseCdsArchiveTest() throws IOException {
+        System.setProperty(TestConfiguration.APP_STARTUP_CDS, "true");
+        final Path jar = jar();
+        final StartupAccelerator accelerator = new StartupAccelerator(name(), jar);
+        final Path archive = archive(jar);
+
+        assertThat(accelerator.command(command())).containsExactly("java", "-Dkey=value", "-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath(),
+            "-jar", "app.jar");
+        assertThat(accelerator.getMode()).isEqualTo(StartupAccelerator.Mode.CDS_TRAINING);
+
+        // Simulate the archive dumped on exit of the training run
+        Files.writeString(archive, "archive");
+        assertThat(accelerator.command(command())).containsExactly("java", "-Dkey=value", "-XX:SharedArchiveFile=" + archive.toAbsolutePath(),
+            "-jar", "app.jar");
+        assertThat(accelerator.getMode()).isEqualTo(StartupAccelerator.Mode.CDS);
+    }
+
+    @Test
+    public void shouldKeepArchiveWhenArtifactIsRebuiltTest() throws IOException {
+        System.setProperty(TestConfiguration.APP_STARTUP_CDS, "true");
+        final Path jar = jar();
+        new StartupAccelerator(name(), jar).command(command());
+        Files.writeString(archive(jar), "archive");
+
+        // Rebuild with the same content
+        Files.delete(jar);
+        final StartupAccelerator accelerator = new StartupAccelerator(name(), jar());
+        accelerator.command(command());
+        assertThat(accelerator.getMode()).isEqualTo(StartupAccelerator.Mode.CDS);
+    }
+
+    @Test
+    public void shouldRetrainWhenArtifactChangesTest() throws IOException {
+        System.setProperty(TestConfiguration.APP_STARTUP_CDS, "true");
+        final Path jar = jar();
+        final StartupAccelerator accelerator = new StartupAccelerator(name(), jar);
+        accelerator.command(command());
+        Files.writeString(archive(jar), "archive");
+        Files.writeString(jar, "changed jar");
+
+        assertThat(accelerator.command(command())).contains("-XX:ArchiveClassesAtExit=" + archive(jar).toAbsolutePath());
+        assertThat(accelerator.getMode()).isEqualTo(StartupAccelerator.Mode.CDS_TRAINING);
+    }
+
+    @Test
+    public void shouldHashDirectoryContentTest() throws IOException {
+        final Path app = Files.createDirectories(target.resolve("quarkus-app"));
+        Files.createDirectories(app.resolve("lib"));
+        Files.writeString(app.resolve("quarkus-run.jar"), "jar");
+        Files.writeString(app.resolve("lib").resolve("lib.jar"), "lib");
+        final String hash = StartupAccelerator.hash(app);
+
+        assertThat(StartupAccelerator.hash(app)).isEqualTo(hash);
+        Files.writeString(app.resolve("lib").resolve("lib.jar"), "changed lib");
+        assertThat(StartupAccelerator.hash(app)).isNotEqualTo(hash);
+        Files.writeString(app.resolve("lib").resolve("lib.jar"), "lib");
+        Files.move(app.resolve("lib").resolve("lib.jar"), app.resolve("lib").resolve("other.jar"));
+        assertThat(StartupAccelerator.hash(app)).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void shouldMeasureStartupTimeTest() throws IOException {
+        final StartupAccelerator accelerator = new StartupAccelerator(name(), jar());
+        assertThat(accelerator.getStartupTime()).isEmpty();
+        accelerator.command(command());
+        accelerator.ready(null, target.resolve("log"));
+        assertThat(accelerator.getStartupTime()).isPresent();
+    }
+
+    private Path archive(Path jar) {
+        return cache.resolve(name() + "-" + StartupAccelerator.hash(jar)).resolve(name() + ".jsa");
+    }
+
+    private Path jar() throws IOException {
+        return Files.writeString(target.resolve("app.jar"), "jar");
+    }
+
+    private static List<String> command() {
+        return List.of("java", "-Dkey=value", "-jar", "app.jar");
+    }
+}
@@ -0,0 +1,166 @@
+package software.tnb.product.git;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.product.parent.TestParent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Tag("unit")
+public class GitRepositoryTest extends TestParent {
+    @TempDir
+    private Path temp;
+
+    private Path origin;
+    private Git originGit;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        System.setProperty(TestConfiguration.APP_LOCATION, temp.resolve("app").toString());
+        System.setProperty(GitConfiguration.CACHE_DIR, temp.resolve("cache").toString());
+
+        origin = temp.resolve("origin");
+        originGit = Git.init().setDirectory(origin.toFile()).setInitialBranch("main").call();
+        commit("README.md", "main");
+        originGit.branchCreate().setName("feature").call();
+        originGit.checkout().setName("feature").call();
+        commit("README.md", "feature");
+        originGit.checkout().setName("main").call();
+    }
+
+    @AfterEach
+    public void clearProperties() {
+        originGit.close();
+        System.clearProperty(TestConfiguration.APP_LOCATION);
+        System.clearProperty(GitConfiguration.CACHE_DIR);
+        System.clearProperty(GitConfiguration.CACHE_ENABLED);
+        System.clearProperty(GitConfiguration.CHECKOUT_PER_BRANCH);
+    }
+
+    @Test
+    public void shouldCheckoutFromMirrorTest() throws Exception {
+        final GitRepository repository = new GitRepository(url(), "main");
+
+        assertThat(repository.getPath()).isEqualTo(temp.resolve("app").resolve("origin"));
+        assertThat(repository.getPath().resolve("README.md")).content().isEqualTo("main");
+        assertThat(temp.resolve("cache")).isDirectoryContaining(path -> path.getFileName().toString().startsWith("origin-"));
+        // The objects are borrowed from the mirror
+        assertThat(repository.getPath().resolve(".git/objects/info/alternates")).content().contains(temp.resolve("cache").toString());
+        try (Git git = Git.open(repository.getPath().toFile())) {
+            assertThat(git.getRepository().getFullBranch()).isEqualTo(Constants.R_HEADS + "main");
+        }
+    }
+
+    @Test
+    public void shouldUpdateStaleCheckoutTest() throws Exception {
+        final GitRepository repository = new GitRepository(url(), "main");
+        Files.writeString(repository.getPath().resolve("build.log"), "untracked");
+
+        commit("README.md", "updated");
+        new GitRepository(url(), "main");
+
+        assertThat(repository.getPath().resolve("README.md")).content().isEqualTo("updated");
+        assertThat(repository.getPath().resolve("build.log")).exists();
+    }
+
+    @Test
+    public void shouldCheckoutEachBranchSeparatelyTest() {
+        System.setProperty(GitConfiguration.CHECKOUT_PER_BRANCH, "true");
+
+        final GitRepository main = new GitRepository(url(), "main");
+        final GitRepository feature = new GitRepository(url(), "feature");
+
+        assertThat(main.getPath()).isNotEqualTo(feature.getPath());
+        assertThat(main.getPath().resolve("README.md")).content().isEqualTo("main");
+        assertThat(feature.getPath().resolve("README.md")).content().isEqualTo("feature");
+    }
+
+    @Test
+    public void shouldWaitForLockedWorkingTreeTest() throws Exception {
+        final GitRepository main = new GitRepository(url(), "main", true);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<GitRepository> feature = executor.submit(() -> new GitRepository(url(), "feature"));
+
+            // The other branch is not checked out into the same folder while the working tree is in use
+            assertThatThrownBy(() -> feature.get(1, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+            assertThat(main.getPath().resolve("README.md")).content().isEqualTo("main");
+
+            main.unlockWorkingTree();
+            assertThat(feature.get(30, TimeUnit.SECONDS).getPath().resolve("README.md")).content().isEqualTo("feature");
+        } finally {
+            main.unlockWorkingTree();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldUnlockWorkingTreeWhenCheckoutFailsTest() throws Exception {
+        assertThatThrownBy(() -> new GitRepository(url(), "missing")).isInstanceOf(IllegalStateException.class);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(() -> new GitRepository(url(), "main")).get(30, TimeUnit.SECONDS).getPath().resolve("README.md"))
+                .content().isEqualTo("main");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldCheckoutCommitTest() throws Exception {
+        final String commit = originGit.getRepository().resolve("feature").name();
+        commit("README.md", "newer");
+
+        final GitRepository repository = new GitRepository(url(), commit);
+
+        assertThat(repository.getPath().resolve("README.md")).content().isEqualTo("feature");
+        try (Git git = Git.open(repository.getPath().toFile())) {
+            assertThat(git.getRepository().getFullBranch()).isEqualTo(commit);
+        }
+    }
+
+    @Test
+    public void shouldCloneShallowWithoutCacheTest() {
+        System.setProperty(GitConfiguration.CACHE_ENABLED, "false");
+        commit("README.md", "second");
+
+        final GitRepository repository = new GitRepository(url(), "main");
+
+        assertThat(repository.getPath().resolve("README.md")).content().isEqualTo("second");
+        assertThat(repository.getPath().resolve(".git/shallow")).exists();
+        assertThat(temp.resolve("cache")).doesNotExist();
+    }
+
+    private String url() {
+        return "file://" + origin.toAbsolutePath();
+    }
+
+    private RevCommit commit(String file, String content) {
+        try {
+            Files.writeString(origin.resolve(file), content);
+            originGit.add().addFilepattern(file).call();
+            return originGit.commit().setMessage(content).setSign(false).call();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
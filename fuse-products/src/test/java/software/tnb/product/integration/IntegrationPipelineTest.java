@@ -0,0 +1,132 @@
+package software.tnb.product.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.product.application.App;
+import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+import software.tnb.product.integration.builder.IntegrationBuilder;
+import software.tnb.product.parent.TestParent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Tag("unit")
+public class IntegrationPipelineTest extends TestParent {
+    private final Map<String, App> integrations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(TestConfiguration.APP_BUILD_CONCURRENCY);
+        integrations.clear();
+    }
+
+    @Test
+    public void shouldBuildIntegrationsInParallelTest() {
+        System.setProperty(TestConfiguration.APP_BUILD_CONCURRENCY, "2");
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final Map<String, App> apps = pipeline(ib -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep();
+            running.decrementAndGet();
+            return new DummyApp(ib.getIntegrationName());
+        }).run(builders("first", "second", "third", "fourth"));
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(apps.keySet()).containsExactly("first", "second", "third", "fourth");
+        assertThat(apps.values()).allMatch(app -> ((DummyApp) app).startCalled && ((DummyApp) app).ready);
+        assertThat(integrations).hasSize(4);
+    }
+
+    @Test
+    public void shouldAttributeFailureToIntegrationTest() {
+        assertThatThrownBy(() -> pipeline(ib -> {
+            if ("broken".equals(ib.getIntegrationName())) {
+                throw new RuntimeException("Maven invocation failed");
+            }
+            return new DummyApp(ib.getIntegrationName());
+        }).run(builders("first", "broken", "second")))
+            .hasMessage("Integration broken failed in create phase")
+            .hasRootCauseMessage("Maven invocation failed");
+
+        // Successfully created integrations are registered so that they are cleaned up
+        assertThat(integrations).containsOnlyKeys("first", "second");
+    }
+
+    @Test
+    public void shouldRejectDuplicateNamesTest() {
+        assertThatThrownBy(() -> pipeline(ib -> new DummyApp(ib.getIntegrationName())).run(builders("first", "first")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(integrations).isEmpty();
+    }
+
+    @Test
+    public void shouldComputeConcurrencyTest() {
+        assertThat(IntegrationPipeline.concurrency(1)).isEqualTo(1);
+        assertThat(IntegrationPipeline.concurrency(100)).isBetween(1, Runtime.getRuntime().availableProcessors());
+
+        System.setProperty(TestConfiguration.APP_BUILD_CONCURRENCY, "3");
+        assertThat(IntegrationPipeline.concurrency(100)).isEqualTo(3);
+    }
+
+    private IntegrationPipeline pipeline(Function<AbstractIntegrationBuilder<?>, App> appFactory) {
+        return new IntegrationPipeline(appFactory, integrations, task -> task);
+    }
+
+    private List<AbstractIntegrationBuilder<?>> builders(String... names) {
+        return Arrays.stream(names).<AbstractIntegrationBuilder<?>>map(IntegrationBuilder::new).toList();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class DummyApp extends App {
+        private boolean startCalled;
+        private boolean ready;
+
+        DummyApp(String name) {
+            super(name);
+        }
+
+        @Override
+        public void start() {
+            startCalled = true;
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public boolean isReady() {
+            return startCalled;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+
+        @Override
+        public void waitUntilReady() {
+            ready = isReady();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package software.tnb.product.jparser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.product.parent.TestParent;
+import software.tnb.product.routebuilder.DummyRouteBuilder;
+import software.tnb.product.util.jparser.SourceCache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.utils.SourceRoot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@Tag("unit")
+public class SourceCacheTest extends TestParent {
+    @AfterEach
+    public void clearCache() {
+        SourceCache.clear();
+    }
+
+    @Test
+    public void shouldReuseSourceRootsTest() {
+        final List<SourceRoot> sourceRoots = SourceCache.getSourceRoots(DummyRouteBuilder.class);
+        assertThat(sourceRoots).isNotEmpty().noneMatch(sr -> sr.getRoot().toString().contains("target"));
+        assertThat(SourceCache.getSourceRoots(DummyRouteBuilder.class)).isSameAs(sourceRoots);
+    }
+
+    @Test
+    public void shouldReturnCopiesOfCompilationUnitTest() {
+        final SourceRoot sourceRoot = SourceCache.getSourceRoots(DummyRouteBuilder.class).stream()
+            .filter(sr -> sr.getRoot().toString().contains("test")).findFirst().get();
+        final CompilationUnit first = SourceCache.parse(sourceRoot, DummyRouteBuilder.class.getPackageName(), "DummyRouteBuilder.java").get();
+        first.setPackageDeclaration("com.modified");
+
+        final CompilationUnit second = SourceCache.parse(sourceRoot, DummyRouteBuilder.class.getPackageName(), "DummyRouteBuilder.java").get();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPackageDeclaration().get().getNameAsString()).isEqualTo(DummyRouteBuilder.class.getPackageName());
+    }
+
+    @Test
+    public void shouldReparseModifiedFileTest(@TempDir Path dir) throws IOException {
+        final Path file = dir.resolve("Test.java");
+        Files.writeString(file, "public class Test {}");
+        assertThat(SourceCache.parse(file, new ParserConfiguration()).get().getClassByName("Test")).isPresent();
+
+        Files.writeString(file, "public class Other {}");
+        assertThat(file.toFile().setLastModified(file.toFile().lastModified() + 1000L)).isTrue();
+        assertThat(SourceCache.parse(file, new ParserConfiguration()).get().getClassByName("Other")).isPresent();
+    }
+
+    @Test
+    public void shouldReturnEmptyForMissingFileTest(@TempDir Path dir) {
+        assertThat(SourceCache.parse(dir.resolve("Missing.java"), new ParserConfiguration())).isEmpty();
+    }
+}
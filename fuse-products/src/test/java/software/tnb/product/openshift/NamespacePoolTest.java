@@ -0,0 +1,175 @@
+package software.tnb.product.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.common.config.OpenshiftConfiguration;
+import software.tnb.common.config.TestConfiguration;
+import software.tnb.common.openshift.NamespacePool;
+import software.tnb.common.openshift.OpenshiftClient;
+import software.tnb.util.openshift.TestOpenshiftClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.awaitility.Awaitility;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import io.fabric8.kubernetes.api.model.APIGroupBuilder;
+import io.fabric8.kubernetes.api.model.APIGroupListBuilder;
+import io.fabric8.kubernetes.api.model.APIResource;
+import io.fabric8.kubernetes.api.model.APIResourceBuilder;
+import io.fabric8.kubernetes.api.model.APIResourceListBuilder;
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.ServiceAccountBuilder;
+import io.fabric8.kubernetes.client.server.mock.KubernetesCrudDispatcher;
+import io.fabric8.kubernetes.client.server.mock.KubernetesMockServer;
+import io.fabric8.kubernetes.client.utils.Serialization;
+import io.fabric8.mockwebserver.Context;
+import io.fabric8.openshift.api.model.operatorhub.v1.OperatorGroupBuilder;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@Tag("unit")
+public class NamespacePoolTest extends OpenshiftTestParent {
+    private static KubernetesMockServer discoveryServer;
+
+    @BeforeAll
+    public static void startDiscoveryServer() {
+        discoveryServer = new KubernetesMockServer(new Context(), new MockWebServer(), new HashMap<>(), new DiscoveryDispatcher(), false);
+        discoveryServer.init();
+    }
+
+    @AfterAll
+    public static void stopDiscoveryServer() {
+        discoveryServer.destroy();
+    }
+
+    @BeforeEach
+    public void setProperties() {
+        TestOpenshiftClient.setServer(discoveryServer);
+        System.setProperty(OpenshiftConfiguration.OPENSHIFT_URL, discoveryServer.url("/"));
+        System.setProperty(TestConfiguration.PARALLEL, "true");
+        System.setProperty(OpenshiftConfiguration.OPENSHIFT_NAMESPACE_POOL_SIZE, "2");
+    }
+
+    @AfterEach
+    public void clearProperties() {
+        NamespacePool.shutdown();
+        List.of(OpenshiftConfiguration.OPENSHIFT_URL, TestConfiguration.PARALLEL, OpenshiftConfiguration.OPENSHIFT_NAMESPACE_POOL_SIZE)
+            .forEach(System::clearProperty);
+    }
+
+    @Test
+    public void shouldBeDisabledByDefaultTest() {
+        System.clearProperty(OpenshiftConfiguration.OPENSHIFT_NAMESPACE_POOL_SIZE);
+        assertThat(NamespacePool.enabled()).isFalse();
+    }
+
+    @Test
+    public void shouldPreCreateNamespacesTest() {
+        assertThat(NamespacePool.enabled()).isTrue();
+        NamespacePool.get();
+
+        Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            assertThat(OpenshiftClient.get().namespaces().withLabel(NamespacePool.POOL_LABEL).list().getItems()).hasSize(2));
+    }
+
+    @Test
+    public void shouldLeaseNamespaceTest() {
+        final String namespace = NamespacePool.get().lease();
+
+        final Namespace ns = OpenshiftClient.get().namespaces().withName(namespace).get();
+        assertThat(ns).isNotNull();
+        assertThat(ns.getMetadata().getLabels()).containsKey(NamespacePool.POOL_LABEL);
+        // The operator group is created by the subscription with the scope the operator needs
+        assertThat(OpenshiftClient.get().operatorHub().operatorGroups().inNamespace(namespace).list().getItems()).isEmpty();
+    }
+
+    @Test
+    public void shouldNotReleaseUnknownNamespaceTest() {
+        NamespacePool.get();
+        assertThat(NamespacePool.release("unknown")).isFalse();
+    }
+
+    @Test
+    public void shouldRecycleReleasedNamespaceTest() {
+        final NamespacePool pool = NamespacePool.get();
+        final String namespace = pool.lease();
+        OpenshiftClient.get().configMaps().inNamespace(namespace)
+            .resource(new ConfigMapBuilder().withNewMetadata().withName("test-cm").endMetadata().build()).create();
+        OpenshiftClient.get().configMaps().inNamespace(namespace)
+            .resource(new ConfigMapBuilder().withNewMetadata().withName("kube-root-ca.crt").endMetadata().build()).create();
+        OpenshiftClient.get().serviceAccounts().inNamespace(namespace)
+            .resource(new ServiceAccountBuilder().withNewMetadata().withName("test-sa").endMetadata().build()).create();
+        OpenshiftClient.get().serviceAccounts().inNamespace(namespace)
+            .resource(new ServiceAccountBuilder().withNewMetadata().withName("default").endMetadata().build()).create();
+        OpenshiftClient.get().operatorHub().operatorGroups().inNamespace(namespace)
+            .resource(new OperatorGroupBuilder().withNewMetadata().withName("test-og").endMetadata().build()).create();
+
+        assertThat(NamespacePool.release(namespace)).isTrue();
+        assertThat(NamespacePool.release(namespace)).isFalse();
+
+        Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(OpenshiftClient.get().configMaps().inNamespace(namespace).withName("test-cm").get()).isNull();
+            assertThat(OpenshiftClient.get().serviceAccounts().inNamespace(namespace).withName("test-sa").get()).isNull();
+            // Custom resources are found by the discovery
+            assertThat(OpenshiftClient.get().operatorHub().operatorGroups().inNamespace(namespace).list().getItems()).isEmpty();
+        });
+        assertThat(OpenshiftClient.get().configMaps().inNamespace(namespace).withName("kube-root-ca.crt").get()).isNotNull();
+        assertThat(OpenshiftClient.get().serviceAccounts().inNamespace(namespace).withName("default").get()).isNotNull();
+
+        // The pool has 2 pre-created namespaces and the recycled one
+        Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+            assertThat(List.of(pool.lease(), pool.lease(), pool.lease())).contains(namespace));
+    }
+
+    /**
+     * Crud dispatcher that also answers the API discovery requests.
+     */
+    private static class DiscoveryDispatcher extends KubernetesCrudDispatcher {
+        DiscoveryDispatcher() {
+            super(Collections.emptyList());
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            final String path = request.getPath().split("\\?")[0];
+            if ("GET".equals(request.getMethod())) {
+                switch (path) {
+                    case "/api/v1":
+                        return discovery(new APIResourceListBuilder().withGroupVersion("v1").withResources(
+                            resource("configmaps", "ConfigMap", true), resource("serviceaccounts", "ServiceAccount", true),
+                            resource("pods", "Pod", true), resource("pods/log", "Pod", true), resource("namespaces", "Namespace", false)).build());
+                    case "/apis":
+                        return discovery(new APIGroupListBuilder().withGroups(new APIGroupBuilder().withName("operators.coreos.com")
+                            .withNewPreferredVersion().withGroupVersion("operators.coreos.com/v1").withVersion("v1").endPreferredVersion()
+                            .build()).build());
+                    case "/apis/operators.coreos.com/v1":
+                        return discovery(new APIResourceListBuilder().withGroupVersion("operators.coreos.com/v1").withResources(
+                            resource("operatorgroups", "OperatorGroup", true)).build());
+                    default:
+                }
+            }
+            return super.dispatch(request);
+        }
+
+        private static APIResource resource(String name, String kind, boolean namespaced) {
+            return new APIResourceBuilder().withName(name).withKind(kind).withNamespaced(namespaced)
+                .withVerbs(name.contains("/") ? List.of("get") : List.of("create", "delete", "get", "list")).build();
+        }
+
+        private static MockResponse discovery(Object body) {
+            return new MockResponse().setResponseCode(200).setBody(Serialization.asJson(body));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package software.tnb.product.openshift;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.common.openshift.OpenshiftClient;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
+import io.fabric8.kubernetes.client.okhttp.OkHttpClientImpl;
+
+@Tag("unit")
+public class OpenshiftClientTest extends OpenshiftTestParent {
+    @Test
+    public void shouldReturnSameClientTest() {
+        assertThat((Object) OpenshiftClient.get()).isSameAs(OpenshiftClient.get());
+    }
+
+    @Test
+    public void shouldNotCreateClientForSameNamespaceTest() {
+        final OpenshiftClient client = OpenshiftClient.get();
+        assertThat((Object) client.inNamespace("test", c -> c)).isSameAs(client);
+    }
+
+    @Test
+    public void shouldCacheNamespacedClientTest() {
+        final OpenshiftClient client = OpenshiftClient.get();
+        final OpenshiftClient namespaced = client.inNamespace("other", c -> c);
+
+        assertThat(namespaced.getNamespace()).isEqualTo("other");
+        assertThat((Object) client.inNamespace("other", c -> c)).isSameAs(namespaced);
+        assertThat(((OkHttpClientImpl) namespaced.getHttpClient()).getOkHttpClient().connectionPool())
+            .isSameAs(((OkHttpClientImpl) client.getHttpClient()).getOkHttpClient().connectionPool());
+    }
+
+    @Test
+    public void shouldUseNamespacedClientInFunctionTest() {
+        final OpenshiftClient client = OpenshiftClient.get();
+        client.inNamespace("other", c -> {
+            assertThat((Object) OpenshiftClient.get()).isSameAs(c);
+            return c.configMaps().resource(new ConfigMapBuilder().withNewMetadata().withName("cm").endMetadata().build()).create();
+        });
+
+        assertThat((Object) OpenshiftClient.get()).isSameAs(client);
+        assertThat(client.configMaps().inNamespace("other").withName("cm").get()).isNotNull();
+        assertThat(client.configMaps().withName("cm").get()).isNull();
+    }
+}
@@ -0,0 +1,152 @@
+package software.tnb.product.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.common.product.ProductType;
+import software.tnb.product.application.App;
+import software.tnb.product.integration.Resource;
+import software.tnb.product.integration.builder.AbstractIntegrationBuilder;
+import software.tnb.product.integration.builder.IntegrationBuilder;
+import software.tnb.product.parent.TestParent;
+import software.tnb.product.routebuilder.DummyRouteBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag("unit")
+public class SharedRuntimeTest extends TestParent {
+    @BeforeEach
+    public void setup() {
+        setProduct(ProductType.CAMEL_QUARKUS);
+        System.setProperty(SharedRuntimeConfiguration.SHARED_RUNTIME, "true");
+    }
+
+    private final List<FakeApp> apps = new ArrayList<>();
+    private final List<SharedRuntime> runtimes = new ArrayList<>();
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(SharedRuntimeConfiguration.SHARED_RUNTIME);
+        runtimes.forEach(SharedRuntime::stop);
+    }
+
+    @Test
+    public void shouldShareKeyForSameConfigurationTest() {
+        final IntegrationBuilder first = dummyIb().dependencies("timer", "log").addToApplicationProperties("quarkus.log.level", "INFO")
+            .addToApplicationProperties("my.topic", "first");
+        final IntegrationBuilder second = dummyIb().dependencies("log", "timer").addToApplicationProperties("quarkus.log.level", "INFO")
+            .addToApplicationProperties("my.topic", "second");
+
+        assertThat(SharedRuntime.key(first)).isEqualTo(SharedRuntime.key(second));
+    }
+
+    @Test
+    public void shouldUseDifferentKeyForDifferentConfigurationTest() {
+        final String key = SharedRuntime.key(dummyIb().dependencies("timer"));
+
+        assertThat(SharedRuntime.key(dummyIb().dependencies("timer", "log"))).isNotEqualTo(key);
+        assertThat(SharedRuntime.key(dummyIb().dependencies("timer").addToApplicationProperties("camel.main.name", "x"))).isNotEqualTo(key);
+        assertThat(SharedRuntime.key(dummyIb().dependencies("timer").port(8081))).isNotEqualTo(key);
+    }
+
+    @Test
+    public void shouldSplitPropertiesTest() {
+        final IntegrationBuilder ib = dummyIb().addToApplicationProperties("quarkus.log.level", "INFO")
+            .addToApplicationProperties("camel.component.kafka.brokers", "localhost:9092")
+            .addToApplicationProperties("my.topic", "topic");
+
+        assertThat(SharedRuntime.integrationProperties(ib)).containsOnlyKeys("my.topic");
+    }
+
+    @Test
+    public void shouldBeApplicableTest() {
+        assertThat(SharedRuntime.isApplicable(dummyIb())).isTrue();
+
+        System.setProperty(SharedRuntimeConfiguration.SHARED_RUNTIME, "false");
+        assertThat(SharedRuntime.isApplicable(dummyIb())).isFalse();
+    }
+
+    @Test
+    public void shouldNotBeApplicableWhenApplicationProjectChangesTest() {
+        assertThat(SharedRuntime.isApplicable(new IntegrationBuilder(name()))).isFalse();
+        assertThat(SharedRuntime.isApplicable(dummyIb().addResource(new Resource("file.txt", "content")))).isFalse();
+        assertThat(SharedRuntime.isApplicable(dummyIb().addToSystemProperties("key", "value"))).isFalse();
+        assertThat(SharedRuntime.isApplicable(dummyIb().addVmArgument("Xmx1g"))).isFalse();
+    }
+
+    @Test
+    public void shouldNotBeApplicableForOtherProductsTest() {
+        setProduct(ProductType.CAMEL_K);
+        assertThat(SharedRuntime.isApplicable(dummyIb())).isFalse();
+    }
+
+    @Test
+    public void shouldNotStopReservedRuntimeTest() {
+        final SharedRuntime first = get("first", "timer", 8081);
+        // the first integration is not loaded yet, but its runtime must not be stopped as idle
+        final SharedRuntime second = get("second", "log", 8082);
+        assertThat(apps).hasSize(2);
+        assertThat(apps.get(0).stopped).isFalse();
+
+        assertThat(get("third", "timer", 8081)).isSameAs(first);
+        first.release("first");
+        get("fourth", "kafka", 8083);
+        assertThat(apps.get(0).stopped).as("Runtime is still reserved by the third integration").isFalse();
+
+        first.release("third");
+        get("fifth", "direct", 8084);
+        assertThat(apps.get(0).stopped).isTrue();
+        assertThat(apps.get(1).stopped).isFalse();
+        assertThat(get("sixth", "log", 8082)).isSameAs(second);
+    }
+
+    private SharedRuntime get(String name, String dependency, int port) {
+        final SharedRuntime runtime = SharedRuntime.get(new IntegrationBuilder(name).fromRouteBuilder(new DummyRouteBuilder())
+            .dependencies(dependency).port(port), this::fakeApp);
+        runtimes.add(runtime);
+        return runtime;
+    }
+
+    private App fakeApp(AbstractIntegrationBuilder<?> integrationBuilder) {
+        final FakeApp app = new FakeApp(integrationBuilder);
+        apps.add(app);
+        return app;
+    }
+
+    private static class FakeApp extends App {
+        private boolean stopped = false;
+
+        FakeApp(AbstractIntegrationBuilder<?> integrationBuilder) {
+            super(integrationBuilder);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+            stopped = true;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public boolean isFailed() {
+            return false;
+        }
+
+        @Override
+        protected boolean isHealthCheckedByPlatform() {
+            return true;
+        }
+    }
+}
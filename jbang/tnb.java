@@ -78,10 +78,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -99,7 +102,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -116,7 +125,7 @@ import io.fabric8.openshift.client.OpenShiftConfig;
 public class tnb {
     //CHECKSTYLE:ON
 
-    static final List<Service<?, ?, ?>> deployedServices = new ArrayList<>();
+    static final List<Service<?, ?, ?>> deployedServices = Collections.synchronizedList(new ArrayList<>());
 
     static boolean ocpSetup = false;
 
@@ -276,7 +285,8 @@ public class tnb {
             }
         }
 
-        private <T extends Account> T readCredentialsFromTerminal(Class<T> accountClass) {
+        // Services are deployed in parallel, so make sure only one of them asks for the credentials at a time
+        private synchronized <T extends Account> T readCredentialsFromTerminal(Class<T> accountClass) {
             terminal.writer().println("Missing account credentials for " + accountClass.getSimpleName());
             T account = ReflectionUtils.newInstance(accountClass);
             Class<?> parentClass = accountClass.getSuperclass();
@@ -736,21 +746,19 @@ public class tnb {
                 if (useOCP) {
                     setupOCP(terminal().writer());
                 }
-                for (String svc : argv) {
-                    var service = TNBUtils.deployService(svc, useOCP);
-                    if (service != null) {
-                        var svcName = service.getClass().getSimpleName().toLowerCase();
-                        groovyEngine.put(svcName, service);
-                        new AttributedStringBuilder().append("Service " + svcName + " ready! You can use `")
-                            .styled(AttributedStyle.BOLD, svcName)
-                            .append("`  to call its methods.")
-                            .println(terminal);
-                        if (!(service.account() instanceof NoAccount)) {
-                            consoleEngine.println("Associated account with service " + svc);
-                            consoleEngine.println(DumpHelper.dumpObject(service.account()));
-                        }
+                final List<String> svcs = argv.stream().filter(arg -> !"openshift".equals(arg) && !"local".equals(arg)).collect(Collectors.toList());
+                TNBUtils.deployServices(svcs, useOCP, service -> {
+                    var svcName = service.getClass().getSimpleName().toLowerCase();
+                    groovyEngine.put(svcName, service);
+                    new AttributedStringBuilder().append("Service " + svcName + " ready! You can use `")
+                        .styled(AttributedStyle.BOLD, svcName)
+                        .append("`  to call its methods.")
+                        .println(terminal);
+                    if (!(service.account() instanceof NoAccount)) {
+                        consoleEngine.println("Associated account with service " + svcName);
+                        consoleEngine.println(DumpHelper.dumpObject(service.account()));
                     }
-                }
+                });
             } catch (Exception e) {
                 saveException(e);
             }
@@ -802,13 +810,84 @@ public class tnb {
 
     public static class TNBUtils {
 
+        private static final Path SERVICE_INDEX = Path.of(System.getProperty("user.home"), ".tnb", "service-index.properties");
         private static final Set<Class<? extends Service<?, ?, ?>>> registeredServices = TNBUtils.initSvcClasses();
         private static Set<String> serviceClassnames;
 
         public static Service<?, ?, ?> deployService(String svc, Boolean useOCP) throws Exception {
-            String previousUseOCP = System.getProperty(OpenshiftConfiguration.USE_OPENSHIFT, "false");
+            final List<Service<?, ?, ?>> deployed = new ArrayList<>();
+            deployServices(List.of(svc), useOCP, deployed::add);
+            return deployed.get(0);
+        }
 
+        /**
+         * Deploys the services in parallel, so the deployment takes as long as the slowest service.
+         *
+         * @param svcs service names
+         * @param useOCP deploy on openshift
+         * @param onReady callback invoked (one at a time) for each service once it's ready
+         * @throws Exception first deployment failure, other failures are added as suppressed
+         */
+        public static void deployServices(List<String> svcs, Boolean useOCP, Consumer<Service<?, ?, ?>> onReady) throws Exception {
+            // Resolve all the names first, so that nothing is deployed if one of them is wrong
+            final List<Class<? extends Service<?, ?, ?>>> svcClasses = svcs.stream().map(TNBUtils::findServiceClass).collect(Collectors.toList());
+            if (svcClasses.isEmpty()) {
+                return;
+            }
+
+            String previousUseOCP = System.getProperty(OpenshiftConfiguration.USE_OPENSHIFT, "false");
             System.setProperty(OpenshiftConfiguration.USE_OPENSHIFT, useOCP.toString());
+
+            printProgress("Deploying service" + (svcClasses.size() > 1 ? "s " : " ")
+                + svcClasses.stream().map(Class::getSimpleName).collect(Collectors.joining(", ")));
+            final AtomicInteger finished = new AtomicInteger();
+            final ExecutorService executor = Executors.newFixedThreadPool(svcClasses.size());
+            try {
+                final List<Future<?>> deployments = new ArrayList<>();
+                for (Class<? extends Service<?, ?, ?>> svcClazz : svcClasses) {
+                    deployments.add(executor.submit(() -> {
+                        final long start = System.currentTimeMillis();
+                        try {
+                            var service = ServiceFactory.create(svcClazz);
+                            deployedServices.add(service);
+                            service.beforeAll(null);
+                            printProgress(String.format("[%d/%d] Service %s deployed in %ds", finished.incrementAndGet(), svcClasses.size(),
+                                svcClazz.getSimpleName(), (System.currentTimeMillis() - start) / 1000));
+                            synchronized (TNBUtils.class) {
+                                onReady.accept(service);
+                            }
+                        } catch (Exception e) {
+                            printProgress(String.format("[%d/%d] Service %s failed: %s", finished.incrementAndGet(), svcClasses.size(),
+                                svcClazz.getSimpleName(), e.getMessage()));
+                            throw e;
+                        }
+                        return null;
+                    }));
+                }
+
+                Exception failure = null;
+                for (Future<?> deployment : deployments) {
+                    try {
+                        deployment.get();
+                    } catch (ExecutionException e) {
+                        final Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        if (failure == null) {
+                            failure = cause;
+                        } else {
+                            failure.addSuppressed(cause);
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            } finally {
+                executor.shutdown();
+                System.setProperty(OpenshiftConfiguration.USE_OPENSHIFT, previousUseOCP);
+            }
+        }
+
+        private static Class<? extends Service<?, ?, ?>> findServiceClass(String svc) {
             List<Class<? extends Service<?, ?, ?>>> availableSvcs =
                 getRegisteredServices().stream().filter(clazz -> clazz.getSimpleName().toLowerCase().contains(svc.toLowerCase()))
                     .collect(Collectors.toList());
@@ -821,22 +900,25 @@ public class tnb {
                     throw new IllegalArgumentException("No matching service found for " + svc);
                 }
             }
-            final Class<? extends Service<?, ?, ?>> svcClazz = availableSvcs.get(0);
-            terminal.writer().println("Deploying service " + svcClazz.getSimpleName());
-            terminal.writer().flush();
-            var service = ServiceFactory.create(svcClazz);
-
-            deployedServices.add(service);
-            service.beforeAll(null);
-
-            System.setProperty(OpenshiftConfiguration.USE_OPENSHIFT, previousUseOCP);
+            return availableSvcs.get(0);
+        }
 
-            return service;
+        private static synchronized void printProgress(String message) {
+            terminal.writer().println(message);
+            terminal.writer().flush();
         }
 
+        /**
+         * Finds the services in all TNB jars. The services found in each jar are stored in the service index together with the jar
+         * fingerprint (size + last modified time), so the jar is scanned again only when it changes.
+         *
+         * @return set of service class names
+         */
         public static Set<String> findAllRegisteredServices() {
             if (serviceClassnames == null) {
                 serviceClassnames = new HashSet<>();
+                final Properties index = loadServiceIndex();
+                final Properties updatedIndex = new Properties();
                 try {
                     final List<URL> tnbServices = Collections.list(Thread.currentThread().getContextClassLoader().getResources("META-INF/services/"))
                         .stream()
@@ -845,11 +927,23 @@ public class tnb {
 
                     for (URL tnbDependency : tnbServices) {
                         final String jarPath = tnbDependency.getPath().replace("file:", "").replace("!/META-INF/services/", "");
+                        final File jar = new File(jarPath);
+                        final String fingerprint = jar.length() + ":" + jar.lastModified();
+                        final String indexed = index.getProperty(jarPath);
+                        if (indexed != null && indexed.startsWith(fingerprint + "|")) {
+                            final String services = indexed.substring(fingerprint.length() + 1);
+                            if (!services.isEmpty()) {
+                                serviceClassnames.addAll(Arrays.asList(services.split(",")));
+                            }
+                            updatedIndex.setProperty(jarPath, indexed);
+                            continue;
+                        }
                         try (ZipFile zip = new ZipFile(jarPath)) {
-                            serviceClassnames.addAll(Collections.list(zip.entries()).stream().map(ZipEntry::getName)
+                            final List<String> services = Collections.list(zip.entries()).stream().map(ZipEntry::getName)
                                 .filter(name -> name.startsWith("META-INF/services/software.tnb")).map(s -> s.replace("META-INF/services/", ""))
-                                .collect(
-                                    Collectors.toList()));
+                                .collect(Collectors.toList());
+                            serviceClassnames.addAll(services);
+                            updatedIndex.setProperty(jarPath, fingerprint + "|" + String.join(",", services));
                         } catch (IOException e) {
                             System.err.println("Failed to load System-X service: " + e);
                         }
@@ -857,10 +951,34 @@ public class tnb {
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
+                if (!updatedIndex.equals(index)) {
+                    saveServiceIndex(updatedIndex);
+                }
             }
             return serviceClassnames;
         }
 
+        private static Properties loadServiceIndex() {
+            final Properties index = new Properties();
+            if (SERVICE_INDEX.toFile().exists()) {
+                try (InputStream in = new FileInputStream(SERVICE_INDEX.toFile())) {
+                    index.load(in);
+                } catch (IOException e) {
+                    System.err.println("Failed to read service index, all jars will be scanned: " + e);
+                }
+            }
+            return index;
+        }
+
+        private static void saveServiceIndex(Properties index) {
+            IOUtils.createDirectory(SERVICE_INDEX.getParent());
+            try (OutputStream out = new FileOutputStream(SERVICE_INDEX.toFile())) {
+                index.store(out, "TNB service index");
+            } catch (IOException e) {
+                System.err.println("Failed to save service index: " + e);
+            }
+        }
+
         public static Set<Class<? extends Service<?, ?, ?>>> getRegisteredServices() {
             return registeredServices;
         }
@@ -0,0 +1,337 @@
+package software.tnb.common.deployment;
+
+import software.tnb.common.config.DockerConfiguration;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Container;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.zip.Checksum;
+
+/**
+ * Opt-in reuse of the local containers between test runs, enabled by {@link DockerConfiguration#CONTAINER_REUSE}.
+ * <p>
+ * The container is labeled with a hash of its configuration. When a running container with the same hash exists, it is reused instead of
+ * starting a new one. Otherwise, when a snapshot of the container exists, the container is started from the snapshot (committed image +
+ * content of its volumes), so that the time-consuming initialization doesn't need to be done again. The snapshot is taken by
+ * {@link #snapshot(GenericContainer, String)} once the container is initialized.
+ * <p>
+ * The hash covers the name of the service, the image, the environment, the exposed ports, the command and the files copied into the container
+ * (including their content), so any change of the configuration results in a new container and a new snapshot.
+ * <p>
+ * A reused running container is not restored from the snapshot - it keeps all the data created by the previous runs, so the tests need to
+ * clean up (or not depend on the absence of) the data they create. The snapshot is used only when no matching container is running.
+ */
+public final class ContainerReuse {
+    private static final Logger LOG = LoggerFactory.getLogger(ContainerReuse.class);
+
+    public static final String NAME_LABEL = "tnb.reuse.name";
+    public static final String HASH_LABEL = "tnb.reuse.hash";
+    public static final String SNAPSHOT_REPOSITORY = "tnb-snapshot";
+    private static final String VOLUMES_FILE = "volumes.properties";
+
+    private ContainerReuse() {
+    }
+
+    public static boolean enabled() {
+        return DockerConfiguration.containerReuse();
+    }
+
+    /**
+     * Configures the container for the reuse, must be called before the container is started (and after all files were copied to it).
+     * <p>
+     * When a matching container is already running, it is reused as it is, including the data from the previous runs.
+     *
+     * @param container container
+     * @param name name of the service
+     * @return true if the container will be started from the snapshot (or is already running from the snapshot)
+     */
+    public static boolean prepare(GenericContainer<?> container, String name) {
+        if (!enabled()) {
+            return false;
+        }
+
+        // Enable the testcontainers reuse only for this JVM, without modifying the user's ~/.testcontainers.properties
+        TestcontainersConfiguration.getInstance().getUserProperties().setProperty("testcontainers.reuse.enable", "true");
+
+        final String hash = hash(container, name);
+        container.withReuse(true).withLabels(Map.of(NAME_LABEL, name, HASH_LABEL, hash));
+
+        final String snapshot = snapshotImage(name, hash);
+        final DockerClient client = DockerClientFactory.instance().client();
+        final List<Container> running = client.listContainersCmd().withLabelFilter(Map.of(HASH_LABEL, hash)).exec();
+        if (!running.isEmpty() && !snapshot.equals(running.get(0).getImage())) {
+            LOG.info("Reusing running {} container {}", name, running.get(0).getId());
+            return false;
+        }
+
+        if (!imageExists(client, snapshot)) {
+            return false;
+        }
+
+        LOG.info("Starting {} container from snapshot {}", name, snapshot);
+        container.setDockerImageName(snapshot);
+        final Path dir = snapshotDir(name, hash);
+        final Properties volumes = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve(VOLUMES_FILE))) {
+            volumes.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read snapshot volumes of " + name, e);
+        }
+        new TreeMap<>(volumes).forEach((archive, path) -> container.withCopyToContainer(new ArchiveTransferable(dir.resolve((String) archive)),
+            (String) path));
+        return true;
+    }
+
+    /**
+     * Creates the snapshot of the container if it doesn't exist yet. The container is paused while its volumes are copied.
+     *
+     * @param container started container configured by {@link #prepare(GenericContainer, String)}
+     * @param name name of the service
+     */
+    public static void snapshot(GenericContainer<?> container, String name) {
+        if (!enabled()) {
+            return;
+        }
+
+        final String hash = container.getLabels().get(HASH_LABEL);
+        final String snapshot = snapshotImage(name, hash);
+        final DockerClient client = container.getDockerClient();
+        if (imageExists(client, snapshot)) {
+            return;
+        }
+
+        LOG.info("Creating snapshot {} of {} container", snapshot, name);
+        final Path dir = snapshotDir(name, hash);
+        final Properties volumes = new Properties();
+        client.pauseContainerCmd(container.getContainerId()).exec();
+        try {
+            Files.createDirectories(dir);
+            int i = 0;
+            for (InspectContainerResponse.Mount mount : container.getContainerInfo().getMounts()) {
+                // Only (anonymous) volumes, bind mounts are not part of the container
+                if (mount.getName() == null || mount.getDestination() == null) {
+                    continue;
+                }
+                final String archive = "volume-" + i++ + ".tar";
+                try (InputStream in = client.copyArchiveFromContainerCmd(container.getContainerId(), mount.getDestination().getPath()).exec();
+                    OutputStream out = Files.newOutputStream(dir.resolve(archive))) {
+                    in.transferTo(out);
+                }
+                volumes.setProperty(archive, mount.getDestination().getPath());
+            }
+            try (OutputStream out = Files.newOutputStream(dir.resolve(VOLUMES_FILE))) {
+                volumes.store(out, null);
+            }
+            commit(container, snapshot);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create snapshot of " + name, e);
+        } finally {
+            client.unpauseContainerCmd(container.getContainerId()).exec();
+        }
+    }
+
+    /**
+     * Stops the container, unless the reuse is enabled - then the container is kept running for the next run.
+     *
+     * @param container container
+     */
+    public static void stop(GenericContainer<?> container) {
+        if (enabled() && container.isShouldBeReused()) {
+            LOG.info("Keeping container {} running for reuse", container.getContainerId());
+            return;
+        }
+        container.stop();
+    }
+
+    /**
+     * Commits the container to the image.
+     *
+     * @param container container
+     * @param image image name in repository:tag format
+     */
+    public static void commit(GenericContainer<?> container, String image) {
+        final int separator = image.lastIndexOf(':');
+        container.getDockerClient().commitCmd(container.getContainerId())
+            .withRepository(image.substring(0, separator))
+            .withTag(image.substring(separator + 1))
+            .withLabels(container.getLabels())
+            .exec();
+    }
+
+    /**
+     * Computes the hash of the configuration that is used to find the matching container / snapshot.
+     *
+     * @param container container
+     * @param name name of the service
+     * @return hash
+     */
+    public static String hash(GenericContainer<?> container, String name) {
+        final String configuration = String.join("\n", name, container.getDockerImageName(),
+            String.valueOf(new TreeMap<>(container.getEnvMap())), String.valueOf(container.getExposedPorts()),
+            Arrays.toString(container.getCommandParts()));
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+            final Checksum checksum = new DigestChecksum(digest);
+            // Sorted by the container path, so that the order in which the files were added doesn't matter
+            final Map<String, List<Transferable>> files = new TreeMap<>();
+            container.getCopyToFileContainerPathMap().forEach((file, path) -> files.computeIfAbsent(path, p -> new ArrayList<>()).add(file));
+            copiedTransferables(container).forEach((file, path) -> files.computeIfAbsent(path, p -> new ArrayList<>()).add(file));
+            files.forEach((path, transferables) -> {
+                digest.update(("\n" + path).getBytes(StandardCharsets.UTF_8));
+                transferables.forEach(transferable -> transferable.updateChecksum(checksum));
+            });
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unable to compute container configuration hash", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Transferable, String> copiedTransferables(GenericContainer<?> container) {
+        // The getter of the transferables added by withCopyToContainer is not public
+        try {
+            final Method getter = GenericContainer.class.getDeclaredMethod("getCopyToTransferableContainerPathMap");
+            getter.setAccessible(true);
+            return (Map<Transferable, String>) getter.invoke(container);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Unable to get the files copied to the container", e);
+        }
+    }
+
+    private static String snapshotImage(String name, String hash) {
+        return SNAPSHOT_REPOSITORY + "/" + name.toLowerCase() + ":" + hash;
+    }
+
+    private static Path snapshotDir(String name, String hash) {
+        return DockerConfiguration.containerSnapshotDir().resolve(name.toLowerCase() + "-" + hash);
+    }
+
+    private static boolean imageExists(DockerClient client, String image) {
+        try {
+            client.inspectImageCmd(image).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Feeds the checksum updates of the transferables into the message digest.
+     */
+    private static final class DigestChecksum implements Checksum {
+        private final MessageDigest digest;
+
+        private DigestChecksum(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void update(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+        }
+
+        // The first 8 bytes of the digest of the data so far, the digest itself is not finished
+        @Override
+        public long getValue() {
+            try {
+                return ByteBuffer.wrap(((MessageDigest) digest.clone()).digest()).getLong();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("Unable to compute the checksum", e);
+            }
+        }
+
+        @Override
+        public void reset() {
+            digest.reset();
+        }
+    }
+
+    /**
+     * Copies the content of the archive created by docker cp into the destination, preserving the owner and mode of the files.
+     */
+    private static final class ArchiveTransferable implements Transferable {
+        private final Path archive;
+
+        private ArchiveTransferable(Path archive) {
+            this.archive = archive;
+        }
+
+        @Override
+        public long getSize() {
+            return archive.toFile().length();
+        }
+
+        @Override
+        public void transferTo(TarArchiveOutputStream out, String destination) {
+            out.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            out.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            try (TarArchiveInputStream in = new TarArchiveInputStream(Files.newInputStream(archive))) {
+                TarArchiveEntry entry;
+                while ((entry = in.getNextTarEntry()) != null) {
+                    entry.setName(relocate(entry.getName(), destination));
+                    if (entry.isLink()) {
+                        entry.setLinkName(relocate(entry.getLinkName(), destination));
+                    }
+                    out.putArchiveEntry(entry);
+                    IOUtils.copy(in, out);
+                    out.closeArchiveEntry();
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to copy " + archive, e);
+            }
+        }
+
+        @Override
+        public void updateChecksum(Checksum checksum) {
+            // The archive doesn't change once it is created, so there is no need to read the whole content
+            checksum.update((archive + ":" + getSize()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String getDescription() {
+            return "Snapshot archive " + archive;
+        }
+
+        // The entries in the archive start with the name of the copied directory
+        private static String relocate(String name, String destination) {
+            final int separator = name.indexOf('/');
+            return separator == -1 || separator == name.length() - 1 ? destination : destination + name.substring(separator);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package software.tnb.common.deployment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.common.config.DockerConfiguration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.MountableFile;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Volume;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+@Tag("unit")
+public class ContainerReuseTest {
+    private static final String IMAGE = "quay.io/tnb/test:latest";
+
+    @TempDir
+    private Path dir;
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(DockerConfiguration.CONTAINER_REUSE);
+        System.clearProperty(DockerConfiguration.CONTAINER_SNAPSHOT_DIR);
+    }
+
+    @Test
+    public void shouldNotConfigureContainerWhenDisabledTest() {
+        final GenericContainer<?> container = container();
+        assertThat(ContainerReuse.prepare(container, "db")).isFalse();
+        assertThat(container.isShouldBeReused()).isFalse();
+        assertThat(container.getLabels()).doesNotContainKey(ContainerReuse.HASH_LABEL);
+    }
+
+    @Test
+    public void shouldComputeStableHashTest() throws IOException {
+        final Path file = Files.writeString(dir.resolve("init.sql"), "create table test");
+        final String hash = ContainerReuse.hash(container().withCopyFileToContainer(MountableFile.forHostPath(file), "/init/init.sql")
+            .withCopyToContainer(Transferable.of("config"), "/etc/config"), "db");
+
+        assertThat(hash).hasSize(16);
+        // The order of the configuration doesn't matter
+        assertThat(ContainerReuse.hash(container().withCopyToContainer(Transferable.of("config"), "/etc/config")
+            .withCopyFileToContainer(MountableFile.forHostPath(file), "/init/init.sql"), "db")).isEqualTo(hash);
+    }
+
+    @Test
+    public void shouldChangeHashWithConfigurationTest() {
+        final String hash = ContainerReuse.hash(container(), "db");
+
+        assertThat(ContainerReuse.hash(container(), "other")).isNotEqualTo(hash);
+        assertThat(ContainerReuse.hash(container("quay.io/tnb/test:other"), "db"))
+            .isNotEqualTo(hash);
+        assertThat(ContainerReuse.hash(container().withEnv("USER", "other"), "db")).isNotEqualTo(hash);
+        assertThat(ContainerReuse.hash(container().withExposedPorts(5433), "db")).isNotEqualTo(hash);
+        assertThat(ContainerReuse.hash(container().withCommand("run"), "db")).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void shouldChangeHashWithCopiedFilesTest() throws IOException {
+        final Path file = Files.writeString(dir.resolve("init.sql"), "create table test");
+        final String hash = ContainerReuse.hash(container().withCopyFileToContainer(MountableFile.forHostPath(file), "/init/init.sql"), "db");
+
+        assertThat(ContainerReuse.hash(container(), "db")).isNotEqualTo(hash);
+        assertThat(ContainerReuse.hash(container().withCopyFileToContainer(MountableFile.forHostPath(file), "/init/other.sql"), "db"))
+            .isNotEqualTo(hash);
+        Files.writeString(file, "create table other");
+        assertThat(ContainerReuse.hash(container().withCopyFileToContainer(MountableFile.forHostPath(file), "/init/init.sql"), "db"))
+            .isNotEqualTo(hash);
+
+        assertThat(ContainerReuse.hash(container().withCopyToContainer(Transferable.of("config"), "/etc/config"), "db"))
+            .isNotEqualTo(ContainerReuse.hash(container().withCopyToContainer(Transferable.of("changed"), "/etc/config"), "db"));
+    }
+
+    @Test
+    @EnabledIf("dockerAvailable")
+    public void shouldReuseRunningContainerTest() {
+        System.setProperty(DockerConfiguration.CONTAINER_REUSE, "true");
+        System.setProperty(DockerConfiguration.CONTAINER_SNAPSHOT_DIR, dir.toString());
+        final GenericContainer<?> first = sleeping();
+        final GenericContainer<?> second = sleeping();
+        try {
+            assertThat(ContainerReuse.prepare(first, "reuse")).isFalse();
+            first.start();
+            ContainerReuse.stop(first);
+            assertThat(first.isRunning()).isTrue();
+
+            assertThat(ContainerReuse.prepare(second, "reuse")).isFalse();
+            second.start();
+            assertThat(second.getContainerId()).isEqualTo(first.getContainerId());
+            assertThat(second.getLabels()).containsEntry(ContainerReuse.HASH_LABEL, ContainerReuse.hash(sleeping(), "reuse"));
+        } finally {
+            first.stop();
+        }
+    }
+
+    @Test
+    @EnabledIf("dockerAvailable")
+    public void shouldStartContainerFromSnapshotTest() throws Exception {
+        System.setProperty(DockerConfiguration.CONTAINER_REUSE, "true");
+        System.setProperty(DockerConfiguration.CONTAINER_SNAPSHOT_DIR, dir.toString());
+        // Unique configuration, so that a snapshot left by a previous run is not used
+        final String run = UUID.randomUUID().toString();
+        final GenericContainer<?> first = withVolume(run);
+        final GenericContainer<?> second = withVolume(run);
+        final String snapshot = ContainerReuse.SNAPSHOT_REPOSITORY + "/snapshot:" + ContainerReuse.hash(withVolume(run), "snapshot");
+        try {
+            assertThat(ContainerReuse.prepare(first, "snapshot")).isFalse();
+            first.start();
+            assertThat(first.execInContainer("sh", "-c", "echo volume > /data/file && echo image > /etc/marker").getExitCode()).isZero();
+            ContainerReuse.snapshot(first, "snapshot");
+            first.stop();
+
+            assertThat(ContainerReuse.prepare(second, "snapshot")).isTrue();
+            assertThat(second.getDockerImageName()).isEqualTo(snapshot);
+            second.start();
+            assertThat(second.getContainerId()).isNotEqualTo(first.getContainerId());
+            // The content of the volume is restored from the archive, the rest of the filesystem from the committed image
+            assertThat(second.execInContainer("cat", "/data/file").getStdout()).isEqualTo("volume\n");
+            assertThat(second.execInContainer("cat", "/etc/marker").getStdout()).isEqualTo("image\n");
+        } finally {
+            first.stop();
+            second.stop();
+            try {
+                DockerClientFactory.instance().client().removeImageCmd(snapshot).withForce(true).exec();
+            } catch (NotFoundException e) {
+                // The snapshot was not created
+            }
+        }
+    }
+
+    static boolean dockerAvailable() {
+        return DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    private static GenericContainer<?> container() {
+        return container(IMAGE);
+    }
+
+    private static GenericContainer<?> container(String image) {
+        return new NotPulledContainer(image).withEnv("USER", "test").withExposedPorts(5432);
+    }
+
+    private static GenericContainer<?> sleeping() {
+        return new GenericContainer<>("registry.access.redhat.com/ubi8/ubi-minimal:latest").withCommand("sleep", "600");
+    }
+
+    private static GenericContainer<?> withVolume(String run) {
+        return sleeping().withEnv("RUN", run).withCreateContainerCmdModifier(cmd -> cmd.withVolumes(new Volume("/data")));
+    }
+
+    /**
+     * The image name is resolved by pulling the image by default.
+     */
+    private static final class NotPulledContainer extends GenericContainer<NotPulledContainer> {
+        private final String image;
+
+        private NotPulledContainer(String image) {
+            super(image);
+            this.image = image;
+        }
+
+        @Override
+        public String getDockerImageName() {
+            return image;
+        }
+    }
+}
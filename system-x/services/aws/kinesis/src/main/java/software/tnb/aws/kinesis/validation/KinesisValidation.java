@@ -1,31 +1,68 @@
 package software.tnb.aws.kinesis.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
+import software.tnb.common.utils.WaitUtils;
 import software.tnb.common.validation.Validation;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.kinesis.KinesisClient;
+import software.amazon.awssdk.services.kinesis.model.ExpiredIteratorException;
 import software.amazon.awssdk.services.kinesis.model.GetRecordsResponse;
+import software.amazon.awssdk.services.kinesis.model.ListShardsResponse;
+import software.amazon.awssdk.services.kinesis.model.ProvisionedThroughputExceededException;
+import software.amazon.awssdk.services.kinesis.model.PutRecordsRequestEntry;
+import software.amazon.awssdk.services.kinesis.model.PutRecordsResponse;
+import software.amazon.awssdk.services.kinesis.model.PutRecordsResultEntry;
+import software.amazon.awssdk.services.kinesis.model.Record;
 import software.amazon.awssdk.services.kinesis.model.Shard;
 import software.amazon.awssdk.services.kinesis.model.ShardIteratorType;
 
 public class KinesisValidation implements Validation {
     private static final Logger LOG = LoggerFactory.getLogger(KinesisValidation.class);
+    // Kinesis limits for a single PutRecords / GetRecords call
+    private static final int PUT_RECORDS_BATCH_SIZE = 500;
+    private static final int GET_RECORDS_LIMIT = 10_000;
+    private static final int PUT_RECORDS_RETRIES = 5;
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final String SHARD_END = "SHARD_END";
 
     private final KinesisClient client;
+    // stream name -> (shard id -> last read sequence number or SHARD_END)
+    private final Map<String, Map<String, String>> checkpoints = new ConcurrentHashMap<>();
 
     public KinesisValidation(KinesisClient client) {
         this.client = client;
     }
 
     public void createDataStream(String name) {
-        LOG.debug("Creating Kinesis data stream {}", name);
-        client.createStream(b -> b.streamName(name).shardCount(1));
+        createDataStream(name, 1);
+    }
+
+    public void createDataStream(String name, int shardCount) {
+        LOG.debug("Creating Kinesis data stream {} with {} shard(s)", name, shardCount);
+        client.createStream(b -> b.streamName(name).shardCount(shardCount));
     }
 
     public void waitForDataStream(String name) {
@@ -37,12 +74,81 @@ public class KinesisValidation implements Validation {
     public void deleteDataStream(String name) {
         LOG.debug("Deleting Kinesis data stream {}", name);
         client.deleteStream(b -> b.streamName(name));
+        checkpoints.remove(name);
     }
 
     public void sendMessage(String stream, String message, String partitionKey) {
         client.putRecord(b -> b.streamName(stream).partitionKey(partitionKey).data(SdkBytes.fromUtf8String(message)));
     }
 
+    /**
+     * Sends the messages using batched PutRecords calls, the records that were throttled are retried.
+     *
+     * @param stream stream name
+     * @param messages messages to send
+     * @param partitionKey function that computes the partition key for the message
+     */
+    public void sendMessages(String stream, List<String> messages, Function<String, String> partitionKey) {
+        putRecords(stream, messages.stream()
+            .map(m -> PutRecordsRequestEntry.builder().partitionKey(partitionKey.apply(m)).data(SdkBytes.fromUtf8String(m)).build())
+            .toList());
+    }
+
+    /**
+     * Distributes the messages evenly (round-robin) across all open shards of the stream using explicit hash keys.
+     *
+     * @param stream stream name
+     * @param messages messages to send
+     */
+    public void sendMessagesToAllShards(String stream, List<String> messages) {
+        final List<String> hashKeys = listShards(stream).stream()
+            .filter(s -> s.sequenceNumberRange().endingSequenceNumber() == null)
+            .map(s -> s.hashKeyRange().startingHashKey())
+            .toList();
+        if (hashKeys.isEmpty()) {
+            fail("Kinesis data stream " + stream + " has no open shards");
+        }
+        final List<PutRecordsRequestEntry> entries = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(PutRecordsRequestEntry.builder().partitionKey(String.valueOf(i)).explicitHashKey(hashKeys.get(i % hashKeys.size()))
+                .data(SdkBytes.fromUtf8String(messages.get(i))).build());
+        }
+        putRecords(stream, entries);
+    }
+
+    /**
+     * Sends the records in batches of {@value #PUT_RECORDS_BATCH_SIZE}, records that failed are resent with a backoff.
+     *
+     * @param stream stream name
+     * @param records records to send
+     */
+    public void putRecords(String stream, List<PutRecordsRequestEntry> records) {
+        LOG.debug("Sending {} records to Kinesis data stream {}", records.size(), stream);
+        for (int i = 0; i < records.size(); i += PUT_RECORDS_BATCH_SIZE) {
+            List<PutRecordsRequestEntry> batch = records.subList(i, Math.min(i + PUT_RECORDS_BATCH_SIZE, records.size()));
+            for (int attempt = 1; !batch.isEmpty(); attempt++) {
+                if (attempt > PUT_RECORDS_RETRIES) {
+                    throw new RuntimeException("Unable to send " + batch.size() + " records to Kinesis data stream " + stream);
+                }
+                final List<PutRecordsRequestEntry> toSend = batch;
+                final PutRecordsResponse response = client.putRecords(b -> b.streamName(stream).records(toSend));
+                if (response.failedRecordCount() == null || response.failedRecordCount() == 0) {
+                    break;
+                }
+                LOG.debug("{} records were not accepted by Kinesis, retrying", response.failedRecordCount());
+                final List<PutRecordsResultEntry> results = response.records();
+                final List<PutRecordsRequestEntry> failed = new ArrayList<>();
+                for (int j = 0; j < results.size(); j++) {
+                    if (results.get(j).errorCode() != null) {
+                        failed.add(toSend.get(j));
+                    }
+                }
+                batch = failed;
+                WaitUtils.sleep(POLL_INTERVAL_MS * attempt);
+            }
+        }
+    }
+
     public GetRecordsResponse getRecords(String streamName) {
         return getRecords(streamName, 25);
     }
@@ -56,7 +162,7 @@ public class KinesisValidation implements Validation {
                 .shardIteratorType(ShardIteratorType.AT_SEQUENCE_NUMBER)
             ).shardIterator()
         ).collect(Collectors.toList());
-        // The stream has only one shard, so use only that shard
+        // Use only the first shard, see readAllShards for reading from streams with multiple shards
         String shardIterator = initialShardIterators.get(0);
         return getRecords(streamName, maxNumberOfRecords, shardIterator);
     }
@@ -64,4 +170,189 @@ public class KinesisValidation implements Validation {
     public GetRecordsResponse getRecords(String streamName, int maxNumberOfRecords, String shardIterator) {
         return client.getRecords(b -> b.shardIterator(shardIterator).limit(maxNumberOfRecords));
     }
+
+    public List<Shard> listShards(String stream) {
+        final List<Shard> shards = new ArrayList<>();
+        String nextToken = null;
+        do {
+            final String token = nextToken;
+            final ListShardsResponse response = client.listShards(b -> {
+                if (token == null) {
+                    b.streamName(stream);
+                } else {
+                    b.nextToken(token);
+                }
+            });
+            shards.addAll(response.shards());
+            nextToken = response.nextToken();
+        } while (nextToken != null);
+        return shards;
+    }
+
+    /**
+     * Reads all shards of the stream concurrently until the expected number of records is received or the timeout expires.
+     * <p>
+     * Each shard is read from the last checkpoint (or from the start of the shard when it wasn't read before), so the subsequent calls
+     * return only the new records. After resharding, the child shards are read only after all their parent shards are fully read, so the
+     * records with the same partition key are returned in the order they were written.
+     * <p>
+     * Fails when fewer than the expected number of records are received before the timeout, the first error when reading a shard is
+     * rethrown.
+     *
+     * @param stream stream name
+     * @param expectedCount number of records to wait for
+     * @param timeout max wait time
+     * @return map of shard id to the records read from that shard in the sequence number order
+     */
+    public Map<String, List<Record>> readAllShards(String stream, int expectedCount, Duration timeout) {
+        return new ShardReader(stream, expectedCount, timeout).read();
+    }
+
+    /**
+     * Reads all shards of the stream and returns the payloads of the records merged shard by shard.
+     *
+     * @param stream stream name
+     * @param expectedCount number of records to wait for
+     * @param timeout max wait time
+     * @return list of payloads
+     * @see #readAllShards(String, int, Duration)
+     */
+    public List<String> readAllMessages(String stream, int expectedCount, Duration timeout) {
+        return readAllShards(stream, expectedCount, timeout).values().stream()
+            .flatMap(List::stream)
+            .map(r -> r.data().asUtf8String())
+            .toList();
+    }
+
+    /**
+     * Forgets the checkpoints of the stream, so that the next read starts from the beginning of each shard.
+     *
+     * @param stream stream name
+     */
+    public void resetCheckpoints(String stream) {
+        checkpoints.remove(stream);
+    }
+
+    private final class ShardReader {
+        private final String stream;
+        private final int expectedCount;
+        private final Instant end;
+        private final Map<String, String> checkpoint;
+        private final Map<String, List<Record>> records = new ConcurrentHashMap<>();
+        private final Set<String> started = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicReference<RuntimeException> error = new AtomicReference<>();
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+
+        private ShardReader(String stream, int expectedCount, Duration timeout) {
+            this.stream = stream;
+            this.expectedCount = expectedCount;
+            this.end = Instant.now().plus(timeout);
+            this.checkpoint = checkpoints.computeIfAbsent(stream, s -> new ConcurrentHashMap<>());
+        }
+
+        private Map<String, List<Record>> read() {
+            try {
+                startReadableShards();
+                while (count.get() < expectedCount && active.get() > 0 && error.get() == null && Instant.now().isBefore(end)) {
+                    WaitUtils.sleep(100);
+                }
+            } finally {
+                stopped.set(true);
+                executor.shutdown();
+                try {
+                    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                        executor.shutdownNow();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (error.get() != null) {
+                throw error.get();
+            }
+            LOG.debug("Read {} records from {} shard(s) of Kinesis data stream {}", count.get(), records.size(), stream);
+            if (count.get() < expectedCount) {
+                fail("Expected " + expectedCount + " records from Kinesis data stream " + stream + ", but received only " + count.get());
+            }
+            final Map<String, List<Record>> result = new TreeMap<>();
+            records.forEach((shard, list) -> result.put(shard, List.copyOf(list)));
+            return result;
+        }
+
+        private synchronized void startReadableShards() {
+            final List<Shard> shards = listShards(stream);
+            final Set<String> shardIds = shards.stream().map(Shard::shardId).collect(Collectors.toSet());
+            for (Shard shard : shards) {
+                if (started.contains(shard.shardId()) || SHARD_END.equals(checkpoint.get(shard.shardId()))) {
+                    continue;
+                }
+                // Parents that are no longer listed (expired) or that were already fully read don't block the child shard
+                if (isRead(shard.parentShardId(), shardIds) && isRead(shard.adjacentParentShardId(), shardIds)) {
+                    started.add(shard.shardId());
+                    active.incrementAndGet();
+                    executor.submit(() -> readShard(shard.shardId()));
+                }
+            }
+        }
+
+        private boolean isRead(String shardId, Set<String> shardIds) {
+            return shardId == null || !shardIds.contains(shardId) || SHARD_END.equals(checkpoint.get(shardId));
+        }
+
+        private void readShard(String shardId) {
+            final List<Record> shardRecords = records.computeIfAbsent(shardId, s -> Collections.synchronizedList(new ArrayList<>()));
+            try {
+                String iterator = iterator(shardId);
+                while (iterator != null && !stopped.get()) {
+                    final GetRecordsResponse response;
+                    try {
+                        final String current = iterator;
+                        response = client.getRecords(b -> b.shardIterator(current).limit(GET_RECORDS_LIMIT));
+                    } catch (ProvisionedThroughputExceededException e) {
+                        WaitUtils.sleep(POLL_INTERVAL_MS);
+                        continue;
+                    } catch (ExpiredIteratorException e) {
+                        iterator = iterator(shardId);
+                        continue;
+                    }
+
+                    if (!response.records().isEmpty()) {
+                        shardRecords.addAll(response.records());
+                        checkpoint.put(shardId, response.records().get(response.records().size() - 1).sequenceNumber());
+                        count.addAndGet(response.records().size());
+                    }
+                    iterator = response.nextShardIterator();
+                    if (response.records().isEmpty() && iterator != null) {
+                        WaitUtils.sleep(POLL_INTERVAL_MS);
+                    }
+                }
+
+                if (iterator == null) {
+                    LOG.debug("Shard {} of Kinesis data stream {} is closed and fully read", shardId, stream);
+                    checkpoint.put(shardId, SHARD_END);
+                    startReadableShards();
+                }
+            } catch (Exception e) {
+                // Only the first error is kept, the other shard readers are stopped by it
+                error.compareAndSet(null, new RuntimeException("Unable to read shard " + shardId + " of Kinesis data stream " + stream, e));
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        private String iterator(String shardId) {
+            final String sequenceNumber = checkpoint.get(shardId);
+            return client.getShardIterator(b -> {
+                b.streamName(stream).shardId(shardId);
+                if (sequenceNumber == null) {
+                    b.shardIteratorType(ShardIteratorType.TRIM_HORIZON);
+                } else {
+                    b.shardIteratorType(ShardIteratorType.AFTER_SEQUENCE_NUMBER).startingSequenceNumber(sequenceNumber);
+                }
+            }).shardIterator();
+        }
+    }
 }
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.azure.messaging.eventhubs.EventHubClientBuilder;
+import com.azure.messaging.eventhubs.EventHubConsumerAsyncClient;
 import com.azure.messaging.eventhubs.EventHubConsumerClient;
 import com.azure.messaging.eventhubs.EventHubProducerClient;
 
@@ -13,6 +14,7 @@ public class EventHubClients {
     private static final Logger LOG = LoggerFactory.getLogger(EventHubClients.class);
 
     private final EventHubConsumerClient consumerClient;
+    private final EventHubConsumerAsyncClient consumerAsyncClient;
     private final EventHubProducerClient producerClient;
 
     public EventHubClients(AzureEventHubsAccount account) {
@@ -21,12 +23,19 @@ public class EventHubClients {
         consumerClient = new EventHubClientBuilder()
             .consumerGroup(EventHubClientBuilder.DEFAULT_CONSUMER_GROUP_NAME).connectionString(account.connectionString())
             .buildConsumerClient();
+        consumerAsyncClient = new EventHubClientBuilder()
+            .consumerGroup(EventHubClientBuilder.DEFAULT_CONSUMER_GROUP_NAME).connectionString(account.connectionString())
+            .buildAsyncConsumerClient();
     }
 
     public EventHubConsumerClient consumerClient() {
         return consumerClient;
     }
 
+    public EventHubConsumerAsyncClient consumerAsyncClient() {
+        return consumerAsyncClient;
+    }
+
     public EventHubProducerClient producerClient() {
         return producerClient;
     }
@@ -35,6 +44,9 @@ public class EventHubClients {
         if (consumerClient != null) {
             consumerClient.close();
         }
+        if (consumerAsyncClient != null) {
+            consumerAsyncClient.close();
+        }
         if (producerClient != null) {
             producerClient.close();
         }
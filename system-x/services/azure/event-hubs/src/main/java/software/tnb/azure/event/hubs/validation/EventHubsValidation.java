@@ -1,9 +1,18 @@
 package software.tnb.azure.event.hubs.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
 import software.tnb.azure.event.hubs.client.EventHubClients;
 import software.tnb.common.validation.Validation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.azure.messaging.eventhubs.EventData;
+import com.azure.messaging.eventhubs.EventDataBatch;
+import com.azure.messaging.eventhubs.EventHubConsumerAsyncClient;
+import com.azure.messaging.eventhubs.EventHubProducerClient;
+import com.azure.messaging.eventhubs.models.CreateBatchOptions;
 import com.azure.messaging.eventhubs.models.EventPosition;
 import com.azure.messaging.eventhubs.models.PartitionEvent;
 import com.azure.messaging.eventhubs.models.SendOptions;
@@ -11,11 +20,22 @@ import com.azure.messaging.eventhubs.models.SendOptions;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class EventHubsValidation implements Validation {
+    private static final Logger LOG = LoggerFactory.getLogger(EventHubsValidation.class);
+    // Additional time for opening the links to the partitions on top of the wait time
+    private static final Duration RECEIVE_TIMEOUT_MARGIN = Duration.ofSeconds(30);
+
     private final EventHubClients clients;
+    // partition id -> sequence number of the last received event
+    private final Map<String, Long> positions = new ConcurrentHashMap<>();
 
     public EventHubsValidation(EventHubClients clients) {
         this.clients = clients;
@@ -31,22 +51,107 @@ public class EventHubsValidation implements Validation {
     }
 
     /**
-     * This method loops through all partitions in the eventhub and for each partition it waits for the maxWaitTime / maxEvents.
+     * Sends the events in batches, the event hub assigns the partitions to the batches.
+     *
+     * @param messages messages to send
+     */
+    public void produceEvents(List<String> messages) {
+        sendBatches(messages, CreateBatchOptions::new);
+    }
+
+    /**
+     * Sends the events in batches to the given partition.
+     *
+     * @param messages messages to send
+     * @param partitionId partition id
+     */
+    public void produceEvents(List<String> messages, String partitionId) {
+        sendBatches(messages, () -> new CreateBatchOptions().setPartitionId(partitionId));
+    }
+
+    /**
+     * Sends the events in batches routed by the partition key, the events with the same key end up in the same partition in the same order.
+     *
+     * @param messages messages to send
+     * @param partitionKey function that returns the partition key for the message
+     */
+    public void produceEvents(List<String> messages, Function<String, String> partitionKey) {
+        messages.stream().collect(Collectors.groupingBy(partitionKey, LinkedHashMap::new, Collectors.toList()))
+            .forEach((key, keyMessages) -> sendBatches(keyMessages, () -> new CreateBatchOptions().setPartitionKey(key)));
+    }
+
+    /**
+     * Receives the events from all partitions concurrently, starting from the earliest event in each partition.
+     * <p>
+     * The events from one partition are in the same order as in the partition, the whole call takes at most the maxWaitTime regardless
+     * of the number of the partitions.
      *
      * @param maxWaitTime maximum wait for new events
-     * @param maxEvents maximum events to receive
+     * @param maxEvents maximum events to receive from each partition
      * @return list of events from all partitions
      */
     public List<PartitionEvent> consumeEvents(Duration maxWaitTime, int maxEvents) {
-        List<PartitionEvent> messages = new ArrayList<>();
-        for (String partitionId : clients.consumerClient().getPartitionIds()) {
-            messages.addAll(consumeEvents(partitionId, maxWaitTime, maxEvents));
-        }
-        return messages;
+        return consume(partitionId -> EventPosition.earliest(), maxWaitTime, maxEvents);
+    }
+
+    /**
+     * Receives the events from all partitions concurrently, starting after the last event received by this validation in each partition.
+     *
+     * @param maxWaitTime maximum wait for new events
+     * @param maxEvents maximum events to receive from each partition
+     * @return list of events from all partitions that were not received before
+     */
+    public List<PartitionEvent> consumeNewEvents(Duration maxWaitTime, int maxEvents) {
+        return consume(partitionId -> positions.containsKey(partitionId)
+            ? EventPosition.fromSequenceNumber(positions.get(partitionId), false) : EventPosition.earliest(), maxWaitTime, maxEvents);
+    }
+
+    /**
+     * Forgets the positions stored by the previous calls, so that the next {@link #consumeNewEvents} starts from the earliest events.
+     */
+    public void resetPositions() {
+        positions.clear();
     }
 
     public List<PartitionEvent> consumeEvents(String partitionId, Duration duration, int maxEvents) {
         return clients.consumerClient().receiveFromPartition(partitionId, maxEvents, EventPosition.earliest(), duration).stream()
             .collect(Collectors.toList());
     }
+
+    private List<PartitionEvent> consume(Function<String, EventPosition> startingPosition, Duration maxWaitTime, int maxEvents) {
+        final EventHubConsumerAsyncClient consumer = clients.consumerAsyncClient();
+        // flatMap keeps the order of the events from the same partition
+        final List<PartitionEvent> events = consumer.getPartitionIds()
+            .flatMap(partitionId -> consumer.receiveFromPartition(partitionId, startingPosition.apply(partitionId))
+                .take(maxEvents)
+                .take(maxWaitTime))
+            .collectList()
+            .block(maxWaitTime.plus(RECEIVE_TIMEOUT_MARGIN));
+
+        final List<PartitionEvent> result = events == null ? new ArrayList<>() : events;
+        result.forEach(event -> positions.merge(event.getPartitionContext().getPartitionId(), event.getData().getSequenceNumber(), Math::max));
+        LOG.debug("Received {} events", result.size());
+        return result;
+    }
+
+    private void sendBatches(List<String> messages, Supplier<CreateBatchOptions> options) {
+        final EventHubProducerClient producer = clients.producerClient();
+        EventDataBatch batch = producer.createBatch(options.get());
+        for (String message : messages) {
+            final EventData event = new EventData(message);
+            if (batch.tryAdd(event)) {
+                continue;
+            }
+            // The batch is full, send it and add the event to a new one
+            producer.send(batch);
+            batch = producer.createBatch(options.get());
+            if (!batch.tryAdd(event)) {
+                fail("Event of size " + event.getBody().length + " bytes is larger than the max batch size " + batch.getMaxSizeInBytes()
+                    + " bytes");
+            }
+        }
+        if (batch.getCount() > 0) {
+            producer.send(batch);
+        }
+    }
 }
@@ -7,6 +7,7 @@ import com.azure.messaging.servicebus.ServiceBusException;
 import com.azure.messaging.servicebus.ServiceBusFailureReason;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
@@ -16,7 +17,7 @@ public class ErrorProcessor implements Consumer<ServiceBusErrorContext> {
     private final List<String> errors;
 
     public ErrorProcessor() {
-        this.errors = new ArrayList<>();
+        this.errors = Collections.synchronizedList(new ArrayList<>());
     }
 
     @Override
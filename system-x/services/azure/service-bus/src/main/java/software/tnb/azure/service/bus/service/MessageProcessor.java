@@ -1,25 +1,53 @@
 package software.tnb.azure.service.bus.service;
 
+import software.tnb.azure.service.bus.validation.model.SettleMode;
+
 import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusReceivedMessageContext;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.function.Consumer;
 
 public class MessageProcessor implements Consumer<ServiceBusReceivedMessageContext> {
 
-    private final ConcurrentLinkedQueue<ServiceBusReceivedMessage> messages;
+    private final BlockingQueue<ServiceBusReceivedMessage> messages;
+    private final SettleMode settleMode;
 
-    public MessageProcessor() {
-        this.messages = new ConcurrentLinkedQueue<>();
+    /**
+     * Creates the processor that buffers the messages into the given queue and settles them once they are buffered.
+     * <p>
+     * When the queue is full, the processor blocks until there is free space, so the broker stops delivering new messages instead of
+     * the messages being dropped.
+     *
+     * @param messages buffer for the received messages
+     * @param settleMode how to settle the messages, null when the messages are settled by the processor client itself
+     */
+    public MessageProcessor(BlockingQueue<ServiceBusReceivedMessage> messages, SettleMode settleMode) {
+        this.messages = messages;
+        this.settleMode = settleMode;
     }
 
     @Override
     public void accept(ServiceBusReceivedMessageContext context) {
-        messages.add(context.getMessage());
+        try {
+            messages.put(context.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while buffering the message", e);
+        }
+
+        if (settleMode != null) {
+            switch (settleMode) {
+                case COMPLETE -> context.complete();
+                case DEAD_LETTER -> context.deadLetter();
+                default -> {
+                    // RECEIVE_AND_DELETE messages are settled on delivery
+                }
+            }
+        }
     }
 
-    public ConcurrentLinkedQueue<ServiceBusReceivedMessage> getMessages() {
+    public BlockingQueue<ServiceBusReceivedMessage> getMessages() {
         return messages;
     }
 }
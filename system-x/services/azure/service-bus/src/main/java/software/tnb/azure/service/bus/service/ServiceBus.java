@@ -22,7 +22,9 @@ public class ServiceBus extends Service<AzureServiceBusAccount, ServiceBusAdmini
 
     @Override
     public void afterAll(ExtensionContext extensionContext) {
-        // no-op
+        if (validation != null) {
+            validation.close();
+        }
     }
 
     @Override
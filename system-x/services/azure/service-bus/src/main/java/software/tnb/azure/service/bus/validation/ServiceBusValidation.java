@@ -1,28 +1,54 @@
 package software.tnb.azure.service.bus.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
 import software.tnb.azure.service.bus.account.AzureServiceBusAccount;
 import software.tnb.azure.service.bus.service.ErrorProcessor;
 import software.tnb.azure.service.bus.service.MessageProcessor;
+import software.tnb.azure.service.bus.validation.model.SettleMode;
 import software.tnb.common.utils.WaitUtils;
 import software.tnb.common.validation.Validation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.azure.messaging.servicebus.ServiceBusClientBuilder;
 import com.azure.messaging.servicebus.ServiceBusMessage;
+import com.azure.messaging.servicebus.ServiceBusMessageBatch;
 import com.azure.messaging.servicebus.ServiceBusProcessorClient;
+import com.azure.messaging.servicebus.ServiceBusReceivedMessage;
 import com.azure.messaging.servicebus.ServiceBusSenderClient;
 import com.azure.messaging.servicebus.administration.ServiceBusAdministrationClient;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ServiceBusValidation implements Validation {
-    private final AzureServiceBusAccount serviceBusAccount;
+    private static final Logger LOG = LoggerFactory.getLogger(ServiceBusValidation.class);
+    private static final int DEFAULT_BUFFER_SIZE = 10_000;
+    private static final int DEFAULT_PREFETCH_COUNT = 100;
+
     private final ServiceBusAdministrationClient adminClient;
+    // The clients created from the same builder share one AMQP connection
+    private final ServiceBusClientBuilder clientBuilder;
+    // queue / topic name -> sender
+    private final Map<String, ServiceBusSenderClient> senders = new ConcurrentHashMap<>();
+    // queue name / topic subscription path -> receiver
+    private final Map<String, Receiver> receivers = new ConcurrentHashMap<>();
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
 
     public ServiceBusValidation(AzureServiceBusAccount serviceBusAccount, ServiceBusAdministrationClient adminClient) {
-        this.serviceBusAccount = serviceBusAccount;
         this.adminClient = adminClient;
+        this.clientBuilder = new ServiceBusClientBuilder().connectionString(serviceBusAccount.connectionString());
     }
 
     public void createQueue(String queue) {
@@ -32,42 +58,207 @@ public class ServiceBusValidation implements Validation {
     }
 
     public void deleteQueue(String queue) {
+        stopReceiving(queue);
+        closeSender(queue);
         adminClient.deleteQueue(queue);
         WaitUtils.waitFor(() -> !adminClient.getQueueExists(queue), 10
             , 1000L, "Waiting until the queue " + queue + " is deleted");
     }
 
     public void sendMessage(String queue, String message) {
-        try (ServiceBusSenderClient client = new ServiceBusClientBuilder()
-            .connectionString(serviceBusAccount.connectionString())
-            .sender()
-            .queueName(queue)
-            .buildClient()) {
-            client.sendMessage(new ServiceBusMessage(message));
+        sender(queue, false).sendMessage(new ServiceBusMessage(message));
+    }
+
+    /**
+     * Sends the messages to the queue in as few batches as possible, the batch size is limited by the max message size of the queue.
+     *
+     * @param queue queue name
+     * @param messages messages to send
+     */
+    public void sendMessages(String queue, List<String> messages) {
+        sendBatches(sender(queue, false), messages.stream().map(ServiceBusMessage::new).toList());
+    }
+
+    /**
+     * Sends the messages to the topic in as few batches as possible, the batch size is limited by the max message size of the topic.
+     *
+     * @param topic topic name
+     * @param messages messages to send
+     */
+    public void sendTopicMessages(String topic, List<ServiceBusMessage> messages) {
+        sendBatches(sender(topic, true), messages);
+    }
+
+    /**
+     * Sets the max number of buffered messages for each receiver started afterwards. When the buffer is full, the receiver stops
+     * accepting new messages until the messages are retrieved by {@link #awaitMessages}.
+     *
+     * @param bufferSize buffer size
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Starts receiving the messages from the queue, the received messages are buffered until they are retrieved by {@link #awaitMessages}.
+     *
+     * @param queue queue name
+     * @param settleMode what happens with the message on the broker once it is buffered
+     */
+    public void startReceiving(String queue, SettleMode settleMode) {
+        receivers.computeIfAbsent(queue, q -> new Receiver(clientBuilder.processor().queueName(q), settleMode));
+    }
+
+    /**
+     * Starts receiving the messages from the topic subscription, the received messages are buffered until they are retrieved by
+     * {@link #awaitMessages} with the topic subscription path ("topic/subscriptions/subscription").
+     *
+     * @param topic topic name
+     * @param subscription subscription name
+     * @param settleMode what happens with the message on the broker once it is buffered
+     */
+    public void startReceiving(String topic, String subscription, SettleMode settleMode) {
+        receivers.computeIfAbsent(subscriptionPath(topic, subscription),
+            p -> new Receiver(clientBuilder.processor().topicName(topic).subscriptionName(subscription), settleMode));
+    }
+
+    public void stopReceiving(String queueOrSubscriptionPath) {
+        final Receiver receiver = receivers.remove(queueOrSubscriptionPath);
+        if (receiver != null) {
+            receiver.close();
         }
     }
 
-    public List<String> receiveMessages(String queue) {
-        final MessageProcessor messageProcessor = new MessageProcessor();
-        final ErrorProcessor errorProcessor = new ErrorProcessor();
+    /**
+     * Waits until the given number of messages is received and removes them from the buffer.
+     *
+     * @param queueOrSubscriptionPath queue name or topic subscription path used in {@link #startReceiving}
+     * @param count number of messages to wait for
+     * @param timeout max wait time
+     * @return received messages
+     */
+    public List<ServiceBusReceivedMessage> awaitMessages(String queueOrSubscriptionPath, int count, Duration timeout) {
+        final Receiver receiver = receivers.get(queueOrSubscriptionPath);
+        if (receiver == null) {
+            fail("Not receiving from " + queueOrSubscriptionPath);
+        }
 
-        try (ServiceBusProcessorClient client = new ServiceBusClientBuilder()
-            .connectionString(serviceBusAccount.connectionString())
-            .processor()
-            .queueName(queue)
-            .processMessage(messageProcessor)
-            .processError(errorProcessor)
-            .buildProcessorClient()) {
+        final List<ServiceBusReceivedMessage> messages = new ArrayList<>(count);
+        final Instant end = Instant.now().plus(timeout);
+        try {
+            while (messages.size() < count) {
+                // Take all the messages that are already buffered at once
+                receiver.messages.drainTo(messages, count - messages.size());
+                if (messages.size() == count) {
+                    break;
+                }
+                final long remaining = Duration.between(Instant.now(), end).toMillis();
+                final ServiceBusReceivedMessage message = remaining > 0 ? receiver.messages.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                if (message == null) {
+                    fail("Expected " + count + " messages from " + queueOrSubscriptionPath + ", but received only " + messages.size()
+                        + (receiver.errors.getErrors().isEmpty() ? "" : ", errors: " + receiver.errors.getErrors()));
+                }
+                messages.add(message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while waiting for messages from " + queueOrSubscriptionPath);
+        }
+        return messages;
+    }
 
-            client.start();
-            WaitUtils.waitFor(() -> !(errorProcessor.getErrors().isEmpty()
-                    && messageProcessor.getMessages().isEmpty())
+    public List<String> receiveMessages(String queue) {
+        final boolean started = !receivers.containsKey(queue);
+        if (started) {
+            startReceiving(queue, SettleMode.COMPLETE);
+        }
+        final Receiver receiver = receivers.get(queue);
+
+        try {
+            WaitUtils.waitFor(() -> !(receiver.errors.getErrors().isEmpty()
+                    && receiver.messages.isEmpty())
                 , 10, 1000L, "Waiting for messages");
+        } finally {
+            if (started) {
+                stopReceiving(queue);
+            }
         }
 
-        return Stream.concat(errorProcessor.getErrors().stream()
-                , messageProcessor.getMessages().stream()
+        final List<ServiceBusReceivedMessage> messages = new ArrayList<>();
+        receiver.messages.drainTo(messages);
+        return Stream.concat(receiver.errors.getErrors().stream()
+                , messages.stream()
                     .map(serviceBusReceivedMessage -> serviceBusReceivedMessage.getBody().toString()))
             .collect(Collectors.toList());
     }
+
+    /**
+     * Closes all senders and receivers used by the validation.
+     */
+    public void close() {
+        receivers.keySet().forEach(this::stopReceiving);
+        senders.keySet().forEach(this::closeSender);
+    }
+
+    private ServiceBusSenderClient sender(String queueOrTopic, boolean topic) {
+        return senders.computeIfAbsent(queueOrTopic, name -> topic ? clientBuilder.sender().topicName(name).buildClient()
+            : clientBuilder.sender().queueName(name).buildClient());
+    }
+
+    private void closeSender(String queueOrTopic) {
+        final ServiceBusSenderClient sender = senders.remove(queueOrTopic);
+        if (sender != null) {
+            sender.close();
+        }
+    }
+
+    private void sendBatches(ServiceBusSenderClient sender, List<ServiceBusMessage> messages) {
+        ServiceBusMessageBatch batch = sender.createMessageBatch();
+        int batches = 0;
+        for (ServiceBusMessage message : messages) {
+            if (batch.tryAddMessage(message)) {
+                continue;
+            }
+            // The batch is full, send it and add the message to a new one
+            sender.sendMessages(batch);
+            batches++;
+            batch = sender.createMessageBatch();
+            if (!batch.tryAddMessage(message)) {
+                fail("Message of size " + message.getBody().toBytes().length + " bytes is larger than the max batch size "
+                    + batch.getMaxSizeInBytes() + " bytes");
+            }
+        }
+        if (batch.getCount() > 0) {
+            sender.sendMessages(batch);
+            batches++;
+        }
+        LOG.debug("Sent {} messages to {} in {} batches", messages.size(), sender.getEntityPath(), batches);
+    }
+
+    private static String subscriptionPath(String topic, String subscription) {
+        return topic + "/subscriptions/" + subscription;
+    }
+
+    /**
+     * Processor client that buffers the messages into a bounded queue.
+     */
+    private final class Receiver {
+        private final BlockingQueue<ServiceBusReceivedMessage> messages = new LinkedBlockingQueue<>(bufferSize);
+        private final ErrorProcessor errors = new ErrorProcessor();
+        private final ServiceBusProcessorClient client;
+
+        private Receiver(ServiceBusClientBuilder.ServiceBusProcessorClientBuilder builder, SettleMode settleMode) {
+            client = builder.receiveMode(settleMode.receiveMode())
+                .disableAutoComplete()
+                .prefetchCount(DEFAULT_PREFETCH_COUNT)
+                .processMessage(new MessageProcessor(messages, settleMode))
+                .processError(errors)
+                .buildProcessorClient();
+            client.start();
+        }
+
+        private void close() {
+            client.close();
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package software.tnb.azure.service.bus.validation.model;
+
+import com.azure.messaging.servicebus.models.ServiceBusReceiveMode;
+
+/**
+ * What happens with the message on the broker once it is received into the buffer.
+ */
+public enum SettleMode {
+    // The message is removed from the broker when it is delivered, no settlement round-trip is needed
+    RECEIVE_AND_DELETE(ServiceBusReceiveMode.RECEIVE_AND_DELETE),
+    COMPLETE(ServiceBusReceiveMode.PEEK_LOCK),
+    DEAD_LETTER(ServiceBusReceiveMode.PEEK_LOCK);
+
+    private final ServiceBusReceiveMode receiveMode;
+
+    SettleMode(ServiceBusReceiveMode receiveMode) {
+        this.receiveMode = receiveMode;
+    }
+
+    public ServiceBusReceiveMode receiveMode() {
+        return receiveMode;
+    }
+}
@@ -1,8 +1,7 @@
 package software.tnb.azure.storage.blob.service;
 
-import software.tnb.azure.common.account.AzureStorageAccount;
+import software.tnb.azure.common.service.AzureStorageService;
 import software.tnb.azure.storage.blob.validation.StorageBlobValidation;
-import software.tnb.common.service.Service;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
 
@@ -15,26 +14,30 @@ import com.azure.storage.common.StorageSharedKeyCredential;
 import com.google.auto.service.AutoService;
 
 @AutoService(StorageBlob.class)
-public class StorageBlob extends Service<AzureStorageAccount, BlobServiceClient, StorageBlobValidation> {
+public class StorageBlob extends AzureStorageService<BlobServiceClient, StorageBlobValidation> {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageBlob.class);
 
     protected BlobServiceClient client() {
-        LOG.debug("Creating new Azure Storage Blob client");
-        return new BlobServiceClientBuilder()
-            .endpoint(String.format("https://%s.blob.core.windows.net/%s", account().accountName(), account().accessKey()))
-            .credential(new StorageSharedKeyCredential(account().accountName(), account().accessKey()))
-            .buildClient();
+        if (client == null) {
+            LOG.debug("Creating new Azure Storage Blob client");
+            client = new BlobServiceClientBuilder()
+                .endpoint(endpoint())
+                .credential(new StorageSharedKeyCredential(account().accountName(), account().accessKey()))
+                .buildClient();
+        }
+        return client;
     }
 
-    @Override
-    public void afterAll(ExtensionContext extensionContext) throws Exception {
-        // no-op
+    public String endpoint() {
+        return azurite != null ? azurite.blobEndpoint()
+            : String.format("https://%s.blob.core.windows.net/%s", account().accountName(), account().accessKey());
     }
 
     @Override
     public void beforeAll(ExtensionContext extensionContext) throws Exception {
+        super.beforeAll(extensionContext);
         LOG.debug("Creating new Azure Storage Blob validation");
-        validation = new StorageBlobValidation(client(), account());
+        validation = new StorageBlobValidation(client());
     }
 }
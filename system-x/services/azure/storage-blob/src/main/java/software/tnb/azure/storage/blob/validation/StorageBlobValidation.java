@@ -1,35 +1,57 @@
 package software.tnb.azure.storage.blob.validation;
 
-import software.tnb.azure.common.account.AzureStorageAccount;
 import software.tnb.common.validation.Validation;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
-import com.azure.storage.blob.BlobContainerClientBuilder;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobDownloadToFileOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
 import com.azure.storage.blob.sas.BlobContainerSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
-import com.azure.storage.common.StorageSharedKeyCredential;
+import com.azure.storage.blob.specialized.BlobInputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class StorageBlobValidation implements Validation {
 
     private static final Logger LOG = LoggerFactory.getLogger(StorageBlobValidation.class);
+    private static final long DEFAULT_BLOCK_SIZE = 8 * 1024 * 1024;
+    private static final int DEFAULT_CONCURRENCY = 8;
+    private static final int DEFAULT_PAGE_SIZE = 5000;
 
     private final BlobServiceClient client;
-    private final AzureStorageAccount account;
+    private long blockSize = DEFAULT_BLOCK_SIZE;
+    private int concurrency = DEFAULT_CONCURRENCY;
 
-    public StorageBlobValidation(BlobServiceClient client, AzureStorageAccount account) {
+    public StorageBlobValidation(BlobServiceClient client) {
         this.client = client;
-        this.account = account;
+    }
+
+    /**
+     * Sets the options for the uploads and downloads, the blob is split into blocks that are transferred in parallel.
+     *
+     * @param blockSize size of one block in bytes
+     * @param concurrency max number of blocks transferred at once
+     */
+    public void setTransferOptions(long blockSize, int concurrency) {
+        this.blockSize = blockSize;
+        this.concurrency = concurrency;
     }
 
     public void createBlobContainer(String name) {
@@ -62,17 +84,78 @@ public class StorageBlobValidation implements Validation {
         return outputStream.toString();
     }
 
+    /**
+     * Uploads the content of the stream as a block blob, the stream is read in blocks that are uploaded in parallel.
+     *
+     * @param blobContainer blob container name
+     * @param blob blob name
+     * @param data content of the blob
+     */
+    public void uploadBlob(String blobContainer, String blob, InputStream data) {
+        LOG.debug("Uploading block blob with name {}", blob);
+        blobClient(blobContainer, blob).uploadWithResponse(new BlobParallelUploadOptions(data).setParallelTransferOptions(uploadOptions()),
+            null, Context.NONE);
+    }
+
+    /**
+     * Uploads the file as a block blob, the blocks are uploaded in parallel.
+     *
+     * @param blobContainer blob container name
+     * @param blob blob name
+     * @param file file to upload
+     */
+    public void uploadFile(String blobContainer, String blob, Path file) {
+        LOG.debug("Uploading file {} to block blob with name {}", file, blob);
+        blobClient(blobContainer, blob).uploadFromFile(file.toString(), uploadOptions(), null, null, null, null, null);
+    }
+
+    /**
+     * Downloads the blob to the file, the blocks are downloaded in parallel.
+     *
+     * @param blobContainer blob container name
+     * @param blob blob name
+     * @param file target file, it must not exist
+     */
+    public void downloadFile(String blobContainer, String blob, Path file) {
+        LOG.debug("Downloading block blob with name {} to file {}", blob, file);
+        blobClient(blobContainer, blob).downloadToFileWithResponse(new BlobDownloadToFileOptions(file.toString())
+            .setParallelTransferOptions(new com.azure.storage.common.ParallelTransferOptions()
+                .setBlockSizeLong(blockSize)
+                .setMaxConcurrency(concurrency)), null, Context.NONE);
+    }
+
+    /**
+     * Opens the stream of the blob content, the content is downloaded lazily block by block.
+     *
+     * @param blobContainer blob container name
+     * @param blob blob name
+     * @return stream that must be closed by the caller
+     */
+    public BlobInputStream openBlob(String blobContainer, String blob) {
+        return blobClient(blobContainer, blob)
+            .openInputStream(new BlobInputStreamOptions().setBlockSize((int) Math.min(blockSize, Integer.MAX_VALUE)));
+    }
+
     public List<BlobItem> getBlockBlobs(String blobContainer) {
         LOG.debug("Getting block blobs from blob container {}", blobContainer);
-        return client.getBlobContainerClient(blobContainer).listBlobs().stream().collect(Collectors.toList());
+        return listBlobs(blobContainer, null, DEFAULT_PAGE_SIZE).collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the blobs lazily, the next page is fetched when the blobs of the current page are consumed.
+     *
+     * @param blobContainer blob container name
+     * @param prefix blob name prefix, null for all blobs
+     * @param pageSize max number of blobs fetched at once
+     * @return stream of blobs
+     */
+    public Stream<BlobItem> listBlobs(String blobContainer, String prefix, int pageSize) {
+        return client.getBlobContainerClient(blobContainer).listBlobs(new ListBlobsOptions().setPrefix(prefix).setMaxResultsPerPage(pageSize), null)
+            .stream();
     }
 
     public String createSasToken(String containerName) {
-        BlobContainerClient blobClient = new BlobContainerClientBuilder()
-            .endpoint(String.format("https://%s.blob.core.windows.net/%s", account.accountName(), account.accessKey()))
-            .containerName(containerName)
-            .credential(new StorageSharedKeyCredential(account.accountName(), account.accessKey()))
-            .buildClient();
+        BlobContainerClient blobClient = client.getBlobContainerClient(containerName);
 
         // Create a SAS token that's valid for 1 day, as an example
         OffsetDateTime expiryTime = OffsetDateTime.now().plusDays(1);
@@ -90,4 +173,15 @@ public class StorageBlobValidation implements Validation {
 
         return blobClient.generateSas(sasSignatureValues);
     }
+
+    private BlobClient blobClient(String blobContainer, String blob) {
+        return client.getBlobContainerClient(blobContainer).getBlobClient(blob);
+    }
+
+    private ParallelTransferOptions uploadOptions() {
+        return new ParallelTransferOptions()
+            .setBlockSizeLong(blockSize)
+            .setMaxSingleUploadSizeLong(blockSize)
+            .setMaxConcurrency(concurrency);
+    }
 }
@@ -0,0 +1,15 @@
+package software.tnb.azure.common.resource.local;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+public class AzuriteContainer extends GenericContainer<AzuriteContainer> {
+    public AzuriteContainer(String image, String accounts, int blobPort, int queuePort) {
+        super(image);
+        withEnv("AZURITE_ACCOUNTS", accounts);
+        withExposedPorts(blobPort, queuePort);
+        // Keep the data in memory and don't reject the newer API versions used by the client libraries
+        withCommand("azurite", "--blobHost", "0.0.0.0", "--queueHost", "0.0.0.0", "--inMemoryPersistence", "--skipApiVersionCheck", "--loose");
+        waitingFor(Wait.forListeningPort());
+    }
+}
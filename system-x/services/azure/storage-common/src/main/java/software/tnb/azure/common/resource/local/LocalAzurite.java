@@ -0,0 +1,54 @@
+package software.tnb.azure.common.resource.local;
+
+import software.tnb.azure.common.service.Azurite;
+import software.tnb.common.deployment.Deployable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.auto.service.AutoService;
+
+@AutoService(Azurite.class)
+public class LocalAzurite extends Azurite implements Deployable {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalAzurite.class);
+    private AzuriteContainer container;
+
+    @Override
+    public void deploy() {
+        LOG.info("Starting Azurite container");
+        container = new AzuriteContainer(image(), ACCOUNT_NAME + ":" + ACCOUNT_KEY, BLOB_PORT, QUEUE_PORT);
+        container.start();
+        LOG.info("Azurite container started");
+    }
+
+    @Override
+    public void undeploy() {
+        if (container != null) {
+            LOG.info("Stopping Azurite container");
+            container.stop();
+        }
+    }
+
+    @Override
+    public void openResources() {
+    }
+
+    @Override
+    public void closeResources() {
+    }
+
+    @Override
+    public String blobEndpoint() {
+        return endpoint(BLOB_PORT);
+    }
+
+    @Override
+    public String queueEndpoint() {
+        return endpoint(QUEUE_PORT);
+    }
+
+    // Azurite uses the path-style urls with the account name in the path
+    private String endpoint(int port) {
+        return String.format("http://%s:%d/%s", container.getHost(), container.getMappedPort(port), account().accountName());
+    }
+}
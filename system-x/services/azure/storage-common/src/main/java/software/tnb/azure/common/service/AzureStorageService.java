@@ -0,0 +1,53 @@
+package software.tnb.azure.common.service;
+
+import software.tnb.azure.common.account.AzureStorageAccount;
+import software.tnb.azure.common.service.configuration.AzureStorageConfiguration;
+import software.tnb.common.config.OpenshiftConfiguration;
+import software.tnb.common.service.ConfigurableService;
+import software.tnb.common.service.ServiceFactory;
+import software.tnb.common.validation.Validation;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Base class for the Azure storage services that can use either the Azure storage account or the local Azurite emulator.
+ * <p>
+ * Azurite runs only as a local container, so it can't be used on OpenShift.
+ */
+public abstract class AzureStorageService<C, V extends Validation> extends ConfigurableService<AzureStorageAccount, C, V, AzureStorageConfiguration> {
+    protected Azurite azurite;
+
+    @Override
+    protected void defaultConfiguration() {
+        getConfiguration().useAzurite(false);
+    }
+
+    @Override
+    public AzureStorageAccount account() {
+        if (azurite != null) {
+            return azurite.account();
+        }
+        return super.account();
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext extensionContext) throws Exception {
+        if (getConfiguration().isAzurite()) {
+            if (OpenshiftConfiguration.isOpenshift()) {
+                throw new IllegalStateException("Azurite is available only locally, remove useAzurite(true) from the "
+                    + getClass().getSimpleName() + " configuration to use the Azure storage account on OpenShift");
+            }
+            azurite = ServiceFactory.create(Azurite.class);
+            azurite.beforeAll(extensionContext);
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext extensionContext) throws Exception {
+        client = null;
+        if (azurite != null) {
+            azurite.afterAll(extensionContext);
+            azurite = null;
+        }
+    }
+}
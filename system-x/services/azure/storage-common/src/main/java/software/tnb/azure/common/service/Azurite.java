@@ -0,0 +1,36 @@
+package software.tnb.azure.common.service;
+
+import software.tnb.azure.common.account.AzureStorageAccount;
+import software.tnb.common.deployment.WithDockerImage;
+import software.tnb.common.service.Service;
+import software.tnb.common.validation.Validation;
+
+/**
+ * Azurite storage emulator that can be used instead of the Azure storage account.
+ */
+public abstract class Azurite extends Service<AzureStorageAccount, Object, Validation> implements WithDockerImage {
+    protected static final int BLOB_PORT = 10000;
+    protected static final int QUEUE_PORT = 10001;
+    protected static final String ACCOUNT_NAME = "tnbaccount";
+    // Base64 encoded key of the account, azurite accepts any valid base64 value
+    protected static final String ACCOUNT_KEY = "dG5iLWF6dXJpdGUtYWNjb3VudC1rZXktdXNlZC1pbi10ZXN0cw==";
+
+    public abstract String blobEndpoint();
+
+    public abstract String queueEndpoint();
+
+    @Override
+    public AzureStorageAccount account() {
+        if (account == null) {
+            account = new AzureStorageAccount();
+            account.setAccount_name(ACCOUNT_NAME);
+            account.setAccess_key(ACCOUNT_KEY);
+        }
+        return account;
+    }
+
+    @Override
+    public String defaultImage() {
+        return "mcr.microsoft.com/azure-storage/azurite:3.31.0";
+    }
+}
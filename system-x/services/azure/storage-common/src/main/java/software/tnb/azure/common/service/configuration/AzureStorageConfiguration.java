@@ -0,0 +1,22 @@
+package software.tnb.azure.common.service.configuration;
+
+import software.tnb.common.service.configuration.ServiceConfiguration;
+
+public class AzureStorageConfiguration extends ServiceConfiguration {
+    private static final String USE_AZURITE = "azure.storage.use.azurite";
+
+    /**
+     * Uses the local Azurite emulator instead of the Azure storage account, not supported on OpenShift.
+     *
+     * @param value true to use Azurite
+     * @return this
+     */
+    public AzureStorageConfiguration useAzurite(boolean value) {
+        set(USE_AZURITE, value);
+        return this;
+    }
+
+    public boolean isAzurite() {
+        return get(USE_AZURITE, Boolean.class);
+    }
+}
@@ -1,8 +1,7 @@
 package software.tnb.azure.storage.queue.service;
 
-import software.tnb.azure.common.account.AzureStorageAccount;
+import software.tnb.azure.common.service.AzureStorageService;
 import software.tnb.azure.storage.queue.validation.StorageQueueValidation;
-import software.tnb.common.service.Service;
 
 import org.junit.jupiter.api.extension.ExtensionContext;
 
@@ -15,24 +14,28 @@ import com.azure.storage.queue.QueueServiceClientBuilder;
 import com.google.auto.service.AutoService;
 
 @AutoService(StorageQueue.class)
-public class StorageQueue extends Service<AzureStorageAccount, QueueServiceClient, StorageQueueValidation> {
+public class StorageQueue extends AzureStorageService<QueueServiceClient, StorageQueueValidation> {
     private static final Logger LOG = LoggerFactory.getLogger(StorageQueue.class);
 
     protected QueueServiceClient client() {
-        LOG.debug("Creating new Storage Queue client");
-        return new QueueServiceClientBuilder()
-            .endpoint(String.format("https://%s.queue.core.windows.net/%s", account().accountName(), account().accessKey()))
-            .credential(new StorageSharedKeyCredential(account().accountName(), account().accessKey()))
-            .buildClient();
+        if (client == null) {
+            LOG.debug("Creating new Storage Queue client");
+            client = new QueueServiceClientBuilder()
+                .endpoint(endpoint())
+                .credential(new StorageSharedKeyCredential(account().accountName(), account().accessKey()))
+                .buildClient();
+        }
+        return client;
     }
 
-    @Override
-    public void afterAll(ExtensionContext extensionContext) throws Exception {
-        // no-op
+    public String endpoint() {
+        return azurite != null ? azurite.queueEndpoint()
+            : String.format("https://%s.queue.core.windows.net/%s", account().accountName(), account().accessKey());
     }
 
     @Override
     public void beforeAll(ExtensionContext extensionContext) throws Exception {
+        super.beforeAll(extensionContext);
         LOG.debug("Creating new Storage Queue validation");
         validation = new StorageQueueValidation(client());
     }
@@ -5,14 +5,20 @@ import software.tnb.common.validation.Validation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.azure.core.util.Context;
+import com.azure.storage.queue.QueueClient;
 import com.azure.storage.queue.QueueServiceClient;
 import com.azure.storage.queue.models.QueueMessageItem;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 public class StorageQueueValidation implements Validation {
     private static final Logger LOG = LoggerFactory.getLogger(StorageQueueValidation.class);
+    // Max number of messages that can be received in one request
+    private static final int MAX_BATCH_SIZE = 32;
+    private static final Duration DEFAULT_VISIBILITY_TIMEOUT = Duration.ofSeconds(30);
 
     private final QueueServiceClient client;
 
@@ -41,12 +47,49 @@ public class StorageQueueValidation implements Validation {
     }
 
     public List<QueueMessageItem> getMessages(String queue, int count) {
+        return getMessages(queue, count, DEFAULT_VISIBILITY_TIMEOUT);
+    }
+
+    /**
+     * Receives up to the given number of messages, the messages are received in batches of {@value #MAX_BATCH_SIZE} until there are no
+     * more visible messages.
+     *
+     * @param queue queue name
+     * @param count max number of messages to receive
+     * @param visibilityTimeout how long the received messages are hidden from other consumers
+     * @return received messages
+     */
+    public List<QueueMessageItem> getMessages(String queue, int count, Duration visibilityTimeout) {
         LOG.debug("Getting {} messages from queue {}", count, queue);
+        final QueueClient queueClient = client.getQueueClient(queue);
         List<QueueMessageItem> messages = new ArrayList<>();
-        client.getQueueClient(queue).receiveMessages(count).forEach(messages::add);
+        while (messages.size() < count) {
+            final int received = messages.size();
+            queueClient.receiveMessages(Math.min(MAX_BATCH_SIZE, count - received), visibilityTimeout, null, Context.NONE)
+                .forEach(messages::add);
+            if (messages.size() == received) {
+                break;
+            }
+        }
         return messages;
     }
 
+    /**
+     * Receives all visible messages from the queue.
+     *
+     * @param queue queue name
+     * @param visibilityTimeout how long the received messages are hidden from other consumers, must be long enough to drain the queue
+     * @return received messages
+     */
+    public List<QueueMessageItem> drainMessages(String queue, Duration visibilityTimeout) {
+        return getMessages(queue, Integer.MAX_VALUE, visibilityTimeout);
+    }
+
+    public void deleteMessages(String queue, List<QueueMessageItem> messages) {
+        final QueueClient queueClient = client.getQueueClient(queue);
+        messages.forEach(message -> queueClient.deleteMessage(message.getMessageId(), message.getPopReceipt()));
+    }
+
     public int getQueueSize(String queue) {
         return client.getQueueClient(queue).getProperties().getApproximateMessagesCount();
     }
@@ -1,5 +1,6 @@
 package software.tnb.db.cassandra.resource.local;
 
+import software.tnb.common.deployment.ContainerReuse;
 import software.tnb.common.deployment.Deployable;
 import software.tnb.db.cassandra.service.Cassandra;
 
@@ -17,13 +18,15 @@ public class LocalCassandra extends Cassandra implements Deployable {
     public void deploy() {
         LOG.info("Starting cassandra container");
         container = new CassandraContainer(image(), CASSANDRA_PORT, containerEnvironment());
+        ContainerReuse.prepare(container, "Cassandra");
         container.start();
+        ContainerReuse.snapshot(container, "Cassandra");
     }
 
     @Override
     public void undeploy() {
         if (container != null) {
-            container.stop();
+            ContainerReuse.stop(container);
         }
     }
 
@@ -1,20 +1,44 @@
 package software.tnb.db.cassandra.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
 import software.tnb.common.validation.Validation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.datastax.oss.driver.api.core.CqlIdentifier;
 import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchStatementBuilder;
+import com.datastax.oss.driver.api.core.cql.DefaultBatchType;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
 import com.datastax.oss.driver.api.querybuilder.SchemaBuilder;
 import com.datastax.oss.driver.api.querybuilder.schema.CreateKeyspace;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class CassandraValidation implements Validation {
+    private static final Logger LOG = LoggerFactory.getLogger(CassandraValidation.class);
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_CONCURRENCY = 256;
+    private static final int DEFAULT_PAGE_SIZE = 5000;
 
     private final CqlSession session;
+    private final Map<String, PreparedStatement> preparedStatements = new ConcurrentHashMap<>();
 
     public CassandraValidation(CqlSession session) {
         this.session = session;
@@ -33,10 +57,119 @@ public class CassandraValidation implements Validation {
         return session.execute(query);
     }
 
+    /**
+     * Executes the query as a prepared statement, the statement is prepared only once for each query.
+     * <p>
+     * Use keyspace-qualified table names in the query, as the prepared statements are cached only by the query string.
+     *
+     * @param query CQL query with bind markers
+     * @param values values to bind
+     * @return result set
+     */
+    public ResultSet execute(String query, Object... values) {
+        return session.execute(prepare(query).bind(values));
+    }
+
+    /**
+     * Inserts the rows using unlogged batches of {@value #DEFAULT_BATCH_SIZE} statements.
+     *
+     * @param query CQL query with bind markers
+     * @param rows values to bind for each row
+     */
+    public void executeBatch(String query, List<Object[]> rows) {
+        executeBatch(query, rows, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Inserts the rows using unlogged batches.
+     * <p>
+     * Unlogged batches are efficient only when the rows in the same batch belong to the same partition, use
+     * {@link #executeAsync(String, Iterable, int)} for the rows spread across many partitions.
+     *
+     * @param query CQL query with bind markers
+     * @param rows values to bind for each row
+     * @param batchSize number of statements in one batch
+     */
+    public void executeBatch(String query, List<Object[]> rows, int batchSize) {
+        LOG.debug("Executing {} statements in batches of {}", rows.size(), batchSize);
+        final PreparedStatement statement = prepare(query);
+        for (int i = 0; i < rows.size(); i += batchSize) {
+            final BatchStatementBuilder batch = BatchStatement.builder(DefaultBatchType.UNLOGGED);
+            rows.subList(i, Math.min(i + batchSize, rows.size())).forEach(row -> batch.addStatement(statement.bind(row)));
+            session.execute(batch.build());
+        }
+    }
+
+    public long executeAsync(String query, Iterable<Object[]> rows) {
+        return executeAsync(query, rows, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Executes the prepared statement for each row asynchronously, with at most the given number of requests in flight.
+     *
+     * @param query CQL query with bind markers
+     * @param rows values to bind for each row, the rows are consumed lazily
+     * @param concurrency max number of requests in flight
+     * @return number of executed statements
+     */
+    public long executeAsync(String query, Iterable<Object[]> rows, int concurrency) {
+        final PreparedStatement statement = prepare(query);
+        final Semaphore inFlight = new Semaphore(concurrency);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicLong executed = new AtomicLong();
+        try {
+            for (Object[] row : rows) {
+                inFlight.acquire();
+                if (failure.get() != null) {
+                    inFlight.release();
+                    break;
+                }
+                session.executeAsync(statement.bind(row)).whenComplete((result, error) -> {
+                    if (error != null) {
+                        failure.compareAndSet(null, error);
+                    } else {
+                        executed.incrementAndGet();
+                    }
+                    inFlight.release();
+                });
+            }
+            // Wait for all requests in flight to complete
+            inFlight.acquire(concurrency);
+            inFlight.release(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while executing statements", e);
+        }
+        if (failure.get() != null) {
+            fail("Unable to execute statement " + query, failure.get());
+        }
+        LOG.debug("Executed {} statements", executed.get());
+        return executed.get();
+    }
+
     public Collection<Object> select(String keyspace, String table) {
-        session.execute("USE " + keyspace);
         List<Object> result = new ArrayList<>();
-        execute("select * from " + table).forEach(result::add);
+        stream(keyspace, table, DEFAULT_PAGE_SIZE).forEach(result::add);
         return result;
     }
+
+    /**
+     * Lazily iterates the rows of the table, the next page is fetched when the rows of the current page are consumed.
+     *
+     * @param keyspace keyspace
+     * @param table table
+     * @param pageSize number of rows fetched at once
+     * @return stream of rows
+     */
+    public Stream<Row> stream(String keyspace, String table, int pageSize) {
+        return stream(QueryBuilder.selectFrom(keyspace, table).all().build().setPageSize(pageSize));
+    }
+
+    public Stream<Row> stream(SimpleStatement statement) {
+        return StreamSupport.stream(session.execute(statement).spliterator(), false);
+    }
+
+    private PreparedStatement prepare(String query) {
+        return preparedStatements.computeIfAbsent(query, session::prepare);
+    }
 }
@@ -1,5 +1,6 @@
 package software.tnb.db.common.local;
 
+import software.tnb.common.deployment.ContainerReuse;
 import software.tnb.common.deployment.Deployable;
 import software.tnb.db.common.service.SQL;
 
@@ -24,19 +25,19 @@ public class LocalDB implements Deployable {
     @Override
     public void deploy() {
         LOG.info("Starting " + sqlService.name() + " container");
+        ContainerReuse.prepare(container, sqlService.name());
         container.start();
+        ContainerReuse.snapshot(container, sqlService.name());
         LOG.info(sqlService.name() + " container started");
     }
 
     @Override
     public void undeploy() {
-        container.stop();
+        ContainerReuse.stop(container);
     }
 
     public void restart(Runnable onContainerStopped) {
-        container.getDockerClient().commitCmd(container.getContainerId())
-            .withRepository("tempimg")
-            .withTag("localdb").exec();
+        ContainerReuse.commit(container, "tempimg:localdb");
         int mappedPort = getPort();
 
         container.stop();
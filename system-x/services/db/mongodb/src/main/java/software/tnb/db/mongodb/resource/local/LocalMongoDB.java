@@ -1,5 +1,6 @@
 package software.tnb.db.mongodb.resource.local;
 
+import software.tnb.common.deployment.ContainerReuse;
 import software.tnb.common.deployment.Deployable;
 import software.tnb.db.mongodb.service.MongoDB;
 
@@ -17,7 +18,9 @@ public class LocalMongoDB extends MongoDB implements Deployable {
     public void deploy() {
         LOG.info("Starting MongoDB container");
         container = new MongoContainer(image(), DEFAULT_PORT, containerEnvironment());
+        ContainerReuse.prepare(container, "MongoDB");
         container.start();
+        ContainerReuse.snapshot(container, "MongoDB");
         LOG.info("MongoDB container started");
     }
 
@@ -25,7 +28,7 @@ public class LocalMongoDB extends MongoDB implements Deployable {
     public void undeploy() {
         if (container != null) {
             LOG.info("Stopping MongoDB container");
-            container.stop();
+            ContainerReuse.stop(container);
         }
     }
 
@@ -1,26 +1,49 @@
 package software.tnb.db.mongodb.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
 import software.tnb.common.validation.Validation;
 import software.tnb.db.mongodb.account.MongoDBAccount;
 
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoChangeStreamCursor;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 public class MongoDBValidation implements Validation {
     private static final Logger LOG = LoggerFactory.getLogger(MongoDBValidation.class);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long DEFAULT_CAPPED_SIZE = 1024 * 1024;
+    private static final Duration CHANGE_STREAM_AWAIT_TIME = Duration.ofMillis(500);
 
     private final MongoClient client;
     private final MongoDBAccount account;
@@ -38,11 +61,35 @@ public class MongoDBValidation implements Validation {
     }
 
     public List<String> createDocuments(String collectionName, Document... documents) {
-        List<String> ids = new ArrayList<>();
-        for (Document document : documents) {
-            ids.add(createDocument(collectionName, document));
-        }
-        return ids;
+        return insertMany(collectionName, List.of(documents), true);
+    }
+
+    /**
+     * Inserts the documents in batches (split by the driver according to the server limits).
+     *
+     * @param collectionName collection name
+     * @param documents documents to insert
+     * @param ordered if true, the insert stops on the first error, otherwise the remaining documents are still inserted
+     * @return list of ids of the inserted documents
+     */
+    public List<String> insertMany(String collectionName, List<Document> documents, boolean ordered) {
+        LOG.info("Publishing {} documents into a collection named {}", documents.size(), collectionName);
+        client.getDatabase(account.database()).getCollection(collectionName).insertMany(documents, new InsertManyOptions().ordered(ordered));
+        // Insert mutates the original objects
+        return documents.stream().map(d -> d.get("_id").toString()).collect(Collectors.toList());
+    }
+
+    /**
+     * Executes the write operations (inserts, updates, replaces, deletes) in bulk.
+     *
+     * @param collectionName collection name
+     * @param operations write operations, for example {@link com.mongodb.client.model.InsertOneModel}
+     * @param ordered if true, the operations are executed in order and the execution stops on the first error
+     * @return bulk write result
+     */
+    public BulkWriteResult bulkWrite(String collectionName, List<? extends WriteModel<Document>> operations, boolean ordered) {
+        LOG.info("Executing {} bulk write operations in a collection named {}", operations.size(), collectionName);
+        return client.getDatabase(account.database()).getCollection(collectionName).bulkWrite(operations, new BulkWriteOptions().ordered(ordered));
     }
 
     public List<Document> getDocuments(String collectionName) {
@@ -56,11 +103,79 @@ public class MongoDBValidation implements Validation {
     private List<Document> getDocuments(String dbName, String collectionName, int count) {
         LOG.debug("Getting documents in MongoDB database {} collection {}", dbName, collectionName);
         MongoCollection<Document> collection = client.getDatabase(dbName).getCollection(collectionName);
-        if (count == -1) {
-            return StreamSupport.stream(collection.find().spliterator(), false).collect(Collectors.toList());
-        } else {
-            return StreamSupport.stream(collection.find().spliterator(), false).limit(count).collect(Collectors.toList());
+        if (count == 0) {
+            return new ArrayList<>();
         }
+        // Limit 0 means no limit in MongoDB
+        return collection.find().limit(count == -1 ? 0 : count).into(new ArrayList<>());
+    }
+
+    public Stream<Document> streamDocuments(String collectionName) {
+        return streamDocuments(collectionName, new Document(), null, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Lazily iterates the documents matching the filter, the documents are fetched from the server in batches as the stream is consumed.
+     * <p>
+     * The stream holds an open cursor, so it should be closed (for example using try-with-resources) if it is not fully consumed.
+     *
+     * @param collectionName collection name
+     * @param filter query filter
+     * @param projection fields to return, null for all fields
+     * @param batchSize number of documents fetched in one batch
+     * @return stream of documents
+     */
+    public Stream<Document> streamDocuments(String collectionName, Bson filter, Bson projection, int batchSize) {
+        LOG.debug("Streaming documents in MongoDB collection {} with filter {}", collectionName, filter);
+        final MongoCursor<Document> cursor = client.getDatabase(account.database()).getCollection(collectionName).find(filter)
+            .projection(projection)
+            .batchSize(batchSize)
+            .cursor();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(cursor::close);
+    }
+
+    /**
+     * Waits until the collection contains the given number of documents matching the filter.
+     * <p>
+     * Instead of re-reading the collection, a change stream is opened before the existing documents are counted and only the documents
+     * inserted / updated after that are checked. Change streams require the MongoDB to run as a replica set.
+     *
+     * @param collectionName collection name
+     * @param filter query filter
+     * @param count number of documents to wait for
+     * @param timeout max wait time
+     * @return matching documents
+     */
+    public List<Document> awaitDocuments(String collectionName, Bson filter, int count, Duration timeout) {
+        LOG.debug("Waiting for {} documents matching {} in MongoDB collection {}", count, filter, collectionName);
+        final MongoCollection<Document> collection = client.getDatabase(account.database()).getCollection(collectionName);
+        final Map<Object, Document> matching = new LinkedHashMap<>();
+        final Instant end = Instant.now().plus(timeout);
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> changes = collection
+            .watch(List.of(Aggregates.match(Filters.in("operationType", "insert", "update", "replace"))))
+            .maxAwaitTime(CHANGE_STREAM_AWAIT_TIME.toMillis(), TimeUnit.MILLISECONDS)
+            .cursor()) {
+            collection.find(filter).forEach(d -> matching.put(d.get("_id"), d));
+
+            while (matching.size() < count) {
+                if (Instant.now().isAfter(end)) {
+                    fail("Expected " + count + " documents matching " + filter + " in collection " + collectionName + ", but found only "
+                        + matching.size());
+                }
+                // Collect all available changes and check them with a single query
+                final List<BsonValue> changedIds = new ArrayList<>();
+                ChangeStreamDocument<Document> change = changes.tryNext();
+                while (change != null) {
+                    changedIds.add(change.getDocumentKey().get("_id"));
+                    change = changes.available() > 0 ? changes.tryNext() : null;
+                }
+                if (!changedIds.isEmpty()) {
+                    collection.find(Filters.and(filter, Filters.in("_id", changedIds))).forEach(d -> matching.put(d.get("_id"), d));
+                }
+            }
+        }
+        return new ArrayList<>(matching.values());
     }
 
     public UpdateResult replaceDocument(String collectionName, Bson filter, Document document) {
@@ -81,13 +196,25 @@ public class MongoDBValidation implements Validation {
     }
 
     public void createCollection(String collectionName) {
+        createCollection(collectionName, DEFAULT_CAPPED_SIZE);
+    }
+
+    /**
+     * Creates the collection.
+     *
+     * @param collectionName collection name
+     * @param cappedSizeInBytes size of the capped collection, 0 for a regular collection
+     */
+    public void createCollection(String collectionName, long cappedSizeInBytes) {
        /*
          The consume operation needs taliable cursors which require capped
          collections
          */
         CreateCollectionOptions options = new CreateCollectionOptions();
-        options.capped(true);
-        options.sizeInBytes(1024 * 1024);
+        if (cappedSizeInBytes > 0) {
+            options.capped(true);
+            options.sizeInBytes(cappedSizeInBytes);
+        }
 
         client.getDatabase(account.database()).createCollection(collectionName, options);
     }
@@ -97,7 +224,7 @@ public class MongoDBValidation implements Validation {
     }
 
     public void copyAllDocuments(String sourceCollection, String destCollection) {
-        client.getDatabase(account.database()).getCollection(destCollection).insertMany(getDocuments(sourceCollection));
+        copyDocuments(account.database(), sourceCollection, destCollection);
     }
 
     public void cloneDatabase(String sourceDatabase) {
@@ -109,12 +236,26 @@ public class MongoDBValidation implements Validation {
     public void copyCollectionFromDatabase(String sourceDatabase, String collectionName) {
         CreateCollectionOptions options = new CreateCollectionOptions();
         options.capped(true);
-        options.sizeInBytes(1024 * 1024);
+        options.sizeInBytes(DEFAULT_CAPPED_SIZE);
 
         client.getDatabase(account.database()).createCollection(collectionName, options);
 
-        client.getDatabase(account.database()).getCollection(collectionName)
-            .insertMany(getDocuments(sourceDatabase, collectionName, -1));
+        copyDocuments(sourceDatabase, collectionName, collectionName);
+    }
+
+    private void copyDocuments(String sourceDatabase, String sourceCollection, String destCollection) {
+        final MongoCollection<Document> destination = client.getDatabase(account.database()).getCollection(destCollection);
+        final List<Document> batch = new ArrayList<>(DEFAULT_BATCH_SIZE);
+        try (MongoCursor<Document> cursor = client.getDatabase(sourceDatabase).getCollection(sourceCollection).find()
+            .batchSize(DEFAULT_BATCH_SIZE).cursor()) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == DEFAULT_BATCH_SIZE || !cursor.hasNext()) {
+                    destination.insertMany(batch, new InsertManyOptions().ordered(false));
+                    batch.clear();
+                }
+            }
+        }
     }
 
     public void dropDatabase(String databaseName) {
@@ -8,17 +8,35 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
 import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.elasticsearch.core.search.HitsMetadata;
 import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.DeleteIndexRequest;
@@ -26,6 +44,10 @@ import co.elastic.clients.elasticsearch.indices.ExistsRequest;
 
 public class ElasticsearchValidation implements Validation {
     private static final Logger LOG = LoggerFactory.getLogger(ElasticsearchValidation.class);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+    private static final String POINT_IN_TIME_KEEP_ALIVE = "1m";
 
     private final ElasticsearchClient client;
 
@@ -67,15 +89,130 @@ public class ElasticsearchValidation implements Validation {
         }
     }
 
+    /**
+     * Iterates over all documents in the index using a point in time and search_after, so that the documents are fetched page by page.
+     *
+     * @param index index name
+     * @param documentClass document class
+     * @param <T> document type
+     * @return stream of hits, the stream should be closed to release the point in time if it is not fully consumed
+     */
+    public <T> Stream<Hit<T>> streamData(String index, Class<T> documentClass) {
+        return streamData(index, Query.of(q -> q.matchAll(m -> m)), documentClass, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Iterates over the documents matching the query using a point in time and search_after, so that the documents are fetched page by page.
+     *
+     * @param index index name
+     * @param query query
+     * @param documentClass document class
+     * @param pageSize number of documents fetched in one request
+     * @param <T> document type
+     * @return stream of hits, the stream should be closed to release the point in time if it is not fully consumed
+     */
+    public <T> Stream<Hit<T>> streamData(String index, Query query, Class<T> documentClass, int pageSize) {
+        final PointInTimeIterator<T> iterator = new PointInTimeIterator<>(index, query, documentClass, pageSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
+    }
+
     public IndexResponse insert(String index, Object content) {
+        return insert(index, content, null);
+    }
+
+    /**
+     * Inserts the document into the index.
+     *
+     * @param index index name
+     * @param content document
+     * @param refresh refresh policy, {@link Refresh#WaitFor} returns when the document is visible for search, null to use the default
+     * @return index response
+     */
+    public IndexResponse insert(String index, Object content, Refresh refresh) {
         try {
-            return client.index(new IndexRequest.Builder<Object>().index(index).document(content).build());
+            return client.index(new IndexRequest.Builder<Object>().index(index).document(content).refresh(refresh).build());
         } catch (IOException e) {
             fail("Unable to create record: ", e);
         }
         return null;
     }
 
+    public long bulkInsert(String index, Iterable<?> documents) {
+        return bulkInsert(index, documents, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, Refresh.WaitFor);
+    }
+
+    /**
+     * Inserts the documents into the index using the bulk API.
+     * <p>
+     * The documents are sent in batches of given size, an incomplete batch is sent after the flush interval. The method returns after all
+     * batches are processed.
+     *
+     * @param index index name
+     * @param documents documents to insert
+     * @param batchSize max number of documents in one bulk request
+     * @param flushInterval interval after which the pending documents are sent
+     * @param refresh refresh policy, {@link Refresh#WaitFor} returns when the documents are visible for search, null to use the default
+     * @return number of inserted documents
+     */
+    public long bulkInsert(String index, Iterable<?> documents, int batchSize, Duration flushInterval, Refresh refresh) {
+        final AtomicLong inserted = new AtomicLong();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        final BulkListener<Void> listener = new BulkListener<>() {
+            @Override
+            public void beforeBulk(long executionId, BulkRequest request, List<Void> contexts) {
+                LOG.trace("Sending bulk request {} with {} operations", executionId, request.operations().size());
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, BulkResponse response) {
+                response.items().forEach(item -> {
+                    if (item.error() == null) {
+                        inserted.incrementAndGet();
+                    } else {
+                        errors.add(item.error().reason());
+                    }
+                });
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, List<Void> contexts, Throwable failure) {
+                errors.add(failure.getMessage());
+            }
+        };
+
+        LOG.debug("Bulk inserting documents into index {}", index);
+        try (BulkIngester<Void> ingester = BulkIngester.of(b -> b
+            .client(client)
+            .maxOperations(batchSize)
+            .flushInterval(flushInterval.toMillis(), TimeUnit.MILLISECONDS)
+            .globalSettings(s -> s.refresh(refresh))
+            .listener(listener))) {
+            for (Object document : documents) {
+                ingester.add(op -> op.index(i -> i.index(index).document(document)));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            fail("Unable to insert " + errors.size() + " documents into index " + index + ", first error: " + errors.get(0));
+        }
+        LOG.debug("Inserted {} documents into index {}", inserted.get(), index);
+        return inserted.get();
+    }
+
+    /**
+     * Refreshes the index, so that all operations performed on the index are visible for search.
+     *
+     * @param index index name
+     */
+    public void refresh(String index) {
+        try {
+            client.indices().refresh(r -> r.index(index));
+        } catch (IOException e) {
+            fail("Unable to refresh index: ", e);
+        }
+    }
+
     public List<String> getIndices() {
         try {
             return client.cat().indices().valueBody().stream().map(i -> i.index()).collect(Collectors.toList());
@@ -91,6 +228,21 @@ public class ElasticsearchValidation implements Validation {
         return new ArrayList<>();
     }
 
+    /**
+     * Returns the number of documents in the index.
+     *
+     * @param index index name
+     * @return document count
+     */
+    public long count(String index) {
+        try {
+            return client.count(c -> c.index(index)).count();
+        } catch (IOException e) {
+            fail("Unable to count documents: ", e);
+            return 0;
+        }
+    }
+
     public boolean indexExists(String index) {
         try {
             return client.indices().exists(new ExistsRequest.Builder().index(index).build()).value();
@@ -99,4 +251,80 @@ public class ElasticsearchValidation implements Validation {
             return false;
         }
     }
+
+    private final class PointInTimeIterator<T> implements Iterator<Hit<T>> {
+        private final Query query;
+        private final Class<T> documentClass;
+        private final int pageSize;
+        private String pitId;
+        private List<FieldValue> searchAfter;
+        private Iterator<Hit<T>> page = Collections.emptyIterator();
+        private boolean lastPage = false;
+
+        private PointInTimeIterator(String index, Query query, Class<T> documentClass, int pageSize) {
+            this.query = query;
+            this.documentClass = documentClass;
+            this.pageSize = pageSize;
+            try {
+                pitId = client.openPointInTime(p -> p.index(index).keepAlive(k -> k.time(POINT_IN_TIME_KEEP_ALIVE))).id();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open point in time for index " + index, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !lastPage) {
+                fetch();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public Hit<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Hit<T> hit = page.next();
+            searchAfter = hit.sort();
+            return hit;
+        }
+
+        private void fetch() {
+            try {
+                final SearchResponse<T> response = client.search(s -> {
+                    s.query(query).size(pageSize)
+                        .pit(p -> p.id(pitId).keepAlive(k -> k.time(POINT_IN_TIME_KEEP_ALIVE)))
+                        .sort(so -> so.field(f -> f.field("_shard_doc")));
+                    if (searchAfter != null) {
+                        s.searchAfter(searchAfter);
+                    }
+                    return s;
+                }, documentClass);
+                if (response.pitId() != null) {
+                    pitId = response.pitId();
+                }
+                final List<Hit<T>> hits = response.hits().hits();
+                page = hits.iterator();
+                lastPage = hits.size() < pageSize;
+                if (lastPage) {
+                    close();
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("Unable to get elasticsearch data", e);
+            }
+        }
+
+        private void close() {
+            if (pitId != null) {
+                try {
+                    client.closePointInTime(c -> c.id(pitId));
+                } catch (IOException | ElasticsearchException e) {
+                    LOG.debug("Unable to close point in time: {}", e.getMessage());
+                }
+                pitId = null;
+            }
+        }
+    }
 }
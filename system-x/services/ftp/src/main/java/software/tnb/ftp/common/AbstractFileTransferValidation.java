@@ -0,0 +1,135 @@
+package software.tnb.ftp.common;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implements the string-based and the bulk operations on top of the streaming operations. The bulk operations run the transfers in
+ * parallel, at most {@link #setConcurrency(int)} at once.
+ */
+public abstract class AbstractFileTransferValidation implements FileTransferValidation {
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    protected int concurrency = DEFAULT_CONCURRENCY;
+
+    @Override
+    public void createFile(String fileName, String fileContent) {
+        uploadFile(fileName, new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public String downloadFile(String fileName) {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        downloadFile(fileName, content);
+        return content.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Map<String, String> downloadAllFiles(String dirName) {
+        final Map<String, String> files = new ConcurrentHashMap<>();
+        inParallel(listAllFiles(dirName).stream()
+            .map(file -> (Runnable) () -> files.put(file, downloadFile(String.format("%s/%s", dirName, file))))
+            .collect(Collectors.toList()));
+        return files;
+    }
+
+    @Override
+    public void uploadDirectory(Path localDir, String dirName) {
+        final List<Path> files;
+        try (Stream<Path> paths = Files.walk(localDir)) {
+            final List<Path> all = paths.sorted().collect(Collectors.toList());
+            // Directories are created first (in order, so that the parents exist), then the files are uploaded in parallel
+            all.stream().filter(Files::isDirectory).forEach(dir -> createDirectories(remotePath(localDir, dir, dirName)));
+            files = all.stream().filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            fail("Validation could not read local directory " + localDir, e);
+            return;
+        }
+        inParallel(files.stream()
+            .map(file -> (Runnable) () -> uploadFile(remotePath(localDir, file, dirName), file))
+            .collect(Collectors.toList()));
+    }
+
+    @Override
+    public void downloadDirectory(String dirName, Path localDir) {
+        // Directories are created while walking the remote tree, then the files are downloaded in parallel
+        final List<Runnable> downloads = new ArrayList<>();
+        collectDownloads(dirName, localDir, downloads);
+        inParallel(downloads);
+    }
+
+    @Override
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Creates the directory including the parent directories, if it doesn't exist.
+     *
+     * @param dirName directory name
+     */
+    protected void createDirectories(String dirName) {
+        createDirectory(dirName);
+    }
+
+    /**
+     * Runs the tasks using at most {@link #concurrency} threads and waits until all of them are done.
+     *
+     * @param tasks tasks to run
+     */
+    protected void inParallel(List<Runnable> tasks) {
+        if (concurrency <= 1 || tasks.size() <= 1) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, tasks.size()));
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            tasks.forEach(task -> futures.add(executor.submit(task)));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                // assertion failures
+                throw (Error) e.getCause();
+            }
+            throw new RuntimeException("File transfer failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the file transfers", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void collectDownloads(String dirName, Path localDir, List<Runnable> downloads) {
+        localDir.toFile().mkdirs();
+        listAllFiles(dirName).forEach(file -> downloads.add(() -> downloadFile(String.format("%s/%s", dirName, file), localDir.resolve(file))));
+        listAllDirectories(dirName).forEach(dir -> collectDownloads(String.format("%s/%s", dirName, dir), localDir.resolve(dir), downloads));
+    }
+
+    private static String remotePath(Path localDir, Path path, String dirName) {
+        final String relative = localDir.relativize(path).toString().replace("\\", "/");
+        return relative.isEmpty() ? dirName : dirName + "/" + relative;
+    }
+}
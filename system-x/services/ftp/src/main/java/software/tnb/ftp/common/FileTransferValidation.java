@@ -2,6 +2,9 @@ package software.tnb.ftp.common;
 
 import software.tnb.common.validation.Validation;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -21,4 +24,44 @@ public interface FileTransferValidation extends Validation {
      * List all files in the specific folder
      */
     List<String> listAllFiles(String dirName);
+
+    /**
+     * List all subdirectories in the specific folder
+     */
+    List<String> listAllDirectories(String dirName);
+
+    /**
+     * Uploads the content of the stream into the file, the content is not buffered in memory.
+     */
+    void uploadFile(String fileName, InputStream content);
+
+    /**
+     * Uploads the local file.
+     */
+    void uploadFile(String fileName, Path localFile);
+
+    /**
+     * Downloads the file into the stream, the content is not buffered in memory.
+     */
+    void downloadFile(String fileName, OutputStream target);
+
+    /**
+     * Downloads the file into the local file.
+     */
+    void downloadFile(String fileName, Path localFile);
+
+    /**
+     * Uploads the local directory recursively, the files are uploaded in parallel.
+     */
+    void uploadDirectory(Path localDir, String dirName);
+
+    /**
+     * Downloads the specific folder recursively into the local directory, the files are downloaded in parallel.
+     */
+    void downloadDirectory(String dirName, Path localDir);
+
+    /**
+     * Sets the max number of parallel transfers.
+     */
+    void setConcurrency(int concurrency);
 }
@@ -6,7 +6,7 @@ import software.tnb.ftp.ftp.service.FTP;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.utility.MountableFile;
 
 import com.google.auto.service.AutoService;
 
@@ -15,6 +15,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -90,21 +91,31 @@ public class LocalFTP extends FTP implements Deployable {
 
         @Override
         public void storeFile(String fileName, InputStream fileContent) throws IOException {
-            container.copyFileToContainer(Transferable.of(fileContent.readAllBytes(), 040777),
-                basePath() + "/" + fileName);
-        }
-
-        @Override
-        public void retrieveFile(String fileName, OutputStream local) throws IOException {
+            // The size of the content must be known, so stream it into a temp file instead of reading it into memory
             Path tempFile = Files.createTempFile(null, null);
             try {
-                container.copyFileFromContainer(basePath() + "/" + fileName, tempFile.toString());
-                org.apache.commons.io.IOUtils.copy(Files.newInputStream(tempFile), local);
+                Files.copy(fileContent, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                storeFile(fileName, tempFile);
             } finally {
                 tempFile.toFile().delete();
             }
         }
 
+        @Override
+        public void storeFile(String fileName, Path localFile) {
+            container.copyFileToContainer(MountableFile.forHostPath(localFile, 040777), basePath() + "/" + fileName);
+        }
+
+        @Override
+        public void retrieveFile(String fileName, OutputStream local) throws IOException {
+            container.copyFileFromContainer(basePath() + "/" + fileName, in -> org.apache.commons.io.IOUtils.copy(in, local));
+        }
+
+        @Override
+        public void retrieveFile(String fileName, Path localFile) {
+            container.copyFileFromContainer(basePath() + "/" + fileName, localFile.toString());
+        }
+
         @Override
         public void makeDirectory(String dirName) throws IOException {
             try {
@@ -117,8 +128,18 @@ public class LocalFTP extends FTP implements Deployable {
         @Override
         public List<String> listFolder(String dirName) throws IOException {
             try {
-                return List.of(container.execInContainer("/bin/bash", "-c", String.format("ls -p %s/%s | grep -v /", basePath(), dirName))
-                    .getStdout().split("\n"));
+                return CustomFTPClient.lines(
+                    container.execInContainer("/bin/bash", "-c", String.format("ls -p %s/%s | grep -v /", basePath(), dirName)).getStdout());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public List<String> listDirectories(String dirName) throws IOException {
+            try {
+                return CustomFTPClient.lines(
+                    container.execInContainer("/bin/bash", "-c", String.format("ls -p %s/%s | grep / | tr -d /", basePath(), dirName)).getStdout());
             } catch (InterruptedException e) {
                 throw new RuntimeException(e);
             }
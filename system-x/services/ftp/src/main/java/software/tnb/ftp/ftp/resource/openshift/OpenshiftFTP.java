@@ -18,9 +18,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -169,27 +167,27 @@ public class OpenshiftFTP extends FTP implements OpenshiftDeployable, WithName,
     public class OpenShiftFTPClient implements CustomFTPClient {
 
         @Override
-        public void storeFile(String fileName, InputStream fileContent) throws IOException {
-            Path tempFile = Files.createTempFile(null, null);
-            try {
-                Files.copy(fileContent, tempFile, StandardCopyOption.REPLACE_EXISTING);
-                servicePod().file("/tmp/" + account().username() + "/" + fileName).upload(tempFile);
-            } finally {
-                tempFile.toFile().delete();
-            }
+        public void storeFile(String fileName, InputStream fileContent) {
+            servicePod().file("/tmp/" + account().username() + "/" + fileName).upload(fileContent);
+        }
+
+        @Override
+        public void storeFile(String fileName, Path localFile) {
+            servicePod().file("/tmp/" + account().username() + "/" + fileName).upload(localFile);
         }
 
         @Override
         public void retrieveFile(String fileName, OutputStream local) throws IOException {
-            Path tempFile = Files.createTempFile(null, null);
-            try {
-                servicePod().file("/tmp/" + account().username() + "/" + fileName).copy(tempFile);
-                org.apache.commons.io.IOUtils.copy(Files.newInputStream(tempFile), local);
-            } finally {
-                tempFile.toFile().delete();
+            try (InputStream in = servicePod().file("/tmp/" + account().username() + "/" + fileName).read()) {
+                org.apache.commons.io.IOUtils.copy(in, local);
             }
         }
 
+        @Override
+        public void retrieveFile(String fileName, Path localFile) {
+            servicePod().file("/tmp/" + account().username() + "/" + fileName).copy(localFile);
+        }
+
         @Override
         public void makeDirectory(String dirName) {
             servicePod().writingOutput(new ByteArrayOutputStream())
@@ -198,10 +196,18 @@ public class OpenshiftFTP extends FTP implements OpenshiftDeployable, WithName,
 
         @Override
         public List<String> listFolder(String dirName) {
+            return exec(String.format("ls -p %s/%s | grep -v /", basePath(), dirName));
+        }
+
+        @Override
+        public List<String> listDirectories(String dirName) {
+            return exec(String.format("ls -p %s/%s | grep / | tr -d /", basePath(), dirName));
+        }
+
+        private List<String> exec(String command) {
             try {
-                return List.of(new String(servicePod().redirectingOutput()
-                    .exec("/bin/bash", "-c", String.format("ls -p %s/%s | grep -v /", basePath(), dirName)).getOutput().readAllBytes())
-                    .split("\n"));
+                return CustomFTPClient.lines(
+                    new String(servicePod().redirectingOutput().exec("/bin/bash", "-c", command).getOutput().readAllBytes()));
             } catch (IOException e) {
                 throw new RuntimeException("Unable to read command output: " + e);
             }
@@ -3,7 +3,11 @@ package software.tnb.ftp.ftp.service;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Custom "FTP" client which may not actually use the FTP protocol at all
@@ -15,10 +19,34 @@ public interface CustomFTPClient {
 
     void retrieveFile(String fileName, OutputStream local) throws IOException;
 
+    default void storeFile(String fileName, Path localFile) throws IOException {
+        try (InputStream in = Files.newInputStream(localFile)) {
+            storeFile(fileName, in);
+        }
+    }
+
+    default void retrieveFile(String fileName, Path localFile) throws IOException {
+        try (OutputStream out = Files.newOutputStream(localFile)) {
+            retrieveFile(fileName, out);
+        }
+    }
+
     void makeDirectory(String dirName) throws IOException;
 
     /**
      * Returns names of all files (exclude directories) in the specific directory
      */
     List<String> listFolder(String dirName) throws IOException;
+
+    /**
+     * Returns names of all subdirectories in the specific directory
+     */
+    List<String> listDirectories(String dirName) throws IOException;
+
+    /**
+     * Splits the output of the listing command into the names, ignoring the empty lines (an empty directory)
+     */
+    static List<String> lines(String output) {
+        return Arrays.stream(output.split("\n")).filter(line -> !line.isBlank()).collect(Collectors.toList());
+    }
 }
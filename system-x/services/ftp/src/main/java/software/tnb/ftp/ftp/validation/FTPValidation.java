@@ -2,18 +2,16 @@ package software.tnb.ftp.ftp.validation;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
-import software.tnb.ftp.common.FileTransferValidation;
+import software.tnb.ftp.common.AbstractFileTransferValidation;
 import software.tnb.ftp.ftp.service.CustomFTPClient;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
-public class FTPValidation implements FileTransferValidation {
+public class FTPValidation extends AbstractFileTransferValidation {
 
     private final CustomFTPClient client;
 
@@ -22,22 +20,38 @@ public class FTPValidation implements FileTransferValidation {
     }
 
     @Override
-    public void createFile(String fileName, String fileContent) {
+    public void uploadFile(String fileName, InputStream content) {
         try {
-            client.storeFile(fileName, new ByteArrayInputStream(fileContent.getBytes(StandardCharsets.UTF_8)));
+            client.storeFile(fileName, content);
         } catch (IOException e) {
             fail("Validation could not store file in FTP", e);
         }
     }
 
     @Override
-    public String downloadFile(String fileName) {
+    public void uploadFile(String fileName, Path localFile) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            client.retrieveFile(fileName, baos);
-            return baos.toString();
+            client.storeFile(fileName, localFile);
         } catch (IOException e) {
-            return fail("Validation could not download file from FTP", e);
+            fail("Validation could not store file in FTP", e);
+        }
+    }
+
+    @Override
+    public void downloadFile(String fileName, OutputStream target) {
+        try {
+            client.retrieveFile(fileName, target);
+        } catch (IOException e) {
+            fail("Validation could not download file from FTP", e);
+        }
+    }
+
+    @Override
+    public void downloadFile(String fileName, Path localFile) {
+        try {
+            client.retrieveFile(fileName, localFile);
+        } catch (IOException e) {
+            fail("Validation could not download file from FTP", e);
         }
     }
 
@@ -51,15 +65,18 @@ public class FTPValidation implements FileTransferValidation {
     }
 
     @Override
-    public Map<String, String> downloadAllFiles(String dirName) {
-        return listAllFiles(dirName).stream()
-            .collect(Collectors.toMap(file -> file, file -> this.downloadFile(String.format("%s/%s", dirName, file))));
+    public List<String> listAllFiles(String dirName) {
+        try {
+            return client.listFolder(dirName);
+        } catch (IOException e) {
+            return fail("Validation could not read directory in FTP", e);
+        }
     }
 
     @Override
-    public List<String> listAllFiles(String dirName) {
+    public List<String> listAllDirectories(String dirName) {
         try {
-            return client.listFolder(dirName);
+            return client.listDirectories(dirName);
         } catch (IOException e) {
             return fail("Validation could not read directory in FTP", e);
         }
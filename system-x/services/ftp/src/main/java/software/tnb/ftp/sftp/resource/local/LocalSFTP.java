@@ -1,7 +1,6 @@
 package software.tnb.ftp.sftp.resource.local;
 
 import software.tnb.common.deployment.Deployable;
-import software.tnb.common.utils.IOUtils;
 import software.tnb.ftp.sftp.service.SFTP;
 
 import org.slf4j.Logger;
@@ -12,7 +11,6 @@ import com.google.auto.service.AutoService;
 import java.io.IOException;
 
 import net.schmizz.sshj.SSHClient;
-import net.schmizz.sshj.sftp.SFTPClient;
 import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 
 @AutoService(SFTP.class)
@@ -44,7 +42,7 @@ public class LocalSFTP extends SFTP implements Deployable {
     @Override
     public void closeResources() {
         executor.shutdownNow();
-        IOUtils.closeQuietly(client);
+        closeClients();
     }
 
     @Override
@@ -63,13 +61,13 @@ public class LocalSFTP extends SFTP implements Deployable {
     }
 
     @Override
-    protected SFTPClient makeClient() {
+    protected SSHClient makeSshClient() {
         try {
             SSHClient sshClient = new SSHClient();
             sshClient.addHostKeyVerifier(new PromiscuousVerifier());
             sshClient.connect(host(), port());
             sshClient.authPassword(account().username(), account().password());
-            return sshClient.newSFTPClient();
+            return sshClient;
         } catch (IOException e) {
             throw new RuntimeException("Unable to create new SFTPClient instance", e);
         }
@@ -39,7 +39,6 @@ import io.fabric8.kubernetes.api.model.apps.DeploymentBuilder;
 import io.fabric8.kubernetes.client.PortForward;
 import io.fabric8.kubernetes.client.dsl.PodResource;
 import net.schmizz.sshj.SSHClient;
-import net.schmizz.sshj.sftp.SFTPClient;
 import net.schmizz.sshj.transport.verification.PromiscuousVerifier;
 
 @AutoService(SFTP.class)
@@ -156,7 +155,7 @@ public class OpenshiftSFTP extends SFTP implements OpenshiftDeployable, WithName
     @Override
     public void closeResources() {
         executor.shutdownNow();
-        IOUtils.closeQuietly(client);
+        closeClients();
         IOUtils.closeQuietly(portForward);
         NetworkUtils.releasePort(localPort);
     }
@@ -186,13 +185,13 @@ public class OpenshiftSFTP extends SFTP implements OpenshiftDeployable, WithName
     }
 
     @Override
-    protected SFTPClient makeClient() {
+    protected SSHClient makeSshClient() {
         try {
             SSHClient sshClient = new SSHClient();
             sshClient.addHostKeyVerifier(new PromiscuousVerifier());
             sshClient.connect(externalHostname(), localPort);
             sshClient.authPassword(account().username(), account().password());
-            return sshClient.newSFTPClient();
+            return sshClient;
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
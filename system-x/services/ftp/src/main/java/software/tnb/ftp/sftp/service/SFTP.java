@@ -2,6 +2,7 @@ package software.tnb.ftp.sftp.service;
 
 import software.tnb.common.deployment.WithDockerImage;
 import software.tnb.common.service.Service;
+import software.tnb.common.utils.IOUtils;
 import software.tnb.common.utils.WaitUtils;
 import software.tnb.ftp.common.FileTransferService;
 import software.tnb.ftp.sftp.account.SFTPAccount;
@@ -10,10 +11,12 @@ import software.tnb.ftp.sftp.validation.SFTPValidation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import net.schmizz.sshj.SSHClient;
 import net.schmizz.sshj.sftp.SFTPClient;
 
 public abstract class SFTP extends Service<SFTPAccount, SFTPClient, SFTPValidation> implements FileTransferService, WithDockerImage {
@@ -21,7 +24,32 @@ public abstract class SFTP extends Service<SFTPAccount, SFTPClient, SFTPValidati
 
     protected final ExecutorService executor = Executors.newFixedThreadPool(1);
 
-    protected abstract SFTPClient makeClient();
+    protected SSHClient sshClient;
+
+    /**
+     * Creates a new connected and authenticated SSH client.
+     *
+     * @return ssh client
+     */
+    protected abstract SSHClient makeSshClient();
+
+    protected SFTPClient makeClient() {
+        sshClient = makeSshClient();
+        return newChannel();
+    }
+
+    /**
+     * Opens a new SFTP channel in the existing SSH session.
+     *
+     * @return sftp client
+     */
+    protected SFTPClient newChannel() {
+        try {
+            return sshClient.newSFTPClient();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create new SFTPClient instance", e);
+        }
+    }
 
     @Override
     public int port() {
@@ -52,11 +80,25 @@ public abstract class SFTP extends Service<SFTPAccount, SFTPClient, SFTPValidati
     public SFTPValidation validation() {
         if (validation == null) {
             LOG.debug("Creating new Ftp validation");
-            validation = new SFTPValidation(account(), client());
+            validation = new SFTPValidation(account(), client(), this::newChannel);
         }
         return validation;
     }
 
+    /**
+     * Closes the validation channels, the client and the SSH session.
+     */
+    protected void closeClients() {
+        if (validation != null) {
+            validation.close();
+            validation = null;
+        }
+        IOUtils.closeQuietly(client);
+        IOUtils.closeQuietly(sshClient);
+        client = null;
+        sshClient = null;
+    }
+
     public Map<String, String> containerEnvironment() {
         return Map.of(
             "SFTP_SERVER_PORT", String.valueOf(port()),
@@ -3,68 +3,92 @@ package software.tnb.ftp.sftp.validation;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import software.tnb.common.utils.IOUtils;
-import software.tnb.ftp.common.FileTransferValidation;
+import software.tnb.ftp.common.AbstractFileTransferValidation;
 import software.tnb.ftp.sftp.account.SFTPAccount;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import net.schmizz.sshj.sftp.OpenMode;
+import net.schmizz.sshj.sftp.RemoteFile;
 import net.schmizz.sshj.sftp.RemoteResourceInfo;
 import net.schmizz.sshj.sftp.SFTPClient;
 
-public class SFTPValidation implements FileTransferValidation {
+public class SFTPValidation extends AbstractFileTransferValidation {
+    private static final int MAX_UNCONFIRMED = 16;
 
     private final SFTPClient client;
     private final SFTPAccount account;
+    private final Supplier<SFTPClient> channelFactory;
+    private final BlockingQueue<SFTPClient> idleChannels = new LinkedBlockingQueue<>();
+    private final List<SFTPClient> channels = new CopyOnWriteArrayList<>();
 
     public SFTPValidation(SFTPAccount account, SFTPClient client) {
+        this(account, client, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param account account
+     * @param client sftp client
+     * @param channelFactory creates additional sftp channels used for the parallel transfers, if null, only the client is used
+     */
+    public SFTPValidation(SFTPAccount account, SFTPClient client, Supplier<SFTPClient> channelFactory) {
         this.client = client;
         this.account = account;
+        this.channelFactory = channelFactory;
+        idleChannels.add(client);
+        channels.add(client);
     }
 
     @Override
-    public void createFile(String fileName, String fileContent) {
-        Path tempFile = createTempFile();
-        try {
-            IOUtils.writeFile(tempFile, fileContent);
-            client.put(tempFile.toString(), getRemoteFileName(fileName));
-        } catch (IOException e) {
-            fail("Validation could not create file in SFTP", e);
-        } finally {
-            tempFile.toFile().delete();
-        }
+    public void uploadFile(String fileName, InputStream content) {
+        withChannel(c -> {
+            try (RemoteFile file = c.open(getRemoteFileName(fileName), EnumSet.of(OpenMode.WRITE, OpenMode.CREAT, OpenMode.TRUNC));
+                OutputStream out = file.new RemoteFileOutputStream(0, MAX_UNCONFIRMED)) {
+                content.transferTo(out);
+            }
+        }, "Validation could not create file in SFTP");
     }
 
     @Override
-    public String downloadFile(String fileName) {
-        Path tempFile = createTempFile();
-        try {
-            client.get(getRemoteFileName(fileName), tempFile.toString());
-            return IOUtils.readFile(tempFile);
-        } catch (IOException e) {
-            return fail("Validation could not download file from SFTP", e);
-        } finally {
-            tempFile.toFile().delete();
-        }
+    public void uploadFile(String fileName, Path localFile) {
+        withChannel(c -> c.put(localFile.toString(), getRemoteFileName(fileName)), "Validation could not create file in SFTP");
+    }
+
+    @Override
+    public void downloadFile(String fileName, OutputStream target) {
+        withChannel(c -> {
+            try (RemoteFile file = c.open(getRemoteFileName(fileName));
+                InputStream in = file.new ReadAheadRemoteFileInputStream(MAX_UNCONFIRMED)) {
+                in.transferTo(target);
+            }
+        }, "Validation could not download file from SFTP");
+    }
+
+    @Override
+    public void downloadFile(String fileName, Path localFile) {
+        withChannel(c -> c.get(getRemoteFileName(fileName), localFile.toString()), "Validation could not download file from SFTP");
     }
 
     @Override
     public void createDirectory(String dirName) {
-        try {
-            client.mkdir(account.baseDir() + "/" + dirName);
-        } catch (IOException e) {
-            fail("Validation could not create directory in SFTP", e);
-        }
+        withChannel(c -> c.mkdir(account.baseDir() + "/" + dirName), "Validation could not create directory in SFTP");
     }
 
     @Override
-    public Map<String, String> downloadAllFiles(String dirName) {
-        return listAllFiles(dirName).stream()
-            .collect(Collectors.toMap(file -> file, file -> this.downloadFile(String.format("%s/%s", dirName, file))));
+    protected void createDirectories(String dirName) {
+        withChannel(c -> c.mkdirs(account.baseDir() + "/" + dirName), "Validation could not create directory in SFTP");
     }
 
     @Override
@@ -79,18 +103,70 @@ public class SFTPValidation implements FileTransferValidation {
         }
     }
 
+    @Override
+    public List<String> listAllDirectories(String dirName) {
+        try {
+            return client.ls(account.baseDir() + "/" + dirName).stream()
+                .filter(RemoteResourceInfo::isDirectory)
+                .map(RemoteResourceInfo::getName)
+                .filter(name -> !".".equals(name) && !"..".equals(name))
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            return fail("Validation could not list directory in SFTP", e);
+        }
+    }
+
+    /**
+     * Closes the additional sftp channels created for the parallel transfers.
+     */
+    public void close() {
+        channels.stream().filter(c -> c != client).forEach(IOUtils::closeQuietly);
+        channels.clear();
+        idleChannels.clear();
+    }
+
     private String getRemoteFileName(String fileName) {
         // the root dir of remote is owned by root, we create a subdir owned by us during container startup, prepend that path here
         return account.baseDir() + "/" + fileName;
     }
 
-    private Path createTempFile() {
-        Path tempFile = null;
+    /**
+     * Runs the operation with a channel from the pool. A new channel is created if there is no idle channel and there are less channels
+     * than the concurrency.
+     */
+    private void withChannel(SFTPOperation operation, String errorMessage) {
+        SFTPClient channel = null;
         try {
-            tempFile = Files.createTempFile(null, null);
+            channel = idleChannels.poll();
+            if (channel == null) {
+                channel = newChannel();
+            }
+            operation.run(channel);
         } catch (IOException e) {
-            fail("Validation could not create temp file", e);
+            fail(errorMessage, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while waiting for SFTP channel", e);
+        } finally {
+            if (channel != null) {
+                idleChannels.add(channel);
+            }
         }
-        return tempFile;
+    }
+
+    private SFTPClient newChannel() throws InterruptedException {
+        synchronized (channels) {
+            if (channelFactory != null && channels.size() < concurrency) {
+                final SFTPClient channel = channelFactory.get();
+                channels.add(channel);
+                return channel;
+            }
+        }
+        return idleChannels.take();
+    }
+
+    @FunctionalInterface
+    private interface SFTPOperation {
+        void run(SFTPClient client) throws IOException;
     }
 }
@@ -1,8 +1,17 @@
 package software.tnb.jaeger.client;
 
+import software.tnb.jaeger.validation.model.TraceQuery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import okhttp3.HttpUrl;
+
 class BaseJaegerClient {
 
     private static final String API_TRACES = "/api/traces";
@@ -19,4 +28,43 @@ class BaseJaegerClient {
         return String.format("%s%s/%s", queryUrl, API_TRACES, traceId);
     }
 
+    protected String apiTraces(TraceQuery query) {
+        final HttpUrl.Builder url = HttpUrl.get(queryUrl + API_TRACES).newBuilder().addQueryParameter("service", query.getService());
+        if (query.getOperation() != null) {
+            url.addQueryParameter("operation", query.getOperation());
+        }
+        if (!query.getTags().isEmpty()) {
+            try {
+                url.addQueryParameter("tags", objectMapper.writeValueAsString(query.getTags()));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Unable to serialize tags", e);
+            }
+        }
+        if (query.getStart() != null) {
+            url.addQueryParameter("start", String.valueOf(micros(query.getStart())));
+        }
+        if (query.getEnd() != null) {
+            url.addQueryParameter("end", String.valueOf(micros(query.getEnd())));
+        }
+        if (query.getMinDuration() != null) {
+            url.addQueryParameter("minDuration", duration(query.getMinDuration()));
+        }
+        if (query.getMaxDuration() != null) {
+            url.addQueryParameter("maxDuration", duration(query.getMaxDuration()));
+        }
+        if (query.getLimit() != null) {
+            url.addQueryParameter("limit", String.valueOf(query.getLimit()));
+        }
+        return url.build().toString();
+    }
+
+    private static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    // Jaeger expects the durations in the go format
+    private static String duration(Duration duration) {
+        return duration.toNanos() / 1000 + "us";
+    }
+
 }
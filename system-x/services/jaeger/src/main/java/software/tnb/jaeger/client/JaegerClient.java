@@ -1,6 +1,8 @@
 package software.tnb.jaeger.client;
 
 import software.tnb.jaeger.validation.model.Span;
+import software.tnb.jaeger.validation.model.Trace;
+import software.tnb.jaeger.validation.model.TraceQuery;
 
 import java.util.List;
 import java.util.Map;
@@ -10,4 +12,6 @@ public interface JaegerClient {
     Map<String, Object> getTrace(String traceId);
 
     List<Span> getSpans(String traceId);
+
+    List<Trace> findTraces(TraceQuery query);
 }
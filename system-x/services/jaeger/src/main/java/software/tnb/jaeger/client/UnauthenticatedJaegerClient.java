@@ -3,13 +3,14 @@ package software.tnb.jaeger.client;
 import software.tnb.common.utils.HTTPUtils;
 import software.tnb.common.utils.WaitUtils;
 import software.tnb.jaeger.validation.model.Span;
+import software.tnb.jaeger.validation.model.Trace;
+import software.tnb.jaeger.validation.model.TraceQuery;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class UnauthenticatedJaegerClient extends BaseJaegerClient implements JaegerClient {
@@ -39,11 +40,36 @@ public class UnauthenticatedJaegerClient extends BaseJaegerClient implements Jae
 
     @Override
     public List<Span> getSpans(String traceId) {
-        final Map data = ((List<Map>) getTrace(traceId).get("data")).get(0);
-        String serviceName = (String) ((Map) Optional.ofNullable(((Map) data.get("processes")).get("p1"))
-                .orElseGet(() -> Map.of("serviceName", ""))).get("serviceName");
+        return toTrace(((List<Map>) getTrace(traceId).get("data")).get(0)).spans();
+    }
+
+    @Override
+    public List<Trace> findTraces(TraceQuery query) {
+        final HTTPUtils.Response response = apiClient.get(apiTraces(query));
+        if (!response.isSuccessful()) {
+            throw new RuntimeException("Unable to search traces, response code " + response.getResponseCode() + ": " + response.getBody());
+        }
+        try {
+            final List<Map> data = (List<Map>) objectMapper.readValue(response.getBody(), Map.class).get("data");
+            return data == null ? List.of() : data.stream().map(this::toTrace).collect(Collectors.toList());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("unable to read json from response", e);
+        }
+    }
+
+    private Trace toTrace(Map data) {
+        final Map<String, Map> processes = (Map<String, Map>) data.getOrDefault("processes", Map.of());
         final List<Span> spans = objectMapper.convertValue(data.get("spans"), new TypeReference<List<Span>>() {
         });
-        return spans.stream().map(span -> span.withServiceName(serviceName)).collect(Collectors.toList());
+        // Each span references the process (service) that created it, fallback to the first process for spans without it
+        final String defaultServiceName = serviceName(processes.get("p1"));
+        return new Trace((String) data.get("traceID"), spans.stream()
+            .map(span -> span.withServiceName(span.getProcessID() != null && processes.containsKey(span.getProcessID())
+                ? serviceName(processes.get(span.getProcessID())) : defaultServiceName))
+            .collect(Collectors.toList()));
+    }
+
+    private static String serviceName(Map process) {
+        return process == null ? "" : (String) process.getOrDefault("serviceName", "");
     }
 }
@@ -1,13 +1,32 @@
 package software.tnb.jaeger.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
+import software.tnb.common.utils.WaitUtils;
 import software.tnb.common.validation.Validation;
 import software.tnb.jaeger.client.JaegerClient;
 import software.tnb.jaeger.validation.model.Span;
+import software.tnb.jaeger.validation.model.SpanStats;
+import software.tnb.jaeger.validation.model.Trace;
+import software.tnb.jaeger.validation.model.TraceQuery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class JaegerValidation implements Validation {
+    private static final Logger LOG = LoggerFactory.getLogger(JaegerValidation.class);
+    private static final long INITIAL_POLL_INTERVAL_MS = 100L;
+    private static final long MAX_POLL_INTERVAL_MS = 2000L;
 
     private final JaegerClient client;
 
@@ -22,4 +41,72 @@ public class JaegerValidation implements Validation {
     public List<Span> getSpans(String traceId) {
         return client.getSpans(traceId);
     }
+
+    /**
+     * Searches the traces matching the query.
+     *
+     * @param query search criteria
+     * @return list of traces
+     */
+    public List<Trace> findTraces(TraceQuery query) {
+        return client.findTraces(query);
+    }
+
+    /**
+     * Waits until at least the given number of traces matching the query is stored in jaeger.
+     * <p>
+     * The query is repeated with an increasing interval, starting at {@value #INITIAL_POLL_INTERVAL_MS} ms up to
+     * {@value #MAX_POLL_INTERVAL_MS} ms, so that the traces flushed quickly are found without waiting for a fixed delay.
+     *
+     * @param query search criteria, set the limit higher than the count, as jaeger returns 20 traces by default
+     * @param count expected number of traces
+     * @param timeout max wait time
+     * @return all traces found by the last query
+     */
+    public List<Trace> awaitTraces(TraceQuery query, int count, Duration timeout) {
+        return await(query, traces -> traces, count, timeout, "traces");
+    }
+
+    /**
+     * Waits until at least the given number of spans matching the predicate is present in the traces matching the query.
+     *
+     * @param query search criteria
+     * @param predicate span filter
+     * @param count expected number of spans
+     * @param timeout max wait time
+     * @return matching spans found by the last query
+     */
+    public List<Span> awaitSpans(TraceQuery query, Predicate<Span> predicate, int count, Duration timeout) {
+        return await(query, traces -> traces.stream().flatMap(trace -> trace.spans().stream()).filter(predicate).collect(Collectors.toList()),
+            count, timeout, "spans");
+    }
+
+    /**
+     * Computes the duration statistics of the spans in the given traces, grouped by the operation name.
+     *
+     * @param traces traces
+     * @return operation name -> duration statistics
+     */
+    public Map<String, SpanStats> spanDurationStats(Collection<Trace> traces) {
+        return traces.stream().flatMap(trace -> trace.spans().stream())
+            .collect(Collectors.groupingBy(Span::getOperationName, TreeMap::new, Collectors.collectingAndThen(Collectors.toList(), SpanStats::of)));
+    }
+
+    private <T> List<T> await(TraceQuery query, Function<List<Trace>, List<T>> extractor, int count, Duration timeout, String what) {
+        final Instant end = Instant.now().plus(timeout);
+        long interval = INITIAL_POLL_INTERVAL_MS;
+        while (true) {
+            final List<T> found = extractor.apply(client.findTraces(query));
+            if (found.size() >= count) {
+                LOG.debug("Found {} {} for service {}", found.size(), what, query.getService());
+                return found;
+            }
+            final long remaining = Duration.between(Instant.now(), end).toMillis();
+            if (remaining <= 0) {
+                fail("Expected " + count + " " + what + " for service " + query.getService() + ", but found only " + found.size());
+            }
+            WaitUtils.sleep(Math.min(interval, remaining));
+            interval = Math.min(interval * 2, MAX_POLL_INTERVAL_MS);
+        }
+    }
 }
@@ -18,6 +18,15 @@ public class Span {
 
     private List<KTVItem> logs;
 
+    private List<SpanReference> references;
+
+    // Start time and duration in microseconds
+    private long startTime;
+
+    private long duration;
+
+    private String processID;
+
     public String getTraceID() {
         return traceID;
     }
@@ -38,6 +47,28 @@ public class Span {
         return logs;
     }
 
+    public List<SpanReference> getReferences() {
+        return references;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public String getProcessID() {
+        return processID;
+    }
+
+    @JsonIgnore
+    public String getParentSpanID() {
+        return references == null ? null : references.stream().filter(r -> "CHILD_OF".equals(r.refType()) && traceID.equals(r.traceID()))
+            .map(SpanReference::spanID).findFirst().orElse(null);
+    }
+
     @JsonIgnore
     private String serviceName;
 
@@ -0,0 +1,18 @@
+package software.tnb.jaeger.validation.model;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Span with its child spans.
+ */
+public record SpanNode(Span span, List<SpanNode> children) {
+    /**
+     * Returns this span and all its descendants, parents before children.
+     *
+     * @return stream of spans
+     */
+    public Stream<Span> flatten() {
+        return Stream.concat(Stream.of(span), children.stream().flatMap(SpanNode::flatten));
+    }
+}
@@ -0,0 +1,4 @@
+package software.tnb.jaeger.validation.model;
+
+public record SpanReference(String refType, String traceID, String spanID) {
+}
@@ -0,0 +1,55 @@
+package software.tnb.jaeger.validation.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Duration statistics of a group of spans, all durations are in microseconds.
+ */
+public final class SpanStats {
+    private final long[] durations;
+
+    private SpanStats(long[] durations) {
+        this.durations = durations;
+    }
+
+    public static SpanStats of(Collection<Span> spans) {
+        return new SpanStats(spans.stream().mapToLong(Span::getDuration).sorted().toArray());
+    }
+
+    public int count() {
+        return durations.length;
+    }
+
+    public long min() {
+        return durations.length == 0 ? 0 : durations[0];
+    }
+
+    public long max() {
+        return durations.length == 0 ? 0 : durations[durations.length - 1];
+    }
+
+    public double mean() {
+        return Arrays.stream(durations).average().orElse(0);
+    }
+
+    /**
+     * Returns the percentile using the nearest-rank method.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return duration in microseconds
+     */
+    public long percentile(double percentile) {
+        if (durations.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100 * durations.length);
+        return durations[Math.max(0, Math.min(rank, durations.length) - 1)];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SpanStats[count=%d, min=%d, p50=%d, p90=%d, p99=%d, max=%d, mean=%.1f]", count(), min(), percentile(50),
+            percentile(90), percentile(99), max(), mean());
+    }
+}
@@ -0,0 +1,31 @@
+package software.tnb.jaeger.validation.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record Trace(String traceID, List<Span> spans) {
+    /**
+     * Reconstructs the span tree from the parent references, the spans whose parent is not part of the trace are the roots.
+     *
+     * @return root spans, ordered by the start time
+     */
+    public List<SpanNode> spanTree() {
+        final Map<String, SpanNode> nodes = new HashMap<>();
+        final List<Span> ordered = spans.stream().sorted(Comparator.comparingLong(Span::getStartTime)).toList();
+        ordered.forEach(span -> nodes.put(span.getSpanID(), new SpanNode(span, new ArrayList<>())));
+
+        final List<SpanNode> roots = new ArrayList<>();
+        for (Span span : ordered) {
+            final SpanNode parent = span.getParentSpanID() == null ? null : nodes.get(span.getParentSpanID());
+            if (parent == null) {
+                roots.add(nodes.get(span.getSpanID()));
+            } else {
+                parent.children().add(nodes.get(span.getSpanID()));
+            }
+        }
+        return roots;
+    }
+}
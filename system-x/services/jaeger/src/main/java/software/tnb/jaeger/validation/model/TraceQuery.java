@@ -0,0 +1,100 @@
+package software.tnb.jaeger.validation.model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Criteria for searching the traces using the Jaeger query api.
+ */
+public class TraceQuery {
+    private final String service;
+    private String operation;
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private Instant start;
+    private Instant end;
+    private Duration minDuration;
+    private Duration maxDuration;
+    private Integer limit;
+
+    public TraceQuery(String service) {
+        this.service = service;
+    }
+
+    public TraceQuery operation(String operation) {
+        this.operation = operation;
+        return this;
+    }
+
+    public TraceQuery tag(String key, String value) {
+        tags.put(key, value);
+        return this;
+    }
+
+    /**
+     * Limits the search to the traces started in the given time window.
+     *
+     * @param start window start
+     * @param end window end
+     * @return this
+     */
+    public TraceQuery window(Instant start, Instant end) {
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    public TraceQuery minDuration(Duration minDuration) {
+        this.minDuration = minDuration;
+        return this;
+    }
+
+    public TraceQuery maxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    /**
+     * Max number of the returned traces, jaeger returns 20 traces by default.
+     *
+     * @param limit limit
+     * @return this
+     */
+    public TraceQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public Duration getMinDuration() {
+        return minDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+}
@@ -13,4 +13,22 @@ public interface KuduClient extends Closeable {
     void createTable(Map<String, Object> tableDefinition);
 
     List<String> listRows(String tableName, List<String> columns, String predicates);
+
+    /**
+     * Inserts the rows into the table.
+     *
+     * @param tableName table name
+     * @param rows rows, column name -> value
+     */
+    void insertRows(String tableName, List<Map<String, Object>> rows);
+
+    /**
+     * Scans the table and returns the typed rows.
+     *
+     * @param tableName table name
+     * @param columns projected columns, all columns when null or empty
+     * @param predicates predicates in the same format as in {@link #listRows}, can be null
+     * @return rows, column name -> value
+     */
+    List<Map<String, Object>> scanRows(String tableName, List<String> columns, String predicates);
 }
@@ -0,0 +1,312 @@
+package software.tnb.kudu.resource.client;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.kudu.ColumnSchema;
+import org.apache.kudu.ColumnTypeAttributes;
+import org.apache.kudu.Schema;
+import org.apache.kudu.Type;
+import org.apache.kudu.client.CreateTableOptions;
+import org.apache.kudu.client.Insert;
+import org.apache.kudu.client.KuduException;
+import org.apache.kudu.client.KuduPredicate;
+import org.apache.kudu.client.KuduScanner;
+import org.apache.kudu.client.KuduSession;
+import org.apache.kudu.client.KuduTable;
+import org.apache.kudu.client.PartialRow;
+import org.apache.kudu.client.RangePartitionBound;
+import org.apache.kudu.client.RowError;
+import org.apache.kudu.client.RowResult;
+import org.apache.kudu.client.SessionConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Client using the <a href=https://kudu.apache.org/docs/developing.html>Kudu Java client</a>, the masters and tablet servers must be
+ * reachable from the test.
+ */
+public class NativeClient implements KuduClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NativeClient.class);
+    // Number of operations buffered in the session before they are flushed in the background
+    private static final int MUTATION_BUFFER_SPACE = 10_000;
+
+    private final org.apache.kudu.client.KuduClient client;
+    private final ObjectMapper mapper;
+
+    public NativeClient(List<String> masters) {
+        client = new org.apache.kudu.client.KuduClient.KuduClientBuilder(String.join(",", masters)).build();
+        mapper = new ObjectMapper();
+    }
+
+    @Override
+    public String findLeaderMasterServer() {
+        return call(() -> client.findLeaderMasterServer().toString());
+    }
+
+    @Override
+    public boolean tableExists(String tableName) {
+        return call(() -> client.tableExists(tableName));
+    }
+
+    /**
+     * Creates the table from the definition in the same format as used by the Kudu CLI, see
+     * {@link software.tnb.kudu.validation.KuduValidation#createTable(Map)}.
+     *
+     * @param tableDefinition {@link Map}
+     */
+    @Override
+    public void createTable(Map<String, Object> tableDefinition) {
+        final Map<String, Object> schemaDefinition = (Map<String, Object>) tableDefinition.get("schema");
+        final List<String> keys = (List<String>) schemaDefinition.getOrDefault("key_column_names", List.of());
+        final List<ColumnSchema> columns = new ArrayList<>();
+        for (Map<String, Object> column : (List<Map<String, Object>>) schemaDefinition.get("columns")) {
+            final String name = (String) column.get("column_name");
+            final Type type = Type.valueOf(((String) column.get("column_type")).toUpperCase());
+            final ColumnSchema.ColumnSchemaBuilder builder = new ColumnSchema.ColumnSchemaBuilder(name, type)
+                .key(keys.contains(name))
+                .nullable(!keys.contains(name) && (Boolean) column.getOrDefault("is_nullable", true));
+            if (column.get("type_attributes") instanceof Map<?, ?> attributes) {
+                final ColumnTypeAttributes.ColumnTypeAttributesBuilder typeAttributes = new ColumnTypeAttributes.ColumnTypeAttributesBuilder();
+                if (attributes.get("precision") != null) {
+                    typeAttributes.precision(Integer.parseInt(attributes.get("precision").toString()));
+                }
+                if (attributes.get("scale") != null) {
+                    typeAttributes.scale(Integer.parseInt(attributes.get("scale").toString()));
+                }
+                if (attributes.get("length") != null) {
+                    typeAttributes.length(Integer.parseInt(attributes.get("length").toString()));
+                }
+                builder.typeAttributes(typeAttributes.build());
+            }
+            if (column.get("comment") != null) {
+                builder.comment((String) column.get("comment"));
+            }
+            final ColumnSchema withoutDefault = builder.build();
+            if (column.get("default_value") != null) {
+                builder.defaultValue(toValue(withoutDefault, column.get("default_value")));
+            }
+            // The key columns must be the first ones in the schema
+            columns.add(keys.contains(name) ? (int) columns.stream().filter(ColumnSchema::isKey).count() : columns.size(), builder.build());
+        }
+        final Schema schema = new Schema(columns);
+
+        final CreateTableOptions options = new CreateTableOptions();
+        final Map<String, Object> partition = (Map<String, Object>) tableDefinition.getOrDefault("partition", Map.of());
+        for (Map<String, Object> hash : (List<Map<String, Object>>) partition.getOrDefault("hash_partitions", List.of())) {
+            options.addHashPartitions((List<String>) hash.get("columns"), ((Number) hash.get("num_buckets")).intValue(),
+                ((Number) hash.getOrDefault("seed", 0)).intValue());
+        }
+        final Map<String, Object> range = (Map<String, Object>) partition.get("range_partition");
+        options.setRangePartitionColumns(range == null ? List.of() : (List<String>) range.get("columns"));
+        if (range != null) {
+            final List<String> rangeColumns = (List<String>) range.get("columns");
+            for (Map<String, Object> bounds : (List<Map<String, Object>>) range.getOrDefault("range_bounds", List.of())) {
+                final PartialRow lower = schema.newPartialRow();
+                final PartialRow upper = schema.newPartialRow();
+                final RangePartitionBound lowerType = rangeBound(schema, rangeColumns, (Map<String, Object>) bounds.get("lower_bound"), lower);
+                final RangePartitionBound upperType = rangeBound(schema, rangeColumns, (Map<String, Object>) bounds.get("upper_bound"), upper);
+                options.addRangePartition(lower, upper, lowerType == null ? RangePartitionBound.INCLUSIVE_BOUND : lowerType,
+                    upperType == null ? RangePartitionBound.EXCLUSIVE_BOUND : upperType);
+            }
+        }
+        if (tableDefinition.get("num_replicas") != null) {
+            // The replication factor can't be higher than the number of the tablet servers
+            final int tabletServers = call(() -> client.listTabletServers().getTabletServersCount());
+            options.setNumReplicas(Math.min(((Number) tableDefinition.get("num_replicas")).intValue(), tabletServers));
+        }
+        if (tableDefinition.get("extra_configs") instanceof Map<?, ?> extraConfigs) {
+            options.setExtraConfigs((Map<String, String>) extraConfigs.get("configs"));
+        }
+        if (tableDefinition.get("comment") != null) {
+            options.setComment((String) tableDefinition.get("comment"));
+        }
+
+        call(() -> client.createTable((String) tableDefinition.get("table_name"), schema, options));
+    }
+
+    @Override
+    public List<String> listRows(String tableName, List<String> columns, String predicates) {
+        final List<String> rows = new ArrayList<>();
+        scan(tableName, columns, predicates, row -> rows.add(row.rowToString()));
+        return rows;
+    }
+
+    /**
+     * Inserts the rows using a session that flushes the buffered operations in the background.
+     *
+     * @param tableName table name
+     * @param rows rows, column name -> value
+     */
+    @Override
+    public void insertRows(String tableName, List<Map<String, Object>> rows) {
+        final KuduTable table = call(() -> client.openTable(tableName));
+        final KuduSession session = client.newSession();
+        session.setFlushMode(SessionConfiguration.FlushMode.AUTO_FLUSH_BACKGROUND);
+        session.setMutationBufferSpace(MUTATION_BUFFER_SPACE);
+        try {
+            for (Map<String, Object> row : rows) {
+                final Insert insert = table.newInsert();
+                row.forEach((column, value) -> insert.getRow().addObject(column, toValue(table.getSchema().getColumn(column), value)));
+                session.apply(insert);
+            }
+            session.flush();
+        } catch (KuduException e) {
+            throw new RuntimeException("Unable to insert rows into " + tableName, e);
+        } finally {
+            call(session::close);
+        }
+
+        final RowError[] errors = session.getPendingErrors().getRowErrors();
+        if (errors.length > 0) {
+            throw new RuntimeException(String.format("Unable to insert %d of %d rows into %s, first error: %s", errors.length, rows.size(),
+                tableName, errors[0]));
+        }
+        LOG.debug("Inserted {} rows into {}", rows.size(), tableName);
+    }
+
+    @Override
+    public List<Map<String, Object>> scanRows(String tableName, List<String> columns, String predicates) {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        scan(tableName, columns, predicates, row -> {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            for (ColumnSchema column : row.getColumnProjection().getColumns()) {
+                values.put(column.getName(), row.isNull(column.getName()) ? null : row.getObject(column.getName()));
+            }
+            rows.add(values);
+        });
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        call(() -> {
+            client.shutdown();
+            return null;
+        });
+    }
+
+    /**
+     * Scans the table, the projection and the predicates are pushed down to the tablet servers.
+     */
+    private void scan(String tableName, List<String> columns, String predicates, Consumer<RowResult> consumer) {
+        final KuduTable table = call(() -> client.openTable(tableName));
+        final KuduScanner.KuduScannerBuilder builder = client.newScannerBuilder(table);
+        if (columns != null && !columns.isEmpty()) {
+            builder.setProjectedColumnNames(columns);
+        }
+        if (StringUtils.isNotBlank(predicates)) {
+            parsePredicates(table.getSchema(), predicates).forEach(builder::addPredicate);
+        }
+        final KuduScanner scanner = builder.build();
+        try {
+            while (scanner.hasMoreRows()) {
+                scanner.nextRows().forEach(consumer);
+            }
+        } catch (KuduException e) {
+            throw new RuntimeException("Unable to scan table " + tableName, e);
+        } finally {
+            call(scanner::close);
+        }
+    }
+
+    /**
+     * Parses the predicates in the Kudu CLI format, for example ["AND", ["=", "id", 1], ["IN", "name", ["a", "b"]], ["NOTNULL", "key"]].
+     */
+    private List<KuduPredicate> parsePredicates(Schema schema, String predicates) {
+        final List<Object> expression;
+        try {
+            expression = mapper.readValue(predicates, List.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to parse predicates " + predicates, e);
+        }
+        if (expression.isEmpty() || !"AND".equalsIgnoreCase(expression.get(0).toString())) {
+            throw new IllegalArgumentException("Predicates must start with AND: " + predicates);
+        }
+
+        final List<KuduPredicate> result = new ArrayList<>();
+        for (Object p : expression.subList(1, expression.size())) {
+            final List<Object> predicate = (List<Object>) p;
+            final String op = predicate.get(0).toString().toUpperCase();
+            final ColumnSchema column = schema.getColumn(predicate.get(1).toString());
+            final KuduPredicate kuduPredicate = switch (op) {
+                case "NULL" -> KuduPredicate.newIsNullPredicate(column);
+                case "NOTNULL" -> KuduPredicate.newIsNotNullPredicate(column);
+                case "IN" -> KuduPredicate.newInListPredicate(column, ((List<Object>) predicate.get(2)).stream()
+                    .map(value -> toValue(column, value)).toList());
+                default -> KuduPredicate.newComparisonPredicate(column, comparisonOp(op), toValue(column, predicate.get(2)));
+            };
+            result.add(kuduPredicate);
+        }
+        return result;
+    }
+
+    private static KuduPredicate.ComparisonOp comparisonOp(String op) {
+        return switch (op) {
+            case "=" -> KuduPredicate.ComparisonOp.EQUAL;
+            case "<" -> KuduPredicate.ComparisonOp.LESS;
+            case "<=" -> KuduPredicate.ComparisonOp.LESS_EQUAL;
+            case ">" -> KuduPredicate.ComparisonOp.GREATER;
+            case ">=" -> KuduPredicate.ComparisonOp.GREATER_EQUAL;
+            default -> throw new IllegalArgumentException("Unsupported predicate operation " + op);
+        };
+    }
+
+    private static RangePartitionBound rangeBound(Schema schema, List<String> columns, Map<String, Object> bound, PartialRow row) {
+        if (bound == null) {
+            return null;
+        }
+        final List<Object> values = (List<Object>) bound.get("bound_values");
+        for (int i = 0; i < values.size(); i++) {
+            row.addObject(columns.get(i), toValue(schema.getColumn(columns.get(i)), values.get(i)));
+        }
+        return "exclusive".equalsIgnoreCase((String) bound.get("bound_type")) ? RangePartitionBound.EXCLUSIVE_BOUND
+            : RangePartitionBound.INCLUSIVE_BOUND;
+    }
+
+    /**
+     * Converts the value (usually a string or a number from the json definition) to the java type expected for the column.
+     */
+    private static Object toValue(ColumnSchema column, Object value) {
+        if (value == null) {
+            return null;
+        }
+        final String s = value.toString();
+        return switch (column.getType()) {
+            case INT8 -> value instanceof Number n ? n.byteValue() : Byte.parseByte(s);
+            case INT16 -> value instanceof Number n ? n.shortValue() : Short.parseShort(s);
+            case INT32 -> value instanceof Number n ? n.intValue() : Integer.parseInt(s);
+            case INT64, UNIXTIME_MICROS -> value instanceof Number n ? n.longValue() : value instanceof String ? Long.parseLong(s) : value;
+            case FLOAT -> value instanceof Number n ? n.floatValue() : Float.parseFloat(s);
+            case DOUBLE -> value instanceof Number n ? n.doubleValue() : Double.parseDouble(s);
+            case BOOL -> value instanceof Boolean ? value : Boolean.parseBoolean(s);
+            case DECIMAL -> value instanceof BigDecimal ? value : new BigDecimal(s);
+            case DATE -> value instanceof String ? java.sql.Date.valueOf(s) : value;
+            case BINARY -> value instanceof String ? s.getBytes(StandardCharsets.UTF_8) : value;
+            default -> value instanceof String ? value : s;
+        };
+    }
+
+    private static <T> T call(KuduCall<T> call) {
+        try {
+            return call.call();
+        } catch (KuduException e) {
+            throw new RuntimeException("Kudu operation failed", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface KuduCall<T> {
+        T call() throws KuduException;
+    }
+}
@@ -0,0 +1,51 @@
+package software.tnb.kudu.resource.client;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the {@link NativeClient} operation inside the cluster, for the deployments where the tablet servers are not reachable from the test.
+ * <p>
+ * Arguments: master addresses, the serialized {@link Request} file and the file to write the serialized result to.
+ */
+public final class NativeClientRunner {
+
+    private NativeClientRunner() {
+    }
+
+    /**
+     * Operation to run, the rows are used by the insert, the columns and the predicates by the scan.
+     */
+    public record Request(String operation, String tableName, List<Map<String, Object>> rows, List<String> columns, String predicates)
+        implements Serializable {
+        public static final String INSERT = "insert";
+        public static final String SCAN = "scan";
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        final Request request;
+        try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(Path.of(args[1])))) {
+            request = (Request) in.readObject();
+        }
+
+        final ArrayList<Map<String, Object>> result = new ArrayList<>();
+        try (NativeClient client = new NativeClient(List.of(args[0].split(",")))) {
+            switch (request.operation()) {
+                case Request.INSERT -> client.insertRows(request.tableName(), request.rows());
+                case Request.SCAN -> result.addAll(client.scanRows(request.tableName(), request.columns(), request.predicates()));
+                default -> throw new IllegalArgumentException("Unsupported operation " + request.operation());
+            }
+        }
+
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(Path.of(args[2])))) {
+            out.writeObject(result);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package software.tnb.kudu.resource.local;
+
+import software.tnb.common.utils.NetworkUtils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+public class KuduContainer extends GenericContainer<KuduContainer> {
+
+    private final int rpcPort = NetworkUtils.getFreePort();
+    private final int httpPort;
+
+    /**
+     * Creates the kudu master or tablet server container.
+     * <p>
+     * The clients connect to the tablet servers using the addresses advertised by the servers, so the rpc port is exposed on the same port
+     * as in the container and the servers advertise the docker host address.
+     *
+     * @param image kudu image
+     * @param network network shared by the master and the tablet servers
+     * @param name container name, used also as the hostname in the network
+     * @param master true for the master, false for the tablet server
+     * @param httpPort webserver port
+     * @param masters master addresses in the network, used by the tablet servers
+     * @param extraArgs additional arguments for the server
+     */
+    public KuduContainer(String image, Network network, String name, boolean master, int httpPort, String masters, String extraArgs) {
+        super(image);
+        this.httpPort = httpPort;
+
+        withNetwork(network);
+        withNetworkAliases(name);
+        withCreateContainerCmdModifier(cmd -> cmd.withHostName(name));
+
+        String advertisedAddress = "localhost";
+        String dockerHost = TestcontainersConfiguration.getInstance().getEnvironment().get("DOCKER_HOST");
+        if (dockerHost != null && dockerHost.contains("tcp://")) {
+            advertisedAddress = StringUtils.substringBetween(dockerHost, "tcp://", ":");
+        }
+
+        addFixedExposedPort(rpcPort, rpcPort);
+        withExposedPorts(httpPort);
+        if (!master) {
+            withEnv("KUDU_MASTERS", masters);
+        }
+        withEnv(master ? "MASTER_ARGS" : "TSERVER_ARGS", String.format("--fs_wal_dir=/var/lib/kudu/%s --rpc_bind_addresses=0.0.0.0:%d"
+                + " --rpc_advertised_addresses=%s:%d --webserver_port=%d --stderrthreshold=0 --use_hybrid_clock=false --unlock_unsafe_flags=true %s",
+            master ? "master" : "tserver", rpcPort, advertisedAddress, rpcPort, httpPort, extraArgs));
+        withCommand(master ? "master" : "tserver");
+
+        waitingFor(Wait.forHttp("/healthz").forPort(httpPort));
+    }
+
+    public int getRpcPort() {
+        return rpcPort;
+    }
+
+    public int getHttpPort() {
+        return getMappedPort(httpPort);
+    }
+}
@@ -0,0 +1,98 @@
+package software.tnb.kudu.resource.local;
+
+import software.tnb.common.deployment.Deployable;
+import software.tnb.kudu.resource.client.NativeClient;
+import software.tnb.kudu.service.Kudu;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Network;
+
+import com.google.auto.service.AutoService;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Local Kudu cluster with one master and one tablet server.
+ * <p>
+ * The tablet servers advertise the docker host address so that they are reachable from the test, but then they can't reach each other,
+ * therefore only a single tablet server is started and the tables are created with one replica.
+ */
+@AutoService(Kudu.class)
+public class LocalKudu extends Kudu implements Deployable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalKudu.class);
+
+    private Network network;
+    private KuduContainer master;
+    private KuduContainer tserver;
+
+    @Override
+    public void deploy() {
+        network = Network.newNetwork();
+
+        LOG.info("Starting Kudu master container");
+        master = new KuduContainer(image(), network, MASTER_PREFIX, true, MASTER_HTTP_PORT, null, "--default_num_replicas=1");
+        master.start();
+
+        LOG.info("Starting Kudu tablet server container");
+        tserver = new KuduContainer(image(), network, TSERVER_PREFIX, false, TSERVER_HTTP_PORT, MASTER_PREFIX + ":" + master.getRpcPort(), "");
+        tserver.start();
+        LOG.info("Kudu containers started");
+    }
+
+    @Override
+    public void undeploy() {
+        if (tserver != null) {
+            LOG.info("Stopping Kudu tablet server container");
+            tserver.stop();
+        }
+        if (master != null) {
+            LOG.info("Stopping Kudu master container");
+            master.stop();
+        }
+        if (network != null) {
+            network.close();
+        }
+    }
+
+    @Override
+    public void openResources() {
+        client = new NativeClient(getMastersUsingRpc());
+        LOG.debug("master leader {}", client.findLeaderMasterServer());
+    }
+
+    @Override
+    public void closeResources() {
+        if (client != null) {
+            try {
+                client.close();
+                client = null;
+                validation = null;
+            } catch (IOException e) {
+                LOG.warn("unable to close the client");
+            }
+        }
+    }
+
+    @Override
+    public List<String> getMastersUsingHttp() {
+        return List.of(master.getHost() + ":" + master.getHttpPort());
+    }
+
+    @Override
+    public List<String> getTserversUsingHttp() {
+        return List.of(tserver.getHost() + ":" + tserver.getHttpPort());
+    }
+
+    @Override
+    public List<String> getMastersUsingRpc() {
+        return List.of(master.getHost() + ":" + master.getRpcPort());
+    }
+
+    @Override
+    public List<String> getTserversUsingRpc() {
+        return List.of(tserver.getHost() + ":" + tserver.getRpcPort());
+    }
+}
@@ -46,16 +46,17 @@ public class OpenshiftKudu extends Kudu implements OpenshiftDeployable, WithInCl
 
     private final List<String> hostNames = List.of(MASTER_PREFIX, TSERVER_PREFIX);
     private static final String KUDU_CLIENT = "kudu-client";
+    private static final String KUDU_JAVA_CLIENT = "kudu-java-client";
 
     @Override
     public void openResources() {
-        client = new RemoteClient(getMastersUsingRpc(), getClientPodName());
+        client = new RemoteClient(getMastersUsingRpc(), getClientPodName(KUDU_CLIENT), getClientPodName(KUDU_JAVA_CLIENT));
         LOG.debug("master leader {}", client.findLeaderMasterServer());
         createUIRoute();
     }
 
-    private String getClientPodName() {
-        return OpenshiftClient.get().pods().withLabel(OpenshiftConfiguration.openshiftDeploymentLabel(), KUDU_CLIENT)
+    private String getClientPodName(String deployment) {
+        return OpenshiftClient.get().pods().withLabel(OpenshiftConfiguration.openshiftDeploymentLabel(), deployment)
             .list().getItems().stream().filter(Readiness::isPodReady).map(p -> p.getMetadata().getName())
             .findAny().orElseThrow(() -> new IllegalStateException("unable to find a ready client pod"));
     }
@@ -76,7 +77,8 @@ public class OpenshiftKudu extends Kudu implements OpenshiftDeployable, WithInCl
     public void create() {
         createServices();
         createStatefulSet();
-        createClient();
+        createClient(KUDU_CLIENT, image());
+        createClient(KUDU_JAVA_CLIENT, getConfiguration().javaClientImage());
     }
 
     @Override
@@ -90,13 +92,16 @@ public class OpenshiftKudu extends Kudu implements OpenshiftDeployable, WithInCl
     public Predicate<Pod> podSelector() {
         return pod -> pod.getMetadata().getLabels().entrySet().stream()
             .anyMatch(e -> e.getKey().equals(OpenshiftConfiguration.openshiftDeploymentLabel())
-            && (MASTER_PREFIX.equals(e.getValue()) || TSERVER_PREFIX.equals(e.getValue()) || KUDU_CLIENT.equals(e.getValue())));
+            && (MASTER_PREFIX.equals(e.getValue()) || TSERVER_PREFIX.equals(e.getValue()) || KUDU_CLIENT.equals(e.getValue())
+            || KUDU_JAVA_CLIENT.equals(e.getValue())));
     }
 
     @Override
     public void undeploy() {
-        LOG.debug("Delete deployment {}", KUDU_CLIENT);
-        OpenshiftClient.get().apps().deployments().withName(KUDU_CLIENT).delete();
+        List.of(KUDU_CLIENT, KUDU_JAVA_CLIENT).forEach(deployment -> {
+            LOG.debug("Delete deployment {}", deployment);
+            OpenshiftClient.get().apps().deployments().withName(deployment).delete();
+        });
 
         LOG.debug("Delete route with label {}={}", OpenshiftConfiguration.openshiftDeploymentLabel(), MASTER_PREFIX);
         OpenshiftClient.get().routes().withLabel(OpenshiftConfiguration.openshiftDeploymentLabel(), MASTER_PREFIX).delete();
@@ -346,27 +351,27 @@ public class OpenshiftKudu extends Kudu implements OpenshiftDeployable, WithInCl
             , "rpc-port", isMaster ? MASTER_RPC_PORT : TSERVER_RPC_PORT);
     }
 
-    private void createClient() {
+    private void createClient(String name, String image) {
         // @formatter:off
-        LOG.debug("Creating deployment for client");
+        LOG.debug("Creating deployment for client {}", name);
         OpenshiftClient.get().apps().deployments().resource(new DeploymentBuilder()
                 .editOrNewMetadata()
-                    .withName(KUDU_CLIENT)
-                    .addToLabels(OpenshiftConfiguration.openshiftDeploymentLabel(), KUDU_CLIENT)
+                    .withName(name)
+                    .addToLabels(OpenshiftConfiguration.openshiftDeploymentLabel(), name)
                 .endMetadata()
                 .editOrNewSpec()
                     .withNewSelector()
-                        .addToMatchLabels(OpenshiftConfiguration.openshiftDeploymentLabel(), KUDU_CLIENT)
+                        .addToMatchLabels(OpenshiftConfiguration.openshiftDeploymentLabel(), name)
                     .endSelector()
                     .withReplicas(1)
                     .editOrNewTemplate()
                         .editOrNewMetadata()
-                            .addToLabels(OpenshiftConfiguration.openshiftDeploymentLabel(), KUDU_CLIENT)
+                            .addToLabels(OpenshiftConfiguration.openshiftDeploymentLabel(), name)
                         .endMetadata()
                         .editOrNewSpec()
                             .addNewContainer()
-                                .withName(KUDU_CLIENT)
-                                .withImage(image())
+                                .withName(name)
+                                .withImage(image)
                                 .withCommand("tail", "-f", "/dev/null")
                             .endContainer()
                         .endSpec()
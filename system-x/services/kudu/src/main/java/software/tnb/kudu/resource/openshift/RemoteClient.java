@@ -2,40 +2,74 @@ package software.tnb.kudu.resource.openshift;
 
 import software.tnb.common.openshift.OpenshiftClient;
 import software.tnb.kudu.resource.client.KuduClient;
+import software.tnb.kudu.resource.client.NativeClient;
+import software.tnb.kudu.resource.client.NativeClientRunner;
 
 import org.apache.commons.lang3.StringUtils;
 import org.awaitility.Awaitility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-
+import com.stumbleupon.async.Deferred;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import cz.xtf.core.openshift.PodShellOutput;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import io.fabric8.kubernetes.client.dsl.PodResource;
 
 /**
  * Run commands in the client POD using <a href=https://kudu.apache.org/docs/command_line_tools_reference.html>Kudu CLI</a>
+ * <p>
+ * The CLI can't write rows, so the rows are inserted and scanned by the {@link NativeClient} running in the Java client POD, as the tablet
+ * servers are not reachable from outside the cluster.
  */
 public class RemoteClient implements KuduClient {
 
     private static final Logger LOG = LoggerFactory.getLogger(RemoteClient.class);
+    private static final String JAVA_CLIENT_DIR = "/tmp/tnb-kudu";
+    private static final long JAVA_CLIENT_TIMEOUT_MINUTES = 10;
+    // Classes whose jars (or class directories) form the classpath of the native client in the pod
+    private static final List<Class<?>> JAVA_CLIENT_CLASSES = List.of(NativeClient.class, org.apache.kudu.client.KuduClient.class,
+        Deferred.class, org.apache.yetus.audience.InterfaceAudience.class, ObjectMapper.class, JsonProcessingException.class, JsonProperty.class,
+        StringUtils.class, LoggerFactory.class);
 
     private final List<String> masters;
     private final String clientPodName;
+    private final String javaClientPodName;
     private final ObjectMapper mapper;
 
     private String leader;
+    private String javaClientClasspath;
 
-    public RemoteClient(List<String> masters, String clientPodName) {
+    public RemoteClient(List<String> masters, String clientPodName, String javaClientPodName) {
         this.masters = masters;
         this.clientPodName = clientPodName;
+        this.javaClientPodName = javaClientPodName;
         mapper = new ObjectMapper();
     }
 
@@ -93,11 +127,100 @@ public class RemoteClient implements KuduClient {
             .toList();
     }
 
+    @Override
+    public void insertRows(String tableName, List<Map<String, Object>> rows) {
+        runNativeClient(new NativeClientRunner.Request(NativeClientRunner.Request.INSERT, tableName, new ArrayList<>(rows), null, null));
+        LOG.debug("Inserted {} rows into {}", rows.size(), tableName);
+    }
+
+    @Override
+    public List<Map<String, Object>> scanRows(String tableName, List<String> columns, String predicates) {
+        return runNativeClient(new NativeClientRunner.Request(NativeClientRunner.Request.SCAN, tableName, null,
+            columns == null ? null : new ArrayList<>(columns), predicates));
+    }
+
     @Override
     public void close() {
         leader = null;
     }
 
+    /**
+     * Runs the native client operation in the Java client POD, the classpath is uploaded on the first call.
+     */
+    private List<Map<String, Object>> runNativeClient(NativeClientRunner.Request request) {
+        final PodResource pod = OpenshiftClient.get().pods().withName(javaClientPodName);
+        if (javaClientClasspath == null) {
+            javaClientClasspath = uploadClasspath(pod);
+        }
+
+        final String id = UUID.randomUUID().toString();
+        final String requestFile = JAVA_CLIENT_DIR + "/request-" + id;
+        final String resultFile = JAVA_CLIENT_DIR + "/result-" + id;
+        try {
+            final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+                out.writeObject(request);
+            }
+            pod.file(requestFile).upload(new ByteArrayInputStream(serialized.toByteArray()));
+
+            exec(pod, "java", "-cp", javaClientClasspath, NativeClientRunner.class.getName(), getMasters(), requestFile, resultFile);
+
+            try (InputStream in = pod.file(resultFile).read(); ObjectInputStream result = new ObjectInputStream(in)) {
+                return (List<Map<String, Object>>) result.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new RuntimeException("Unable to run " + request.operation() + " on table " + request.tableName(), e);
+        } finally {
+            // Don't hide the original exception when the cleanup fails
+            try {
+                exec(pod, "rm", "-f", requestFile, resultFile);
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to remove the request and result files from pod {}: {}", javaClientPodName, e.getMessage());
+            }
+        }
+    }
+
+    private String uploadClasspath(PodResource pod) {
+        final Set<Path> sources = new LinkedHashSet<>();
+        for (Class<?> clazz : JAVA_CLIENT_CLASSES) {
+            try {
+                sources.add(Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()));
+            } catch (URISyntaxException e) {
+                throw new RuntimeException("Unable to locate the classpath entry of " + clazz.getName(), e);
+            }
+        }
+        LOG.debug("Uploading the Kudu Java client classpath {} to pod {}", sources, javaClientPodName);
+        final List<String> classpath = new ArrayList<>();
+        int i = 0;
+        for (Path source : sources) {
+            final String target = JAVA_CLIENT_DIR + "/lib/" + i++ + "-" + source.getFileName();
+            if (Files.isDirectory(source)) {
+                pod.dir(target).upload(source);
+            } else {
+                pod.file(target).upload(source);
+            }
+            classpath.add(target);
+        }
+        return String.join(":", classpath);
+    }
+
+    private void exec(PodResource pod, String... command) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (ExecWatch watch = pod.writingOutput(out).writingError(err).exec(command)) {
+            final int exitCode = watch.exitCode().get(JAVA_CLIENT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            if (exitCode != 0) {
+                throw new RuntimeException(String.format("Command %s failed with exit code %d: %s%s", command[0], exitCode,
+                    out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while running " + command[0], e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Unable to run " + command[0], e);
+        }
+    }
+
     /**
      * Run command in POD
      * @param commands String[], the commands without initial kudu
@@ -2,10 +2,14 @@ package software.tnb.kudu.service.configuration;
 
 import software.tnb.common.service.configuration.ServiceConfiguration;
 
+import java.util.Optional;
+
 public class KuduConfiguration extends ServiceConfiguration {
 
     private static final String MASTER_NUM = "kudu.master.num";
     private static final String TABLET_NUM = "kudu.tablet.num";
+    private static final String JAVA_CLIENT_IMAGE = "kudu.java.client.image";
+    private static final String DEFAULT_JAVA_CLIENT_IMAGE = "registry.access.redhat.com/ubi9/openjdk-17-runtime:1.20";
 
     public KuduConfiguration withMasterNumber(Integer masterNumber) {
         set(MASTER_NUM, masterNumber);
@@ -24,4 +28,19 @@ public class KuduConfiguration extends ServiceConfiguration {
     public Integer tabletNumber() {
         return get(TABLET_NUM, Integer.class);
     }
+
+    /**
+     * Image with Java 17+ used to run the Kudu Java client inside the cluster on OpenShift.
+     *
+     * @param image image
+     * @return this
+     */
+    public KuduConfiguration withJavaClientImage(String image) {
+        set(JAVA_CLIENT_IMAGE, image);
+        return this;
+    }
+
+    public String javaClientImage() {
+        return Optional.ofNullable(get(JAVA_CLIENT_IMAGE, String.class)).orElse(DEFAULT_JAVA_CLIENT_IMAGE);
+    }
 }
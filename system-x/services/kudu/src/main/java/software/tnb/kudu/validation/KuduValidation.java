@@ -54,4 +54,25 @@ public class KuduValidation implements Validation {
     public List<String> listRows(String tableName, List<String> columns, String predicates) {
         return client.listRows(tableName, columns, predicates);
     }
+
+    /**
+     * Inserts the rows into the table using the Kudu Java client.
+     *
+     * @param tableName table name
+     * @param rows rows, column name -> value
+     */
+    public void insertRows(String tableName, List<Map<String, Object>> rows) {
+        client.insertRows(tableName, rows);
+    }
+
+    /**
+     * Return the typed rows of a table, scanned using the Kudu Java client.
+     * @param tableName table name
+     * @param columns Optional
+     * @param predicates Optional, same format as in {@link #listRows(String, List, String)}
+     * @return List of rows, column name -> value
+     */
+    public List<Map<String, Object>> scanRows(String tableName, List<String> columns, String predicates) {
+        return client.scanRows(tableName, columns, predicates);
+    }
 }
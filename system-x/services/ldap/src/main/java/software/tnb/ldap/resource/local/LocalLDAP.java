@@ -1,6 +1,7 @@
 package software.tnb.ldap.resource.local;
 
 import software.tnb.common.deployment.Deployable;
+import software.tnb.ldap.service.LDAP;
 import software.tnb.ldap.service.LDAPLocalStack;
 
 import org.slf4j.Logger;
@@ -49,7 +50,7 @@ public class LocalLDAP extends LDAPLocalStack implements Deployable {
         try {
             ldapConnection.connect(ldapContainer.getHost(), ldapContainer.getMappedPort(PORT), 20000);
             ldapConnection.bind(account().getUsername(), account().getPassword());
-            client = new LDAPConnectionPool(ldapConnection, 1);
+            client = new LDAPConnectionPool(ldapConnection, 1, LDAP.MAX_CONNECTIONS);
         } catch (LDAPException e) {
             LOG.error("Error when connecting to LDAP server: " + e.getMessage());
             throw new RuntimeException("Error when connecting to LDAP server", e);
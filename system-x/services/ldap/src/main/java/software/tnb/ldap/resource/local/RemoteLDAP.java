@@ -1,6 +1,7 @@
 package software.tnb.ldap.resource.local;
 
 import software.tnb.common.deployment.Deployable;
+import software.tnb.ldap.service.LDAP;
 import software.tnb.ldap.service.LDAPRemoteStack;
 
 import org.slf4j.Logger;
@@ -41,7 +42,7 @@ public class RemoteLDAP extends LDAPRemoteStack implements Deployable {
             try {
                 ldapConnection.connect(remoteHost, PORT, 20000);
                 ldapConnection.bind(account().getUsername(), account().getPassword());
-                client = new LDAPConnectionPool(ldapConnection, 1);
+                client = new LDAPConnectionPool(ldapConnection, 1, LDAP.MAX_CONNECTIONS);
                 firstReachableRemoteURL = String.format("ldap://%s:%s", remoteHost, PORT);
                 setReachable(true);
                 break;
@@ -8,6 +8,7 @@ import software.tnb.common.utils.IOUtils;
 import software.tnb.common.utils.MapUtils;
 import software.tnb.common.utils.NetworkUtils;
 import software.tnb.common.utils.WaitUtils;
+import software.tnb.ldap.service.LDAP;
 import software.tnb.ldap.service.LDAPLocalStack;
 
 import org.slf4j.Logger;
@@ -58,7 +59,7 @@ public class OpenshiftLDAP extends LDAPLocalStack implements ReusableOpenshiftDe
         try {
             ldapConnection.connect("localhost", localPort, 20000);
             ldapConnection.bind(account().getUsername(), account().getPassword());
-            client = new LDAPConnectionPool(ldapConnection, 1);
+            client = new LDAPConnectionPool(ldapConnection, 1, LDAP.MAX_CONNECTIONS);
         } catch (LDAPException e) {
             throw new RuntimeException("Error when connecting to LDAP server: " + e.getMessage());
         }
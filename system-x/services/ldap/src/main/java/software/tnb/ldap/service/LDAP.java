@@ -17,6 +17,9 @@ import com.unboundid.ldap.sdk.LDAPConnectionPool;
 public class LDAP<A extends LDAPAccount, C extends LDAPConnectionPool, V extends LDAPValidation>
     extends ConfigurableService<A, C, V, LDAPConfiguration> {
 
+    // The pool starts with one connection and creates more connections when they are used concurrently
+    public static final int MAX_CONNECTIONS = 8;
+
     protected LDAPLocalStack localStack;
 
     protected LDAPRemoteStack remoteStack;
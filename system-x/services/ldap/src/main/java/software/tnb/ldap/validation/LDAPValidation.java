@@ -6,6 +6,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.unboundid.asn1.ASN1OctetString;
+import com.unboundid.ldap.sdk.Entry;
+import com.unboundid.ldap.sdk.LDAPConnection;
 import com.unboundid.ldap.sdk.LDAPConnectionPool;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.SearchRequest;
@@ -13,28 +16,177 @@ import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchResultEntry;
 import com.unboundid.ldap.sdk.SearchScope;
 import com.unboundid.ldap.sdk.SimpleBindRequest;
+import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
+import com.unboundid.ldif.LDIFException;
+import com.unboundid.ldif.LDIFReader;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class LDAPValidation implements Validation {
 
     private static final Logger LOG = LoggerFactory.getLogger(LDAPValidation.class);
+    private static final int DEFAULT_PAGE_SIZE = 500;
+    private static final int DEFAULT_IMPORT_THREADS = 4;
+
     private LDAPConnectionPool ldapConnectionPool;
+    private final String baseDN;
 
     public LDAPValidation(LDAPConnectionPool ldapConnectionPool) {
         this.ldapConnectionPool = ldapConnectionPool;
+        this.baseDN = resolveBaseDN();
+    }
+
+    public String getBaseDN() {
+        return baseDN;
     }
 
     public List<SearchResultEntry> getEntries(String filter) {
+        final List<SearchResultEntry> entries = new ArrayList<>();
+        searchEntries(filter, DEFAULT_PAGE_SIZE, entries::add);
+        return entries;
+    }
+
+    /**
+     * Searches the entries using the simple paged results control, so that the server never returns more than one page at once.
+     * <p>
+     * All pages are read using the same pooled connection, as the paging cookie is bound to the connection.
+     *
+     * @param filter search filter
+     * @param pageSize max number of entries in one page
+     * @param consumer consumer of the entries
+     * @return number of the found entries
+     */
+    public int searchEntries(String filter, int pageSize, Consumer<SearchResultEntry> consumer) {
+        LDAPConnection connection = null;
+        int count = 0;
         try {
-            final String baseDN = StringUtils.substringAfter(((SimpleBindRequest) ldapConnectionPool.getConnection().getLastBindRequest())
-                .getBindDN(), ",");
-            SearchRequest searchRequest = new SearchRequest(baseDN, SearchScope.SUB, filter);
-            SearchResult searchResult = ldapConnectionPool.search(searchRequest);
-            return searchResult.getSearchEntries();
+            connection = ldapConnectionPool.getConnection();
+            final SearchRequest searchRequest = new SearchRequest(baseDN, SearchScope.SUB, filter);
+            ASN1OctetString cookie = null;
+            do {
+                searchRequest.setControls(new SimplePagedResultsControl(pageSize, cookie));
+                final SearchResult searchResult = connection.search(searchRequest);
+                searchResult.getSearchEntries().forEach(consumer);
+                count += searchResult.getEntryCount();
+
+                final SimplePagedResultsControl responseControl = SimplePagedResultsControl.get(searchResult);
+                cookie = responseControl != null && responseControl.moreResultsToReturn() ? responseControl.getCookie() : null;
+            } while (cookie != null);
+            return count;
         } catch (LDAPException e) {
+            if (connection != null) {
+                ldapConnectionPool.releaseConnectionAfterException(connection, e);
+                connection = null;
+            }
             LOG.error("Error when searching for entry");
-            throw new RuntimeException("Error when searching for entry");
+            throw new RuntimeException("Error when searching for entry", e);
+        } finally {
+            if (connection != null) {
+                ldapConnectionPool.releaseConnection(connection);
+            }
+        }
+    }
+
+    /**
+     * Imports the entries from the LDIF content, the entries are added in parallel using the pooled connections.
+     *
+     * @param ldif LDIF content with multiple entries
+     * @return number of imported entries
+     */
+    public int importLdif(InputStream ldif) {
+        return importLdif(ldif, DEFAULT_IMPORT_THREADS);
+    }
+
+    public int importLdif(InputStream ldif, int threads) {
+        final List<Entry> entries = new ArrayList<>();
+        try (LDIFReader reader = new LDIFReader(ldif)) {
+            Entry entry;
+            while ((entry = reader.readEntry()) != null) {
+                entries.add(entry);
+            }
+        } catch (IOException | LDIFException e) {
+            throw new RuntimeException("Unable to read LDIF entries", e);
+        }
+        addEntries(entries, threads);
+        return entries.size();
+    }
+
+    /**
+     * Adds the entries in parallel, each thread uses its own connection from the pool.
+     * <p>
+     * The entries are added level by level ordered by the depth of their DN, so that a parent entry always exists before its children
+     * are added.
+     *
+     * @param entries entries to add
+     * @param threads number of threads
+     */
+    public void addEntries(List<Entry> entries, int threads) {
+        LOG.debug("Adding {} entries using {} threads", entries.size(), threads);
+        final Map<Integer, List<Entry>> levels = new TreeMap<>();
+        for (Entry entry : entries) {
+            try {
+                levels.computeIfAbsent(entry.getParsedDN().getRDNs().length, depth -> new ArrayList<>()).add(entry);
+            } catch (LDAPException e) {
+                throw new RuntimeException("Invalid DN of entry " + entry.getDN(), e);
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (List<Entry> level : levels.values()) {
+                addLevel(executor, level, threads);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void addLevel(ExecutorService executor, List<Entry> entries, int threads) {
+        final AtomicInteger next = new AtomicInteger();
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < Math.min(threads, entries.size()); i++) {
+                futures.add(executor.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < entries.size()) {
+                        ldapConnectionPool.add(entries.get(index));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            next.set(entries.size());
+            throw new RuntimeException("Unable to add entries", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while adding entries", e);
+        }
+    }
+
+    private String resolveBaseDN() {
+        LDAPConnection connection = null;
+        try {
+            connection = ldapConnectionPool.getConnection();
+            return StringUtils.substringAfter(((SimpleBindRequest) connection.getLastBindRequest()).getBindDN(), ",");
+        } catch (LDAPException e) {
+            throw new RuntimeException("Unable to resolve the base DN", e);
+        } finally {
+            if (connection != null) {
+                ldapConnectionPool.releaseConnection(connection);
+            }
         }
     }
 }
@@ -0,0 +1,226 @@
+package software.tnb.opentelemetry.resource.local;
+
+import software.tnb.common.config.OpenshiftConfiguration;
+import software.tnb.common.deployment.Deployable;
+import software.tnb.common.utils.NetworkUtils;
+import software.tnb.opentelemetry.service.OpenTelemetryCollector;
+import software.tnb.opentelemetry.service.configuration.InMemoryCollectorConfiguration;
+import software.tnb.opentelemetry.validation.OpenTelemetryValidation;
+import software.tnb.opentelemetry.validation.TelemetryStore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.auto.service.AutoService;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.stub.StreamObserver;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceResponse;
+import io.opentelemetry.proto.collector.logs.v1.LogsServiceGrpc;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceResponse;
+import io.opentelemetry.proto.collector.metrics.v1.MetricsServiceGrpc;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceResponse;
+import io.opentelemetry.proto.collector.trace.v1.TraceServiceGrpc;
+
+/**
+ * OTLP receiver running inside the test JVM, that stores the received telemetry in memory instead of exporting it.
+ * <p>
+ * Enabled by the {@value InMemoryCollectorConfiguration#IN_MEMORY} property. The gRPC receiver accepts the protobuf and the gzip
+ * encoding, the HTTP receiver accepts the binary protobuf encoding only. The collector pipelines configured in the service configuration
+ * are ignored, use {@link #validation()} to query the received telemetry.
+ */
+@AutoService(OpenTelemetryCollector.class)
+public class InMemoryOpenTelemetryCollector extends OpenTelemetryCollector implements Deployable {
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryOpenTelemetryCollector.class);
+    private static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+    private static final String PROTOBUF_CONTENT_TYPE = "application/x-protobuf";
+
+    private final TelemetryStore store = new TelemetryStore();
+    private Server grpcServer;
+    private HttpServer httpServer;
+    private ExecutorService httpExecutor;
+    private int grpcPort;
+    private int httpPort;
+
+    @Override
+    public void deploy() {
+        LOG.info("Starting in-memory OpenTelemetry collector");
+        grpcPort = port(InMemoryCollectorConfiguration.grpcPort());
+        httpPort = port(InMemoryCollectorConfiguration.httpPort());
+        try {
+            grpcServer = Grpc.newServerBuilderForPort(grpcPort, InsecureServerCredentials.create())
+                .maxInboundMessageSize(MAX_MESSAGE_SIZE)
+                .addService(new TraceService())
+                .addService(new MetricsService())
+                .addService(new LogsService())
+                .build()
+                .start();
+
+            httpExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            httpServer = HttpServer.create(new InetSocketAddress(httpPort), 0);
+            httpServer.setExecutor(httpExecutor);
+            httpServer.createContext("/v1/traces", exchange -> handle(exchange, ExportTraceServiceRequest::parseFrom, store::add,
+                ExportTraceServiceResponse.getDefaultInstance()));
+            httpServer.createContext("/v1/metrics", exchange -> handle(exchange, ExportMetricsServiceRequest::parseFrom, store::add,
+                ExportMetricsServiceResponse.getDefaultInstance()));
+            httpServer.createContext("/v1/logs", exchange -> handle(exchange, ExportLogsServiceRequest::parseFrom, store::add,
+                ExportLogsServiceResponse.getDefaultInstance()));
+            httpServer.start();
+        } catch (IOException e) {
+            undeploy();
+            throw new RuntimeException("Unable to start the in-memory OpenTelemetry collector", e);
+        }
+        LOG.info("In-memory OpenTelemetry collector started, gRPC port {}, HTTP port {}", grpcPort, httpPort);
+    }
+
+    @Override
+    public void undeploy() {
+        LOG.info("Stopping in-memory OpenTelemetry collector");
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+            httpExecutor = null;
+        }
+        if (grpcServer != null) {
+            grpcServer.shutdownNow();
+            try {
+                grpcServer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            grpcServer = null;
+        }
+        NetworkUtils.releasePort(grpcPort);
+        NetworkUtils.releasePort(httpPort);
+    }
+
+    @Override
+    public void openResources() {
+        validation = new OpenTelemetryValidation(store);
+    }
+
+    @Override
+    public void closeResources() {
+        store.clear();
+    }
+
+    @Override
+    public OpenTelemetryValidation validation() {
+        return (OpenTelemetryValidation) validation;
+    }
+
+    @Override
+    public boolean enabled() {
+        return !OpenshiftConfiguration.isOpenshift() && InMemoryCollectorConfiguration.inMemory();
+    }
+
+    @Override
+    public int priority() {
+        // Preferred over the local container when enabled
+        return 1;
+    }
+
+    @Override
+    public String getLog() {
+        return store.toString();
+    }
+
+    @Override
+    public String getGrpcEndpoint() {
+        return "http://localhost:" + grpcPort;
+    }
+
+    @Override
+    public String getHttpEndpoint() {
+        return "http://localhost:" + httpPort;
+    }
+
+    private static int port(int configured) {
+        return configured == 0 ? NetworkUtils.getFreePort() : configured;
+    }
+
+    private <T> void handle(HttpExchange exchange, Parser<T> parser, Consumer<T> consumer, MessageLite response) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (contentType == null || !contentType.startsWith(PROTOBUF_CONTENT_TYPE)) {
+                exchange.sendResponseHeaders(415, -1);
+                return;
+            }
+            final T request;
+            try (InputStream body = "gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+                ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+                request = parser.parse(body);
+            } catch (InvalidProtocolBufferException e) {
+                LOG.warn("Unable to parse OTLP request: {}", e.getMessage());
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            consumer.accept(request);
+
+            final byte[] bytes = response.toByteArray();
+            exchange.getResponseHeaders().set("Content-Type", PROTOBUF_CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser<T> {
+        T parse(InputStream input) throws IOException;
+    }
+
+    private final class TraceService extends TraceServiceGrpc.TraceServiceImplBase {
+        @Override
+        public void export(ExportTraceServiceRequest request, StreamObserver<ExportTraceServiceResponse> responseObserver) {
+            store.add(request);
+            responseObserver.onNext(ExportTraceServiceResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+
+    private final class MetricsService extends MetricsServiceGrpc.MetricsServiceImplBase {
+        @Override
+        public void export(ExportMetricsServiceRequest request, StreamObserver<ExportMetricsServiceResponse> responseObserver) {
+            store.add(request);
+            responseObserver.onNext(ExportMetricsServiceResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+
+    private final class LogsService extends LogsServiceGrpc.LogsServiceImplBase {
+        @Override
+        public void export(ExportLogsServiceRequest request, StreamObserver<ExportLogsServiceResponse> responseObserver) {
+            store.add(request);
+            responseObserver.onNext(ExportLogsServiceResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -6,6 +6,10 @@ import software.tnb.common.service.ConfigurableService;
 import software.tnb.common.validation.NoValidation;
 import software.tnb.opentelemetry.service.configuration.OpenTelemetryCollectorConfiguration;
 
+/**
+ * OpenTelemetry collector, the received telemetry can be queried only with the in-memory collector, see
+ * {@link software.tnb.opentelemetry.resource.local.InMemoryOpenTelemetryCollector#validation()}.
+ */
 public abstract class OpenTelemetryCollector extends ConfigurableService<NoAccount, NoClient, NoValidation, OpenTelemetryCollectorConfiguration> {
 
     public abstract String getLog();
@@ -0,0 +1,28 @@
+package software.tnb.opentelemetry.service.configuration;
+
+import software.tnb.common.config.Configuration;
+
+public class InMemoryCollectorConfiguration extends Configuration {
+
+    public static final String IN_MEMORY = "opentelemetry.collector.in.memory";
+    public static final String GRPC_PORT = "opentelemetry.collector.in.memory.grpc.port";
+    public static final String HTTP_PORT = "opentelemetry.collector.in.memory.http.port";
+
+    public static boolean inMemory() {
+        return getBoolean(IN_MEMORY, false);
+    }
+
+    /**
+     * Port of the OTLP gRPC receiver, 0 means a random free port.
+     */
+    public static int grpcPort() {
+        return getInteger(GRPC_PORT, 4317);
+    }
+
+    /**
+     * Port of the OTLP HTTP receiver, 0 means a random free port.
+     */
+    public static int httpPort() {
+        return getInteger(HTTP_PORT, 4318);
+    }
+}
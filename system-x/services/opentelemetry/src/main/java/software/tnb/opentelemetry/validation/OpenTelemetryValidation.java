@@ -0,0 +1,124 @@
+package software.tnb.opentelemetry.validation;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+import software.tnb.common.validation.NoValidation;
+import software.tnb.opentelemetry.validation.model.Telemetry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import io.opentelemetry.proto.logs.v1.LogRecord;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.trace.v1.Span;
+
+/**
+ * Queries the telemetry received by the in-memory collector.
+ * <p>
+ * Extends the {@link NoValidation} of the OpenTelemetry collector service, so that it is available only from the in-memory collector.
+ */
+public class OpenTelemetryValidation extends NoValidation {
+    private final TelemetryStore store;
+
+    public OpenTelemetryValidation(TelemetryStore store) {
+        this.store = store;
+    }
+
+    public List<Telemetry<Span>> getSpans() {
+        return List.copyOf(store.spans());
+    }
+
+    /**
+     * Returns the spans of the trace.
+     *
+     * @param traceId trace id in the hex format
+     * @return list of spans
+     */
+    public List<Telemetry<Span>> getTrace(String traceId) {
+        return List.copyOf(store.spansByTraceId(traceId));
+    }
+
+    public List<Telemetry<Span>> getSpans(String serviceName) {
+        return List.copyOf(store.spansByService(serviceName));
+    }
+
+    public List<Telemetry<Metric>> getMetrics() {
+        return List.copyOf(store.metrics());
+    }
+
+    public List<Telemetry<Metric>> getMetrics(String name) {
+        return List.copyOf(store.metricsByName(name));
+    }
+
+    public List<Telemetry<LogRecord>> getLogs() {
+        return List.copyOf(store.logs());
+    }
+
+    public List<Telemetry<LogRecord>> getLogs(String serviceName) {
+        return List.copyOf(store.logsByService(serviceName));
+    }
+
+    /**
+     * Waits until the trace contains at least the given number of spans.
+     *
+     * @param traceId trace id in the hex format
+     * @param spanCount expected number of spans
+     * @param timeout max wait time
+     * @return spans of the trace
+     */
+    public List<Telemetry<Span>> awaitTrace(String traceId, int spanCount, Duration timeout) {
+        return await(() -> store.spansByTraceId(traceId), s -> true, spanCount, timeout, "spans in trace " + traceId);
+    }
+
+    /**
+     * Waits until the service produces at least the given number of spans matching the predicate.
+     *
+     * @param serviceName service name resource attribute
+     * @param predicate span filter
+     * @param count expected number of spans
+     * @param timeout max wait time
+     * @return matching spans
+     */
+    public List<Telemetry<Span>> awaitSpans(String serviceName, Predicate<Telemetry<Span>> predicate, int count, Duration timeout) {
+        return await(() -> store.spansByService(serviceName), predicate, count, timeout, "spans from service " + serviceName);
+    }
+
+    /**
+     * Waits until at least the given number of data points matching the predicate is received for the metric.
+     * <p>
+     * Each export of the metric is stored separately, so a periodically exported metric is received once per export interval.
+     *
+     * @param name metric name
+     * @param predicate metric filter
+     * @param count expected number of received metrics
+     * @param timeout max wait time
+     * @return matching metrics
+     */
+    public List<Telemetry<Metric>> awaitMetrics(String name, Predicate<Telemetry<Metric>> predicate, int count, Duration timeout) {
+        return await(() -> store.metricsByName(name), predicate, count, timeout, "exports of metric " + name);
+    }
+
+    public List<Telemetry<LogRecord>> awaitLogs(String serviceName, Predicate<Telemetry<LogRecord>> predicate, int count, Duration timeout) {
+        return await(() -> store.logsByService(serviceName), predicate, count, timeout, "log records from service " + serviceName);
+    }
+
+    /**
+     * Removes all received telemetry.
+     */
+    public void clear() {
+        store.clear();
+    }
+
+    private <T> List<Telemetry<T>> await(Supplier<Collection<Telemetry<T>>> source, Predicate<Telemetry<T>> predicate,
+        int count, Duration timeout, String what) {
+        final List<Telemetry<T>> result = store.await(() -> source.get().stream().filter(predicate).collect(Collectors.toList()), count, timeout);
+        if (result.size() < count) {
+            fail("Expected " + count + " " + what + ", but received only " + result.size());
+        }
+        return result;
+    }
+}
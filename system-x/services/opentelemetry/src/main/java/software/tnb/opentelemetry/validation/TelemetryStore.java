@@ -0,0 +1,150 @@
+package software.tnb.opentelemetry.validation;
+
+import software.tnb.opentelemetry.validation.model.Telemetry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.logs.v1.LogRecord;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.trace.v1.Span;
+
+/**
+ * Stores the received telemetry in memory, indexed by the trace id, service name and metric name.
+ * <p>
+ * The store is written concurrently by the receivers, the waiting threads are notified after each export request.
+ */
+public class TelemetryStore {
+    private final Queue<Telemetry<Span>> spans = new ConcurrentLinkedQueue<>();
+    private final Map<String, Queue<Telemetry<Span>>> spansByTraceId = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Telemetry<Span>>> spansByService = new ConcurrentHashMap<>();
+    private final Queue<Telemetry<Metric>> metrics = new ConcurrentLinkedQueue<>();
+    private final Map<String, Queue<Telemetry<Metric>>> metricsByName = new ConcurrentHashMap<>();
+    private final Queue<Telemetry<LogRecord>> logs = new ConcurrentLinkedQueue<>();
+    private final Map<String, Queue<Telemetry<LogRecord>>> logsByService = new ConcurrentHashMap<>();
+    private final Object monitor = new Object();
+
+    public void add(ExportTraceServiceRequest request) {
+        request.getResourceSpansList().forEach(resourceSpans -> resourceSpans.getScopeSpansList().forEach(scopeSpans ->
+            scopeSpans.getSpansList().forEach(span -> {
+                final Telemetry<Span> telemetry = new Telemetry<>(resourceSpans.getResource(), scopeSpans.getScope(), span);
+                spans.add(telemetry);
+                index(spansByTraceId, Telemetry.hex(span.getTraceId()), telemetry);
+                index(spansByService, telemetry.serviceName(), telemetry);
+            })));
+        signal();
+    }
+
+    public void add(ExportMetricsServiceRequest request) {
+        request.getResourceMetricsList().forEach(resourceMetrics -> resourceMetrics.getScopeMetricsList().forEach(scopeMetrics ->
+            scopeMetrics.getMetricsList().forEach(metric -> {
+                final Telemetry<Metric> telemetry = new Telemetry<>(resourceMetrics.getResource(), scopeMetrics.getScope(), metric);
+                metrics.add(telemetry);
+                index(metricsByName, metric.getName(), telemetry);
+            })));
+        signal();
+    }
+
+    public void add(ExportLogsServiceRequest request) {
+        request.getResourceLogsList().forEach(resourceLogs -> resourceLogs.getScopeLogsList().forEach(scopeLogs ->
+            scopeLogs.getLogRecordsList().forEach(log -> {
+                final Telemetry<LogRecord> telemetry = new Telemetry<>(resourceLogs.getResource(), scopeLogs.getScope(), log);
+                logs.add(telemetry);
+                index(logsByService, telemetry.serviceName(), telemetry);
+            })));
+        signal();
+    }
+
+    public Collection<Telemetry<Span>> spans() {
+        return spans;
+    }
+
+    public Collection<Telemetry<Span>> spansByTraceId(String traceId) {
+        return spansByTraceId.getOrDefault(traceId, new ConcurrentLinkedQueue<>());
+    }
+
+    public Collection<Telemetry<Span>> spansByService(String serviceName) {
+        return spansByService.getOrDefault(serviceName, new ConcurrentLinkedQueue<>());
+    }
+
+    public Collection<Telemetry<Metric>> metrics() {
+        return metrics;
+    }
+
+    public Collection<Telemetry<Metric>> metricsByName(String name) {
+        return metricsByName.getOrDefault(name, new ConcurrentLinkedQueue<>());
+    }
+
+    public Collection<Telemetry<LogRecord>> logs() {
+        return logs;
+    }
+
+    public Collection<Telemetry<LogRecord>> logsByService(String serviceName) {
+        return logsByService.getOrDefault(serviceName, new ConcurrentLinkedQueue<>());
+    }
+
+    /**
+     * Re-evaluates the query whenever new telemetry is received, until it returns at least the given number of items.
+     *
+     * @param query query to evaluate
+     * @param count expected number of items
+     * @param timeout max wait time
+     * @param <T> type of the items
+     * @return result of the last evaluation, which can have less items than expected when the timeout expired
+     */
+    public <T> List<T> await(Supplier<List<T>> query, int count, Duration timeout) {
+        final Instant end = Instant.now().plus(timeout);
+        synchronized (monitor) {
+            List<T> result = query.get();
+            long remaining = timeout.toMillis();
+            while (result.size() < count && remaining > 0) {
+                try {
+                    monitor.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                result = query.get();
+                remaining = Duration.between(Instant.now(), end).toMillis();
+            }
+            return result;
+        }
+    }
+
+    public void clear() {
+        spans.clear();
+        spansByTraceId.clear();
+        spansByService.clear();
+        metrics.clear();
+        metricsByName.clear();
+        logs.clear();
+        logsByService.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Received %d spans, %d metrics, %d log records", spans.size(), metrics.size(), logs.size());
+    }
+
+    private static <T> void index(Map<String, Queue<T>> index, String key, T value) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(value);
+        }
+    }
+
+    private void signal() {
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package software.tnb.opentelemetry.validation.model;
+
+import com.google.protobuf.ByteString;
+
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.InstrumentationScope;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.resource.v1.Resource;
+
+/**
+ * Received span, metric or log record together with the resource and the instrumentation scope that produced it.
+ *
+ * @param resource resource
+ * @param scope instrumentation scope
+ * @param item span, metric or log record
+ * @param <T> type of the item
+ */
+public record Telemetry<T>(Resource resource, InstrumentationScope scope, T item) {
+    public static final String SERVICE_NAME = "service.name";
+
+    public String serviceName() {
+        return resourceAttributes().get(SERVICE_NAME);
+    }
+
+    public Map<String, String> resourceAttributes() {
+        return attributes(resource.getAttributesList());
+    }
+
+    /**
+     * Converts the OTLP attributes to a map, the non-string values are converted to their string representation.
+     *
+     * @param attributes OTLP attributes
+     * @return attribute key -> value
+     */
+    public static Map<String, String> attributes(List<KeyValue> attributes) {
+        return attributes.stream().collect(Collectors.toMap(KeyValue::getKey, kv -> toString(kv.getValue()), (a, b) -> b, LinkedHashMap::new));
+    }
+
+    public static String toString(AnyValue value) {
+        return switch (value.getValueCase()) {
+            case STRING_VALUE -> value.getStringValue();
+            case BOOL_VALUE -> String.valueOf(value.getBoolValue());
+            case INT_VALUE -> String.valueOf(value.getIntValue());
+            case DOUBLE_VALUE -> String.valueOf(value.getDoubleValue());
+            case BYTES_VALUE -> hex(value.getBytesValue());
+            case VALUE_NOT_SET -> null;
+            default -> value.toString();
+        };
+    }
+
+    /**
+     * Converts the trace / span id to the hex format used by the other tools.
+     *
+     * @param id id bytes
+     * @return lowercase hex string
+     */
+    public static String hex(ByteString id) {
+        return HexFormat.of().formatHex(id.toByteArray());
+    }
+}
@@ -0,0 +1,141 @@
+package software.tnb.opentelemetry.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import software.tnb.opentelemetry.validation.model.Telemetry;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.ByteString;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.proto.collector.logs.v1.ExportLogsServiceRequest;
+import io.opentelemetry.proto.collector.metrics.v1.ExportMetricsServiceRequest;
+import io.opentelemetry.proto.collector.trace.v1.ExportTraceServiceRequest;
+import io.opentelemetry.proto.common.v1.AnyValue;
+import io.opentelemetry.proto.common.v1.KeyValue;
+import io.opentelemetry.proto.logs.v1.LogRecord;
+import io.opentelemetry.proto.logs.v1.ResourceLogs;
+import io.opentelemetry.proto.logs.v1.ScopeLogs;
+import io.opentelemetry.proto.metrics.v1.Metric;
+import io.opentelemetry.proto.metrics.v1.ResourceMetrics;
+import io.opentelemetry.proto.metrics.v1.ScopeMetrics;
+import io.opentelemetry.proto.resource.v1.Resource;
+import io.opentelemetry.proto.trace.v1.ResourceSpans;
+import io.opentelemetry.proto.trace.v1.ScopeSpans;
+import io.opentelemetry.proto.trace.v1.Span;
+
+@Tag("unit")
+public class TelemetryStoreTest {
+    private static final String TRACE_ID = "0102030405060708090a0b0c0d0e0f10";
+    private static final String OTHER_TRACE_ID = "1112131415161718191a1b1c1d1e1f20";
+
+    private final TelemetryStore store = new TelemetryStore();
+
+    @Test
+    public void shouldIndexSpansTest() {
+        store.add(traces("orders", span(TRACE_ID, "first"), span(TRACE_ID, "second")));
+        store.add(traces("payments", span(OTHER_TRACE_ID, "third")));
+
+        assertThat(store.spans()).hasSize(3);
+        assertThat(names(store.spansByTraceId(TRACE_ID))).containsExactly("first", "second");
+        assertThat(names(store.spansByTraceId(OTHER_TRACE_ID))).containsExactly("third");
+        assertThat(names(store.spansByService("orders"))).containsExactly("first", "second");
+        assertThat(names(store.spansByService("payments"))).containsExactly("third");
+        assertThat(store.spansByTraceId("unknown")).isEmpty();
+        assertThat(store.spansByService("unknown")).isEmpty();
+    }
+
+    @Test
+    public void shouldIndexMetricsAndLogsTest() {
+        store.add(ExportMetricsServiceRequest.newBuilder().addResourceMetrics(ResourceMetrics.newBuilder().setResource(resource("orders"))
+            .addScopeMetrics(ScopeMetrics.newBuilder().addMetrics(Metric.newBuilder().setName("requests"))
+                .addMetrics(Metric.newBuilder().setName("errors")))).build());
+        store.add(ExportLogsServiceRequest.newBuilder().addResourceLogs(ResourceLogs.newBuilder().setResource(resource("orders"))
+            .addScopeLogs(ScopeLogs.newBuilder().addLogRecords(LogRecord.newBuilder().setBody(AnyValue.newBuilder().setStringValue("log")))))
+            .build());
+
+        assertThat(store.metrics()).hasSize(2);
+        assertThat(store.metricsByName("requests")).singleElement().satisfies(m -> assertThat(m.serviceName()).isEqualTo("orders"));
+        assertThat(store.metricsByName("unknown")).isEmpty();
+        assertThat(store.logsByService("orders")).singleElement()
+            .satisfies(l -> assertThat(Telemetry.toString(l.item().getBody())).isEqualTo("log"));
+        assertThat(store.toString()).isEqualTo("Received 0 spans, 2 metrics, 1 log records");
+    }
+
+    @Test
+    public void shouldNotIndexTelemetryWithoutServiceNameTest() {
+        store.add(ExportTraceServiceRequest.newBuilder().addResourceSpans(ResourceSpans.newBuilder()
+            .addScopeSpans(ScopeSpans.newBuilder().addSpans(span(TRACE_ID, "first")))).build());
+
+        assertThat(store.spans()).hasSize(1);
+        assertThat(store.spansByTraceId(TRACE_ID)).hasSize(1);
+        assertThat(store.spansByService("orders")).isEmpty();
+    }
+
+    @Test
+    public void shouldClearStoreTest() {
+        store.add(traces("orders", span(TRACE_ID, "first")));
+        store.clear();
+
+        assertThat(store.spans()).isEmpty();
+        assertThat(store.spansByTraceId(TRACE_ID)).isEmpty();
+        assertThat(store.spansByService("orders")).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnImmediatelyWhenQueryIsSatisfiedTest() {
+        store.add(traces("orders", span(TRACE_ID, "first")));
+        final Instant start = Instant.now();
+
+        assertThat(store.await(() -> List.copyOf(store.spansByTraceId(TRACE_ID)), 1, Duration.ofSeconds(10))).hasSize(1);
+        assertThat(Duration.between(start, Instant.now())).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void shouldAwaitTelemetryReceivedLaterTest() throws Exception {
+        final CompletableFuture<List<Telemetry<Span>>> result = CompletableFuture.supplyAsync(() ->
+            store.await(() -> List.copyOf(store.spansByTraceId(TRACE_ID)), 2, Duration.ofSeconds(30)));
+
+        store.add(traces("orders", span(TRACE_ID, "first")));
+        store.add(traces("orders", span(OTHER_TRACE_ID, "other")));
+        store.add(traces("orders", span(TRACE_ID, "second")));
+
+        assertThat(names(result.get(10, TimeUnit.SECONDS))).containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    public void shouldReturnPartialResultAfterTimeoutTest() {
+        store.add(traces("orders", span(TRACE_ID, "first")));
+        final Instant start = Instant.now();
+
+        assertThat(store.await(() -> List.copyOf(store.spansByTraceId(TRACE_ID)), 2, Duration.ofMillis(500))).hasSize(1);
+        assertThat(Duration.between(start, Instant.now())).isGreaterThanOrEqualTo(Duration.ofMillis(400));
+    }
+
+    private static List<String> names(Collection<Telemetry<Span>> spans) {
+        return spans.stream().map(s -> s.item().getName()).toList();
+    }
+
+    private static ExportTraceServiceRequest traces(String serviceName, Span... spans) {
+        return ExportTraceServiceRequest.newBuilder().addResourceSpans(ResourceSpans.newBuilder().setResource(resource(serviceName))
+            .addScopeSpans(ScopeSpans.newBuilder().addAllSpans(List.of(spans)))).build();
+    }
+
+    private static Span span(String traceId, String name) {
+        return Span.newBuilder().setTraceId(ByteString.copyFrom(HexFormat.of().parseHex(traceId))).setName(name).build();
+    }
+
+    private static Resource resource(String serviceName) {
+        return Resource.newBuilder().addAttributes(KeyValue.newBuilder().setKey(Telemetry.SERVICE_NAME)
+            .setValue(AnyValue.newBuilder().setStringValue(serviceName))).build();
+    }
+}
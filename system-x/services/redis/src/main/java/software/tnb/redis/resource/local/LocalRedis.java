@@ -53,5 +53,6 @@ public class LocalRedis extends Redis implements Deployable {
 
     @Override
     public void closeResources() {
+        closeValidation();
     }
 }
@@ -48,6 +48,7 @@ public class OpenshiftRedis extends Redis implements ReusableOpenshiftDeployable
 
     @Override
     public void closeResources() {
+        closeValidation();
         if (portForward != null && portForward.isAlive()) {
             IOUtils.closeQuietly(portForward);
         }
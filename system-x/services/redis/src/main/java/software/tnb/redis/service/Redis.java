@@ -22,6 +22,13 @@ public abstract class Redis extends Service<NoAccount, RedisClient, RedisValidat
         return validation;
     }
 
+    protected void closeValidation() {
+        if (validation != null) {
+            validation.close();
+            validation = null;
+        }
+    }
+
     @Override
     public String defaultImage() {
         return "quay.io/fuse_qe/redis-image:6.0.20";
@@ -1,14 +1,43 @@
 package software.tnb.redis.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
 import software.tnb.common.validation.Validation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.lettuce.core.LettuceFutures;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
 
 public class RedisValidation implements Validation {
+    private static final Logger LOG = LoggerFactory.getLogger(RedisValidation.class);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final int DEFAULT_BUFFER_SIZE = 10_000;
+    private static final Duration PIPELINE_TIMEOUT = Duration.ofMinutes(1);
 
+    private final Map<String, BlockingQueue<String>> receivedMessages = new ConcurrentHashMap<>();
     private RedisClient redisClient;
     private StatefulRedisConnection<String, String> connection;
+    private StatefulRedisConnection<String, String> pipelineConnection;
+    private StatefulRedisPubSubConnection<String, String> pubSubConnection;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
 
     public RedisValidation(RedisClient redisClient) {
         this.redisClient = redisClient;
@@ -16,10 +45,189 @@ public class RedisValidation implements Validation {
     }
 
     public void pushToChannel(String message, String channel) {
-        redisClient.connectPubSub().sync().publish(channel, message);
+        connection.sync().publish(channel, message);
     }
 
     public String getValue(String key) {
         return connection.sync().get(key);
     }
+
+    /**
+     * Sets the values using pipelined async commands, the commands are flushed in batches of {@value #DEFAULT_BATCH_SIZE}.
+     *
+     * @param values map of key-value pairs
+     */
+    public void setValues(Map<String, String> values) {
+        setValues(values, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Sets the values using pipelined async commands.
+     *
+     * @param values map of key-value pairs
+     * @param batchSize number of commands flushed at once
+     */
+    public void setValues(Map<String, String> values, int batchSize) {
+        final List<Map.Entry<String, String>> entries = new ArrayList<>(values.entrySet());
+        for (int i = 0; i < entries.size(); i += batchSize) {
+            final List<Map.Entry<String, String>> batch = entries.subList(i, Math.min(i + batchSize, entries.size()));
+            pipeline(commands -> batch.stream().map(e -> commands.set(e.getKey(), e.getValue())).toList());
+        }
+    }
+
+    /**
+     * Publishes the messages to the channel using pipelined async commands.
+     *
+     * @param messages messages to publish
+     * @param channel channel name
+     */
+    public void pushToChannel(List<String> messages, String channel) {
+        for (int i = 0; i < messages.size(); i += DEFAULT_BATCH_SIZE) {
+            final List<String> batch = messages.subList(i, Math.min(i + DEFAULT_BATCH_SIZE, messages.size()));
+            pipeline(commands -> batch.stream().map(m -> commands.publish(channel, m)).toList());
+        }
+    }
+
+    /**
+     * Executes the commands in a pipeline - the commands are queued and sent to the server at once when the function returns.
+     * <p>
+     * The pipeline uses a dedicated connection with the auto-flushing disabled, so the function should only invoke the commands and return
+     * their futures.
+     *
+     * @param commands function that invokes the commands and returns their futures
+     * @param <T> future type
+     * @return list of futures that are completed
+     */
+    public synchronized <T extends RedisFuture<?>> List<T> pipeline(Function<RedisAsyncCommands<String, String>, List<T>> commands) {
+        if (pipelineConnection == null) {
+            pipelineConnection = redisClient.connect();
+            pipelineConnection.setAutoFlushCommands(false);
+        }
+
+        final List<T> futures = commands.apply(pipelineConnection.async());
+        pipelineConnection.flushCommands();
+        if (!LettuceFutures.awaitAll(PIPELINE_TIMEOUT, futures.toArray(new RedisFuture[0]))) {
+            fail("Pipelined commands were not completed in " + PIPELINE_TIMEOUT.toSeconds() + " seconds");
+        }
+        return futures;
+    }
+
+    /**
+     * Sets the max number of buffered messages for each channel / pattern. When the buffer is full, the oldest message is dropped.
+     *
+     * @param bufferSize buffer size
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Subscribes to the channels, the received messages are buffered until they are retrieved by {@link #awaitMessages}.
+     *
+     * @param channels channel names
+     */
+    public void subscribe(String... channels) {
+        for (String channel : channels) {
+            receivedMessages.computeIfAbsent(channel, c -> new LinkedBlockingQueue<>(bufferSize));
+        }
+        pubSub().sync().subscribe(channels);
+    }
+
+    /**
+     * Subscribes to the channels matching the patterns, the received messages are buffered until they are retrieved by
+     * {@link #awaitMessages} with the pattern.
+     *
+     * @param patterns channel patterns
+     */
+    public void psubscribe(String... patterns) {
+        for (String pattern : patterns) {
+            receivedMessages.computeIfAbsent(pattern, p -> new LinkedBlockingQueue<>(bufferSize));
+        }
+        pubSub().sync().psubscribe(patterns);
+    }
+
+    public void unsubscribe(String... channels) {
+        pubSub().sync().unsubscribe(channels);
+    }
+
+    public void punsubscribe(String... patterns) {
+        pubSub().sync().punsubscribe(patterns);
+    }
+
+    /**
+     * Waits until the given number of messages is received and removes them from the buffer.
+     *
+     * @param channelOrPattern channel name used in {@link #subscribe} or pattern used in {@link #psubscribe}
+     * @param count number of messages to wait for
+     * @param timeout max wait time
+     * @return received messages
+     */
+    public List<String> awaitMessages(String channelOrPattern, int count, Duration timeout) {
+        final BlockingQueue<String> queue = receivedMessages.get(channelOrPattern);
+        if (queue == null) {
+            fail("Not subscribed to " + channelOrPattern);
+        }
+
+        final List<String> messages = new ArrayList<>(count);
+        final Instant end = Instant.now().plus(timeout);
+        try {
+            while (messages.size() < count) {
+                final long remaining = Duration.between(Instant.now(), end).toMillis();
+                final String message = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                if (message == null) {
+                    fail("Expected " + count + " messages from " + channelOrPattern + ", but received only " + messages.size());
+                }
+                messages.add(message);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while waiting for messages from " + channelOrPattern);
+        }
+        return messages;
+    }
+
+    /**
+     * Closes the connections used by the validation.
+     */
+    public void close() {
+        if (pubSubConnection != null) {
+            pubSubConnection.close();
+            pubSubConnection = null;
+        }
+        if (pipelineConnection != null) {
+            pipelineConnection.close();
+            pipelineConnection = null;
+        }
+        connection.close();
+        receivedMessages.clear();
+    }
+
+    private synchronized StatefulRedisPubSubConnection<String, String> pubSub() {
+        if (pubSubConnection == null) {
+            pubSubConnection = redisClient.connectPubSub();
+            pubSubConnection.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String channel, String message) {
+                    buffer(channel, message);
+                }
+
+                @Override
+                public void message(String pattern, String channel, String message) {
+                    buffer(pattern, message);
+                }
+            });
+        }
+        return pubSubConnection;
+    }
+
+    private void buffer(String key, String message) {
+        final BlockingQueue<String> queue = receivedMessages.get(key);
+        if (queue == null) {
+            return;
+        }
+        while (!queue.offer(message)) {
+            LOG.warn("Message buffer for {} is full, dropping the oldest message", key);
+            queue.poll();
+        }
+    }
 }
@@ -68,6 +68,12 @@ public class LocalSplunk extends Splunk implements Deployable {
         return container.getMappedPort(HEC_PORT);
     }
 
+    @Override
+    public String hecUrl() {
+        // HEC uses SSL by default even when it is disabled for splunkd
+        return "https://" + host() + ":" + hecPort();
+    }
+
     public Map<String, String> containerEnvironment() {
         return new HashMap<>(Map.of(
             "SPLUNK_START_ARGS", "--accept-license",
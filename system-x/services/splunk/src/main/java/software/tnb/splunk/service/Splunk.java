@@ -33,6 +33,10 @@ public abstract class Splunk extends ConfigurableService<SplunkAccount, Service,
         return HEC_PORT;
     }
 
+    public String hecUrl() {
+        return protocol() + "://" + hecHost() + ":" + hecPort();
+    }
+
     /**
      * Due to self sign certificate, the client is not able to communicate via localhost and port-forward.
      * OCP external route with `reencrypt` is used. (Cluster needs to have valid certificate!)
@@ -52,7 +56,7 @@ public abstract class Splunk extends ConfigurableService<SplunkAccount, Service,
 
     public SplunkValidation validation() {
         if (validation == null) {
-            validation = new SplunkValidation(client());
+            validation = new SplunkValidation(client(), getConfiguration().isHecEnabled() ? hecUrl() : null, account().hecToken());
         }
         return validation;
     }
@@ -1,34 +1,86 @@
 package software.tnb.splunk.validation;
 
+import static org.junit.jupiter.api.Assertions.fail;
+
+import software.tnb.common.exception.FailureConditionMetException;
+import software.tnb.common.utils.HTTPUtils;
 import software.tnb.common.utils.WaitUtils;
 import software.tnb.common.validation.Validation;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.splunk.Event;
 import com.splunk.IndexCollection;
 import com.splunk.Job;
 import com.splunk.JobArgs;
+import com.splunk.JobExportArgs;
 import com.splunk.ResultsReaderXml;
 import com.splunk.Service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
 
 public class SplunkValidation implements Validation {
 
     private static final Logger LOG = LoggerFactory.getLogger(SplunkValidation.class);
 
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final Duration DEFAULT_ACK_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration DEFAULT_AWAIT_TIMEOUT = Duration.ofMinutes(5);
+
     private final IndexCollection indexCollection;
     private final Service client;
+    private final String hecUrl;
+    private final String hecToken;
+    private final String hecChannel = UUID.randomUUID().toString();
+    private HTTPUtils hecClient;
 
     public SplunkValidation(Service client) {
+        this(client, null, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param client splunk client
+     * @param hecUrl url of the HTTP event collector, null if the HEC is not enabled
+     * @param hecToken HEC token
+     */
+    public SplunkValidation(Service client, String hecUrl, String hecToken) {
         this.client = client;
         this.indexCollection = client.getIndexes();
+        this.hecUrl = hecUrl;
+        this.hecToken = hecToken;
     }
 
     public void createIndex(String name) {
@@ -71,4 +123,204 @@ public class SplunkValidation implements Validation {
         }
         return results;
     }
+
+    public void sendEvents(String indexName, List<?> events) {
+        sendEvents(indexName, events, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Sends the events to the index through the HTTP event collector.
+     * <p>
+     * The events are sent gzipped in batches of given size. If the indexer acknowledgement is enabled for the HEC token, the method returns
+     * after all batches are acknowledged (indexed).
+     *
+     * @param indexName index name
+     * @param events events, strings are sent as they are, other objects are serialized to JSON
+     * @param batchSize max number of events in one request
+     */
+    public void sendEvents(String indexName, List<?> events, int batchSize) {
+        sendEvents(indexName, events, batchSize, DEFAULT_ACK_TIMEOUT);
+    }
+
+    /**
+     * Sends the events to the index through the HTTP event collector.
+     * <p>
+     * The events are sent gzipped in batches of given size. If the indexer acknowledgement is enabled for the HEC token, the method returns
+     * after all batches are acknowledged (indexed) and fails when they are not acknowledged in time.
+     *
+     * @param indexName index name
+     * @param events events, strings are sent as they are, other objects are serialized to JSON
+     * @param batchSize max number of events in one request
+     * @param ackTimeout max time to wait for the acknowledgement of all batches
+     */
+    public void sendEvents(String indexName, List<?> events, int batchSize, Duration ackTimeout) {
+        if (hecUrl == null) {
+            throw new IllegalStateException("HTTP event collector is not enabled, use hecEnabled(true) in the service configuration");
+        }
+
+        final Map<String, String> headers = Map.of(
+            "Authorization", "Splunk " + hecToken,
+            "X-Splunk-Request-Channel", hecChannel,
+            "Content-Encoding", "gzip"
+        );
+        final Set<Long> ackIds = new HashSet<>();
+        for (int i = 0; i < events.size(); i += batchSize) {
+            final List<?> batch = events.subList(i, Math.min(i + batchSize, events.size()));
+            LOG.debug("Sending {} events to Splunk index {}", batch.size(), indexName);
+            final HTTPUtils.Response response = hecClient().post(hecUrl + "/services/collector/event",
+                RequestBody.create(gzip(batch, indexName.toLowerCase()), MediaType.get("application/json")), headers);
+            if (!response.isSuccessful()) {
+                throw new RuntimeException("Unable to send events to Splunk HEC: " + response.getResponseCode() + " " + response.getBody());
+            }
+            final JsonNode ackId = readTree(response.getBody()).get("ackId");
+            if (ackId != null) {
+                ackIds.add(ackId.asLong());
+            }
+        }
+
+        if (!ackIds.isEmpty()) {
+            await(() -> {
+                ackIds.removeAll(acknowledged(ackIds));
+                return ackIds.isEmpty();
+            }, Duration.ofMillis(100), ackTimeout, "Waiting until Splunk acknowledges the events");
+        }
+    }
+
+    /**
+     * Runs the query using the export endpoint and parses the JSON results as they are streamed from the server.
+     *
+     * @param query search query, for example "search index=my-index"
+     * @return stream of results (field name - value), the stream should be closed if it is not fully consumed
+     */
+    public Stream<Map<String, String>> exportEvents(String query) {
+        final JobExportArgs args = new JobExportArgs();
+        args.setOutputMode(JobExportArgs.OutputMode.JSON);
+        args.setSearchMode(JobExportArgs.SearchMode.NORMAL);
+        final InputStream inputStream = client.export(query, args);
+        try {
+            final MappingIterator<JsonNode> nodes = MAPPER.readerFor(JsonNode.class).readValues(inputStream);
+            final Iterator<Map<String, String>> results = new Iterator<>() {
+                private JsonNode next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && nodes.hasNext()) {
+                        final JsonNode node = nodes.next();
+                        // Skip the preview results and messages
+                        if (node.has("result") && !node.path("preview").asBoolean(false)) {
+                            next = node.get("result");
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Map<String, String> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Map<String, String> result = new HashMap<>();
+                    next.fields().forEachRemaining(e -> result.put(e.getKey(), e.getValue().isValueNode() ? e.getValue().asText()
+                        : e.getValue().toString()));
+                    next = null;
+                    return result;
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        nodes.close();
+                    } catch (IOException e) {
+                        LOG.debug("Unable to close export stream: {}", e.getMessage());
+                    }
+                });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read Splunk export results", e);
+        }
+    }
+
+    /**
+     * Waits until the query returns at least given number of events. The query is run using the streaming export endpoint, so the results
+     * are counted as they arrive and the export is stopped once there are enough events.
+     *
+     * @param query search query, for example "search index=my-index"
+     * @param count expected minimal number of events
+     */
+    public void awaitEvents(String query, long count) {
+        awaitEvents(query, count, DEFAULT_AWAIT_TIMEOUT);
+    }
+
+    /**
+     * Waits until the query returns at least given number of events, fails when there are less events after the timeout.
+     *
+     * @param query search query, for example "search index=my-index"
+     * @param count expected minimal number of events
+     * @param timeout max wait time
+     */
+    public void awaitEvents(String query, long count, Duration timeout) {
+        await(() -> {
+            try (Stream<Map<String, String>> events = exportEvents(query)) {
+                return events.limit(count).count() >= count;
+            }
+        }, Duration.ofMillis(250), timeout, "Waiting until Splunk query returns " + count + " events");
+    }
+
+    /**
+     * Waits with the increasing delay until the check returns true, fails when the timeout expires.
+     */
+    private static void await(BooleanSupplier check, Duration initialDelay, Duration timeout, String message) {
+        final Instant deadline = Instant.now().plus(timeout);
+        try {
+            WaitUtils.waitFor(check, () -> Instant.now().isAfter(deadline), initialDelay, Duration.ofSeconds(5), message);
+        } catch (FailureConditionMetException e) {
+            fail(message + " timed out after " + timeout.toSeconds() + " seconds");
+        }
+    }
+
+    private Set<Long> acknowledged(Set<Long> ackIds) {
+        final ObjectNode body = MAPPER.createObjectNode();
+        ackIds.forEach(body.putArray("acks")::add);
+        final HTTPUtils.Response response = hecClient().post(hecUrl + "/services/collector/ack?channel=" + hecChannel,
+            RequestBody.create(body.toString(), MediaType.get("application/json")), Map.of("Authorization", "Splunk " + hecToken));
+        if (!response.isSuccessful()) {
+            throw new RuntimeException("Unable to query Splunk HEC acknowledgements: " + response.getResponseCode() + " " + response.getBody());
+        }
+        final Set<Long> acknowledged = new HashSet<>();
+        readTree(response.getBody()).path("acks").fields().forEachRemaining(e -> {
+            if (e.getValue().asBoolean()) {
+                acknowledged.add(Long.parseLong(e.getKey()));
+            }
+        });
+        return acknowledged;
+    }
+
+    private byte[] gzip(List<?> events, String index) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (Object event : events) {
+                final ObjectNode node = MAPPER.createObjectNode().put("index", index);
+                node.set("event", MAPPER.valueToTree(event));
+                gzip.write(MAPPER.writeValueAsBytes(node));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compress events", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static JsonNode readTree(String json) {
+        try {
+            return MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to parse Splunk HEC response: " + json, e);
+        }
+    }
+
+    private HTTPUtils hecClient() {
+        if (hecClient == null) {
+            hecClient = HTTPUtils.getInstance(HTTPUtils.trustAllSslClient());
+        }
+        return hecClient;
+    }
 }